@@ -27,6 +27,8 @@ package net.runelite.cache;
 import java.io.File;
 import java.io.IOException;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.XteaKeyStore;
+import net.runelite.http.api.xtea.XteaClient;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +47,7 @@ public class Cache
 		options.addOption(null, "npcs", true, "directory to dump npcs to");
 		options.addOption(null, "objects", true, "directory to dump objects to");
 		options.addOption(null, "sprites", true, "directory to dump sprites to");
+		options.addOption(null, "xteas", true, "xtea key store to download the latest keys into");
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -59,6 +62,21 @@ public class Cache
 			return;
 		}
 
+		if (cmd.hasOption("xteas"))
+		{
+			String xteafile = cmd.getOptionValue("xteas");
+
+			if (xteafile == null)
+			{
+				System.err.println("Key store file must be specified");
+				return;
+			}
+
+			System.out.println("Downloading xtea keys to " + xteafile);
+			updateXteas(new File(xteafile));
+			return;
+		}
+
 		String cache = cmd.getOptionValue("cache");
 
 		Store store = loadStore(cache);
@@ -158,4 +176,11 @@ public class Cache
 		dumper.load();
 		dumper.export(spritedir);
 	}
+
+	private static void updateXteas(File file) throws IOException
+	{
+		XteaKeyStore latest = XteaKeyStore.wrap(new XteaClient().getKeyStore());
+		int regions = XteaKeyStore.merge(file, latest.toMap());
+		System.out.println("Merged " + latest.size() + " keys, " + regions + " regions in store");
+	}
 }
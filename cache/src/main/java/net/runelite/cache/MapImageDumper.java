@@ -28,9 +28,21 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.cache.definitions.AreaDefinition;
@@ -52,7 +64,9 @@ import net.runelite.cache.item.RSTextureProvider;
 import net.runelite.cache.region.Location;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
+import net.runelite.cache.region.RegionManifest;
 import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.XteaKeyProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +78,8 @@ public class MapImageDumper
 	private static final int MAPICON_MAX_WIDTH = 5; // scale minimap icons down to this size so they fit..
 	private static final int MAPICON_MAX_HEIGHT = 6;
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int TILE_SIZE = Region.X * MAP_SCALE; // pixels per side of a tile, one region per tile
+	private static final String MANIFEST_FILE = "regions.manifest";
 
 	private static int[] colorPalette = new ColorPalette(0.9d, 0, 512).getColorPalette();
 
@@ -84,6 +100,7 @@ public class MapImageDumper
 	private final SpriteManager sprites;
 	private RSTextureProvider rsTextureProvider;
 	private final ObjectManager objectManager;
+	private final XteaKeyProvider keyProvider;
 
 	@Getter
 	@Setter
@@ -94,8 +111,18 @@ public class MapImageDumper
 	private boolean outlineRegions;
 
 	public MapImageDumper(Store store)
+	{
+		this(store, null);
+	}
+
+	/**
+	 * @param store cache to render
+	 * @param keyProvider xtea keys for the region landscapes, or null to fetch them from the xtea api
+	 */
+	public MapImageDumper(Store store, XteaKeyProvider keyProvider)
 	{
 		this.store = store;
+		this.keyProvider = keyProvider;
 		this.areas = new AreaManager(store);
 		this.sprites = new SpriteManager(store);
 		objectManager = new ObjectManager(store);
@@ -146,27 +173,146 @@ public class MapImageDumper
 
 	public BufferedImage drawRegion(Region region, int z)
 	{
-		int pixelsX = Region.X * MAP_SCALE;
-		int pixelsY = Region.Y * MAP_SCALE;
+		TileBuffers buffers = new TileBuffers();
 
-		BufferedImage image = new BufferedImage(pixelsX, pixelsY, BufferedImage.TYPE_INT_RGB);
+		drawRegion(buffers.image, buffers, region, z);
+
+		return buffers.image;
+	}
+
+	/**
+	 * Render plane {@code z} as one tile per region, written to
+	 * {@code outDir/z/regionX_regionY.png}. Regions are rendered in
+	 * parallel and each worker reuses its own image and pixel buffers,
+	 * so memory use is bounded by the number of threads rather than
+	 * the size of the world.
+	 *
+	 * @param z plane to render
+	 * @param outDir directory to write the tiles to
+	 * @param threads number of worker threads
+	 * @return number of tiles written
+	 */
+	public int drawTiles(int z, File outDir, int threads) throws IOException
+	{
+		return drawTiles(z, outDir, threads, regionLoader.getRegions());
+	}
+
+	/**
+	 * Re-render only the tiles whose inputs have changed since the last
+	 * call for {@code outDir}, as recorded by a {@link RegionManifest}
+	 * stored alongside the tiles. Tiles of regions which no longer exist
+	 * are deleted. The first call renders everything.
+	 *
+	 * @param outDir directory containing the tiles
+	 * @param threads number of worker threads
+	 * @return ids of the regions which were rendered
+	 */
+	public Set<Integer> updateTiles(File outDir, int threads) throws IOException
+	{
+		File manifestFile = new File(outDir, MANIFEST_FILE);
+		RegionManifest previous = manifestFile.exists() ? RegionManifest.load(manifestFile) : null;
+		RegionManifest current = RegionManifest.compute(store, regionLoader.getRegions());
+
+		Set<Integer> changed = current.changedSince(previous);
+		Set<Integer> removed = current.removedSince(previous);
+
+		logger.info("{} regions changed, {} removed", changed.size(), removed.size());
+
+		List<Region> regions = new ArrayList<>(changed.size());
+		for (int regionId : changed)
+		{
+			regions.add(regionLoader.findRegionForWorldCoordinates((regionId >> 8) << 6, (regionId & 0xFF) << 6));
+		}
+
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			drawTiles(z, outDir, threads, regions);
+
+			for (int regionId : removed)
+			{
+				File tile = new File(new File(outDir, Integer.toString(z)), (regionId >> 8) + "_" + (regionId & 0xFF) + ".png");
+				if (tile.exists() && !tile.delete())
+				{
+					logger.warn("Unable to delete {}", tile);
+				}
+			}
+		}
+
+		// only record the new state once every tile has been written, so a failed run is retried in full
+		current.save(manifestFile);
+		return changed;
+	}
+
+	private int drawTiles(int z, File outDir, int threads, Collection<Region> regions) throws IOException
+	{
+		File planeDir = new File(outDir, Integer.toString(z));
+		if (!planeDir.isDirectory() && !planeDir.mkdirs())
+		{
+			throw new IOException("Unable to create directory " + planeDir);
+		}
 
-		drawMap(image, 0, 0, z, region);
+		ThreadLocal<TileBuffers> buffers = ThreadLocal.withInitial(TileBuffers::new);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<?>> futures = new ArrayList<>();
+			for (Region region : regions)
+			{
+				futures.add(executor.submit(() ->
+				{
+					TileBuffers tileBuffers = buffers.get();
+					BufferedImage image = tileBuffers.image;
+
+					Arrays.fill(tileBuffers.imagePixels, 0);
+					drawRegion(image, tileBuffers, region, z);
+
+					File imageFile = new File(planeDir, region.getRegionX() + "_" + region.getRegionY() + ".png");
+					ImageIO.write(image, "png", imageFile);
+					return null;
+				}));
+			}
+
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+
+			logger.info("Wrote {} tiles for plane {} to {}", futures.size(), z, planeDir);
+			return futures.size();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted rendering tiles", ex);
+		}
+		catch (ExecutionException ex)
+		{
+			throw new IOException("Error rendering tiles", ex.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	private void drawRegion(BufferedImage image, TileBuffers buffers, Region region, int z)
+	{
+		drawMap(image, 0, 0, z, region, buffers);
 		drawObjects(image, 0, 0, region, z);
 		drawMapIcons(image, 0, 0, region, z);
-
-		return image;
 	}
 
-	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
+	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region, TileBuffers buffers)
 	{
-		int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+		int[][] map = buffers.map;
+		clear(map);
 		drawMap(map, region, z);
 
 		int[][] above = null;
 		if (z < 3)
 		{
-			above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+			above = buffers.above;
+			clear(above);
 			drawMap(above, region, z + 1);
 		}
 
@@ -192,6 +338,7 @@ public class MapImageDumper
 
 	private void drawMap(BufferedImage image, int z)
 	{
+		TileBuffers buffers = new TileBuffers();
 		for (Region region : regionLoader.getRegions())
 		{
 			int baseX = region.getBaseX();
@@ -204,7 +351,15 @@ public class MapImageDumper
 			// region has the greatest y, so invert
 			int drawBaseY = regionLoader.getHighestY().getBaseY() - baseY;
 
-			drawMap(image, drawBaseX, drawBaseY, z, region);
+			drawMap(image, drawBaseX, drawBaseY, z, region, buffers);
+		}
+	}
+
+	private static void clear(int[][] pixels)
+	{
+		for (int[] column : pixels)
+		{
+			Arrays.fill(column, 0);
 		}
 	}
 
@@ -893,7 +1048,7 @@ public class MapImageDumper
 
 	private void loadRegions(Store store) throws IOException
 	{
-		regionLoader = new RegionLoader(store);
+		regionLoader = keyProvider != null ? new RegionLoader(store, keyProvider) : new RegionLoader(store);
 		regionLoader.loadRegions();
 		regionLoader.calculateBounds();
 
@@ -984,4 +1139,14 @@ public class MapImageDumper
 		}
 	}
 
+	/**
+	 * Per-thread scratch space for rendering a single region
+	 */
+	private static class TileBuffers
+	{
+		private final BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+		private final int[] imagePixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		private final int[][] map = new int[TILE_SIZE][TILE_SIZE];
+		private final int[][] above = new int[TILE_SIZE][TILE_SIZE];
+	}
 }
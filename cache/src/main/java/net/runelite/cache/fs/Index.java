@@ -25,12 +25,14 @@
 package net.runelite.cache.fs;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import net.runelite.cache.index.ArchiveData;
 import net.runelite.cache.index.FileData;
 import net.runelite.cache.index.IndexData;
 import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.IntHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +49,8 @@ public class Index
 	private int compression; // compression method of this index's data in 255
 
 	private final List<Archive> archives = new ArrayList<>();
+	private final IntHashMap<Archive> archivesById = new IntHashMap<>();
+	private volatile IntHashMap<Archive> archivesByName; // built on demand, null if stale
 
 	public Index(int id)
 	{
@@ -145,6 +149,14 @@ public class Index
 		this.compression = compression;
 	}
 
+	/**
+	 * Get the archives of this index. The returned list must not be
+	 * structurally modified, use {@link #addArchive(int)},
+	 * {@link #removeArchive(Archive)} and {@link #sortArchives(Comparator)}
+	 * instead.
+	 *
+	 * @return archives
+	 */
 	public List<Archive> getArchives()
 	{
 		return archives;
@@ -154,32 +166,96 @@ public class Index
 	{
 		Archive archive = new Archive(this, id);
 		this.archives.add(archive);
+		archivesById.putIfAbsent(id, archive);
+		archivesByName = null;
 		return archive;
 	}
 
-	public Archive getArchive(int id)
+	public void removeArchive(Archive archive)
 	{
-		for (Archive a : archives)
+		boolean removed = archives.removeIf(a -> a == archive);
+		if (!removed)
+		{
+			return;
+		}
+
+		if (archivesById.get(archive.getArchiveId()) == archive)
 		{
-			if (a.getArchiveId() == id)
+			archivesById.remove(archive.getArchiveId());
+
+			// fall back to the next archive with the same id, if any
+			for (Archive a : archives)
 			{
-				return a;
+				if (a.getArchiveId() == archive.getArchiveId())
+				{
+					archivesById.put(a.getArchiveId(), a);
+					break;
+				}
 			}
 		}
-		return null;
+
+		archivesByName = null;
+	}
+
+	/**
+	 * Sort the archives of this index. The first of the archives sharing an
+	 * id or name is the one looked up, so the lookup tables are rebuilt.
+	 *
+	 * @param comparator archive order
+	 */
+	public void sortArchives(Comparator<Archive> comparator)
+	{
+		archives.sort(comparator);
+
+		archivesById.clear();
+		for (Archive a : archives)
+		{
+			archivesById.putIfAbsent(a.getArchiveId(), a);
+		}
+
+		archivesByName = null;
+	}
+
+	void nameHashChanged()
+	{
+		archivesByName = null;
+	}
+
+	public Archive getArchive(int id)
+	{
+		return archivesById.get(id);
 	}
 
 	public Archive findArchiveByName(String name)
 	{
 		int hash = Djb2.hash(name);
+
+		IntHashMap<Archive> byName = archivesByName;
+		if (byName == null)
+		{
+			byName = buildNameTable();
+		}
+
+		return byName.get(hash);
+	}
+
+	private synchronized IntHashMap<Archive> buildNameTable()
+	{
+		IntHashMap<Archive> byName = archivesByName;
+		if (byName != null)
+		{
+			return byName;
+		}
+
+		byName = new IntHashMap<>(archives.size());
 		for (Archive a : archives)
 		{
-			if (a.getNameHash() == hash)
-			{
-				return a;
-			}
+			// the first archive with a given name takes precedence
+			byName.putIfAbsent(a.getNameHash(), a);
 		}
-		return null;
+
+		archivesByName = byName;
+		return byName;
 	}
 
 	public IndexData toIndexData()
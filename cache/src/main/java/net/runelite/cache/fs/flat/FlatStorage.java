@@ -221,7 +221,7 @@ public class FlatStorage implements Storage
 				br.printf("crc=%d\n", idx.getCrc());
 				br.printf("named=%b\n", idx.getCompression());
 
-				idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
+				idx.sortArchives(Comparator.comparing(Archive::getArchiveId));
 				for (Archive archive : idx.getArchives())
 				{
 					br.printf("id=%d\n", archive.getArchiveId());
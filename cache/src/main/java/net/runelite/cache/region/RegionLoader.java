@@ -38,6 +38,7 @@ import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.XteaKeyManager;
+import net.runelite.cache.util.XteaKeyProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,30 +50,53 @@ public class RegionLoader
 
 	private final Store store;
 	private final Index index;
-	private final XteaKeyManager keyManager;
+	private final XteaKeyProvider keyProvider;
 
 	private final Map<Integer, Region> regions = new HashMap<>();
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
 	public RegionLoader(Store store)
+	{
+		this(store, loadKeys());
+	}
+
+	public RegionLoader(Store store, XteaKeyProvider keyProvider)
 	{
 		this.store = store;
+		this.keyProvider = keyProvider;
 		index = store.getIndex(IndexType.MAPS);
-		keyManager = new XteaKeyManager();
+	}
+
+	private static XteaKeyProvider loadKeys()
+	{
+		XteaKeyManager keyManager = new XteaKeyManager();
 		keyManager.loadKeys();
+		return keyManager;
 	}
 
 	public void loadRegions() throws IOException
 	{
+		int missingKeys = 0;
+
 		for (int i = 0; i < MAX_REGION; ++i)
 		{
 			Region region = this.loadRegionFromArchive(i);
 			if (region != null)
 			{
 				regions.put(i, region);
+
+				if (keyProvider.getKeys(i) == null)
+				{
+					++missingKeys;
+				}
 			}
 		}
+
+		if (missingKeys > 0)
+		{
+			logger.warn("No xtea keys for {} of {} regions, their locations were not loaded", missingKeys, regions.size());
+		}
 	}
 
 	public Region loadRegionFromArchive(int i) throws IOException
@@ -98,7 +122,7 @@ public class RegionLoader
 		Region region = new Region(i);
 		region.loadTerrain(mapDef);
 
-		int[] keys = keyManager.getKeys(i);
+		int[] keys = keyProvider.getKeys(i);
 		if (keys != null)
 		{
 			try
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.OverlayDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.loaders.OverlayLoader;
+import net.runelite.cache.definitions.loaders.TextureLoader;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Crc32;
+
+/**
+ * Hashes of every input that goes into rendering a region, used to work
+ * out which regions need to be redrawn after a cache update.
+ * <p>
+ * A region's hash covers its own map and landscape archives, the map
+ * archives of its neighbours (ground colours are blended across region
+ * borders), and the underlay, overlay, texture and object definitions
+ * it references. Map icons and map scenes are covered by the area
+ * config archive and the mapscene sprite archive.
+ */
+public class RegionManifest
+{
+	private static final int MAGIC = 0x524d414e; // RMAN
+	private static final int VERSION = 2;
+	/**
+	 * Width of the strip of neighbouring tiles whose underlays blend into a
+	 * region's ground colours. MapImageDumper blends over BLEND (5) tiles in
+	 * each direction in two passes, so this covers twice that.
+	 */
+	private static final int BLEND_BORDER = 10;
+
+	private final Map<Integer, Long> hashes;
+
+	RegionManifest(Map<Integer, Long> hashes)
+	{
+		this.hashes = hashes;
+	}
+
+	public static RegionManifest compute(Store store, Collection<Region> regions) throws IOException
+	{
+		return new Hashes(store).compute(regions);
+	}
+
+	public static RegionManifest load(File file) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				throw new IOException("Unrecognized region manifest " + file);
+			}
+
+			int count = in.readInt();
+			Map<Integer, Long> hashes = new HashMap<>(count);
+			for (int i = 0; i < count; ++i)
+			{
+				int regionId = in.readInt();
+				long hash = in.readLong();
+				hashes.put(regionId, hash);
+			}
+			return new RegionManifest(hashes);
+		}
+	}
+
+	public void save(File file) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(hashes.size());
+			for (Map.Entry<Integer, Long> entry : hashes.entrySet())
+			{
+				out.writeInt(entry.getKey());
+				out.writeLong(entry.getValue());
+			}
+		}
+	}
+
+	public Long getHash(int regionId)
+	{
+		return hashes.get(regionId);
+	}
+
+	public Set<Integer> getRegionIds()
+	{
+		return hashes.keySet();
+	}
+
+	/**
+	 * Regions which are new or whose inputs have changed since {@code previous}
+	 *
+	 * @param previous manifest of the last render, or null to select every region
+	 * @return region ids to render
+	 */
+	public Set<Integer> changedSince(RegionManifest previous)
+	{
+		Set<Integer> changed = new TreeSet<>();
+		for (Map.Entry<Integer, Long> entry : hashes.entrySet())
+		{
+			Long old = previous == null ? null : previous.hashes.get(entry.getKey());
+			if (!entry.getValue().equals(old))
+			{
+				changed.add(entry.getKey());
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Regions present in {@code previous} which no longer exist
+	 *
+	 * @param previous manifest of the last render, may be null
+	 * @return region ids whose output should be removed
+	 */
+	public Set<Integer> removedSince(RegionManifest previous)
+	{
+		Set<Integer> removed = new TreeSet<>();
+		if (previous != null)
+		{
+			for (Integer regionId : previous.hashes.keySet())
+			{
+				if (!hashes.containsKey(regionId))
+				{
+					removed.add(regionId);
+				}
+			}
+		}
+		return removed;
+	}
+
+	private static class Hashes
+	{
+		private final Index maps;
+		private final Map<Integer, Integer> underlays;
+		private final Map<Integer, Integer> overlays;
+		private final Map<Integer, Integer> objects;
+		private final Map<Integer, Integer> textures;
+		private final Map<Integer, Integer> overlayTextures = new HashMap<>();
+		private final Map<Integer, int[]> textureSprites = new HashMap<>();
+		private final Index spriteIndex;
+		private final int areaCrc;
+		private final int mapsceneCrc;
+
+		Hashes(Store store) throws IOException
+		{
+			Storage storage = store.getStorage();
+			Index configs = store.getIndex(IndexType.CONFIGS);
+
+			maps = store.getIndex(IndexType.MAPS);
+			spriteIndex = store.getIndex(IndexType.SPRITES);
+
+			underlays = fileCrcs(loadFiles(storage, configs.getArchive(ConfigType.UNDERLAY.getId())));
+			objects = fileCrcs(loadFiles(storage, configs.getArchive(ConfigType.OBJECT.getId())));
+
+			ArchiveFiles overlayFiles = loadFiles(storage, configs.getArchive(ConfigType.OVERLAY.getId()));
+			overlays = fileCrcs(overlayFiles);
+			OverlayLoader overlayLoader = new OverlayLoader();
+			for (FSFile file : overlayFiles.getFiles())
+			{
+				OverlayDefinition overlay = overlayLoader.load(file.getFileId(), file.getContents());
+				overlayTextures.put(file.getFileId(), overlay.getTexture());
+			}
+
+			ArchiveFiles textureFiles = loadFiles(storage, store.getIndex(IndexType.TEXTURES).getArchive(0));
+			textures = fileCrcs(textureFiles);
+			TextureLoader textureLoader = new TextureLoader();
+			for (FSFile file : textureFiles.getFiles())
+			{
+				TextureDefinition texture = textureLoader.load(file.getFileId(), file.getContents());
+				textureSprites.put(file.getFileId(), texture.getFileIds());
+			}
+
+			Archive areaArchive = configs.getArchive(ConfigType.AREA.getId());
+			areaCrc = areaArchive == null ? 0 : areaArchive.getCrc();
+			Archive mapscene = spriteIndex.findArchiveByName("mapscene");
+			mapsceneCrc = mapscene == null ? 0 : mapscene.getCrc();
+		}
+
+		RegionManifest compute(Collection<Region> regions)
+		{
+			Map<Integer, Region> regionsById = new HashMap<>(regions.size());
+			for (Region region : regions)
+			{
+				regionsById.put(region.getRegionID(), region);
+			}
+
+			Map<Integer, Long> hashes = new HashMap<>(regions.size());
+			for (Region region : regions)
+			{
+				hashes.put(region.getRegionID(), hash(region, regionsById));
+			}
+			return new RegionManifest(hashes);
+		}
+
+		private long hash(Region region, Map<Integer, Region> regionsById)
+		{
+			Hasher hasher = Hashing.murmur3_128().newHasher();
+			int regionX = region.getRegionX();
+			int regionY = region.getRegionY();
+
+			hasher.putInt(archiveCrc("m", regionX, regionY));
+			hasher.putInt(archiveCrc("l", regionX, regionY));
+			hasher.putInt(region.getLocations().size());
+
+			for (int dx = -1; dx <= 1; ++dx)
+			{
+				for (int dy = -1; dy <= 1; ++dy)
+				{
+					if (dx != 0 || dy != 0)
+					{
+						hasher.putInt(archiveCrc("m", regionX + dx, regionY + dy));
+					}
+				}
+			}
+
+			Set<Integer> underlayIds = new TreeSet<>();
+			Set<Integer> overlayIds = new TreeSet<>();
+
+			// ground colours blend in underlays from the borders of the neighbouring regions
+			for (int dx = -1; dx <= 1; ++dx)
+			{
+				for (int dy = -1; dy <= 1; ++dy)
+				{
+					Region neighbour = regionsById.get((regionX + dx) << 8 | (regionY + dy));
+					if ((dx != 0 || dy != 0) && neighbour != null)
+					{
+						addBorderUnderlays(neighbour, dx, dy, underlayIds);
+					}
+				}
+			}
+
+			for (int z = 0; z < Region.Z; ++z)
+			{
+				for (int x = 0; x < Region.X; ++x)
+				{
+					for (int y = 0; y < Region.Y; ++y)
+					{
+						int underlayId = region.getUnderlayId(z, x, y);
+						if (underlayId > 0)
+						{
+							underlayIds.add(underlayId - 1);
+						}
+
+						int overlayId = region.getOverlayId(z, x, y);
+						if (overlayId > 0)
+						{
+							overlayIds.add(overlayId - 1);
+						}
+					}
+				}
+			}
+
+			for (int id : underlayIds)
+			{
+				hasher.putInt(id).putInt(underlays.getOrDefault(id, 0));
+			}
+
+			for (int id : overlayIds)
+			{
+				hasher.putInt(id).putInt(overlays.getOrDefault(id, 0));
+
+				int textureId = overlayTextures.getOrDefault(id, -1);
+				if (textureId >= 0)
+				{
+					hasher.putInt(textures.getOrDefault(textureId, 0));
+					int[] spriteIds = textureSprites.get(textureId);
+					if (spriteIds != null)
+					{
+						for (int spriteId : spriteIds)
+						{
+							Archive sprite = spriteIndex.getArchive(spriteId);
+							hasher.putInt(sprite == null ? 0 : sprite.getCrc());
+						}
+					}
+				}
+			}
+
+			Set<Integer> objectIds = new TreeSet<>();
+			for (Location location : region.getLocations())
+			{
+				objectIds.add(location.getId());
+			}
+			for (int id : objectIds)
+			{
+				hasher.putInt(id).putInt(objects.getOrDefault(id, 0));
+			}
+
+			if (!objectIds.isEmpty())
+			{
+				hasher.putInt(areaCrc).putInt(mapsceneCrc);
+			}
+
+			return hasher.hash().asLong();
+		}
+
+		/**
+		 * Add the underlays of the strip of a neighbouring region, offset by
+		 * (dx, dy) from the hashed region, which lies next to the hashed region
+		 */
+		private static void addBorderUnderlays(Region neighbour, int dx, int dy, Set<Integer> underlayIds)
+		{
+			int startX = dx < 0 ? Region.X - BLEND_BORDER : 0;
+			int endX = dx > 0 ? BLEND_BORDER : Region.X;
+			int startY = dy < 0 ? Region.Y - BLEND_BORDER : 0;
+			int endY = dy > 0 ? BLEND_BORDER : Region.Y;
+
+			for (int z = 0; z < Region.Z; ++z)
+			{
+				for (int x = startX; x < endX; ++x)
+				{
+					for (int y = startY; y < endY; ++y)
+					{
+						int underlayId = neighbour.getUnderlayId(z, x, y);
+						if (underlayId > 0)
+						{
+							underlayIds.add(underlayId - 1);
+						}
+					}
+				}
+			}
+		}
+
+		private int archiveCrc(String prefix, int regionX, int regionY)
+		{
+			Archive archive = maps.findArchiveByName(prefix + regionX + "_" + regionY);
+			return archive == null ? 0 : archive.getCrc();
+		}
+
+		private static ArchiveFiles loadFiles(Storage storage, Archive archive) throws IOException
+		{
+			return archive.getFiles(storage.loadArchive(archive));
+		}
+
+		private static Map<Integer, Integer> fileCrcs(ArchiveFiles files)
+		{
+			Map<Integer, Integer> crcs = new HashMap<>();
+			for (FSFile file : files.getFiles())
+			{
+				byte[] contents = file.getContents();
+				Crc32 crc = new Crc32();
+				crc.update(contents, 0, contents.length);
+				crcs.put(file.getFileId(), crc.getHash());
+			}
+			return crcs;
+		}
+	}
+}
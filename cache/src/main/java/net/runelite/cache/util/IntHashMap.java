@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from primitive int keys to objects, which
+ * avoids boxing keys on lookup.
+ *
+ * @param <V> value type
+ */
+public class IntHashMap<V>
+{
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] keys;
+	private Object[] values;
+	private int size;
+	private int mask;
+
+	public IntHashMap()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntHashMap(int expectedSize)
+	{
+		// keep the load factor at or below 0.5
+		int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity)
+	{
+		keys = new int[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	private static int hash(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int indexOf(int key)
+	{
+		int idx = hash(key) & mask;
+		while (values[idx] != null)
+		{
+			if (keys[idx] == key)
+			{
+				return idx;
+			}
+			idx = (idx + 1) & mask;
+		}
+		return -1;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public boolean containsKey(int key)
+	{
+		return indexOf(key) != -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key)
+	{
+		int idx = indexOf(key);
+		return idx != -1 ? (V) values[idx] : null;
+	}
+
+	/**
+	 * Associate the value with the key
+	 *
+	 * @param key
+	 * @param value non-null value
+	 * @return the previous value for the key, or null
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value)
+	{
+		if (value == null)
+		{
+			throw new IllegalArgumentException("null values are not supported");
+		}
+
+		int idx = hash(key) & mask;
+		while (values[idx] != null)
+		{
+			if (keys[idx] == key)
+			{
+				V old = (V) values[idx];
+				values[idx] = value;
+				return old;
+			}
+			idx = (idx + 1) & mask;
+		}
+
+		keys[idx] = key;
+		values[idx] = value;
+
+		if (++size * 2 > keys.length)
+		{
+			rehash(keys.length << 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Associate the value with the key only if the key has no value yet
+	 *
+	 * @param key
+	 * @param value non-null value
+	 * @return the existing value for the key, or null if the value was added
+	 */
+	public V putIfAbsent(int key, V value)
+	{
+		V existing = get(key);
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		put(key, value);
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(int key)
+	{
+		int idx = indexOf(key);
+		if (idx == -1)
+		{
+			return null;
+		}
+
+		V old = (V) values[idx];
+		values[idx] = null;
+		--size;
+
+		// shift back following entries of the probe sequence into the freed slot
+		int free = idx;
+		idx = (idx + 1) & mask;
+		while (values[idx] != null)
+		{
+			int home = hash(keys[idx]) & mask;
+			if (((idx - home) & mask) >= ((idx - free) & mask))
+			{
+				keys[free] = keys[idx];
+				values[free] = values[idx];
+				values[idx] = null;
+				free = idx;
+			}
+			idx = (idx + 1) & mask;
+		}
+
+		return old;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private void rehash(int capacity)
+	{
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldKeys.length; ++i)
+		{
+			if (oldValues[i] != null)
+			{
+				int idx = hash(oldKeys[i]) & mask;
+				while (values[idx] != null)
+				{
+					idx = (idx + 1) & mask;
+				}
+				keys[idx] = oldKeys[i];
+				values[idx] = oldValues[i];
+			}
+		}
+	}
+}
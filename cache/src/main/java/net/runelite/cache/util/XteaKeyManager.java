@@ -32,7 +32,7 @@ import net.runelite.http.api.xtea.XteaKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class XteaKeyManager
+public class XteaKeyManager implements XteaKeyProvider
 {
 	private static final Logger logger = LoggerFactory.getLogger(XteaKeyManager.class);
 
@@ -59,6 +59,7 @@ public class XteaKeyManager
 		logger.info("Loaded {} keys", keys.size());
 	}
 
+	@Override
 	public int[] getKeys(int region)
 	{
 		return keys.get(region);
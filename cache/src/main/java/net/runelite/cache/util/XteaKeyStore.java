@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.xtea.XteaKey;
+
+/**
+ * A compact, read-only table of region keys, usually memory mapped from
+ * disk so map tooling can run without the xtea api.
+ * <p>
+ * The format is a header of a magic number and an entry count, followed
+ * by one entry of a region id and its four key words per region, sorted
+ * by region id. All values are big endian ints.
+ */
+public class XteaKeyStore implements XteaKeyProvider
+{
+	private static final int MAGIC = 0x58544b53; // XTKS
+	private static final int HEADER_SIZE = 8;
+	private static final int ENTRY_SIZE = 20;
+
+	private final ByteBuffer buffer;
+	private final int size;
+
+	private XteaKeyStore(ByteBuffer buffer) throws IOException
+	{
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+		{
+			throw new IOException("Not an xtea key store");
+		}
+
+		int size = buffer.getInt(4);
+		if (size < 0 || buffer.remaining() < HEADER_SIZE + (long) size * ENTRY_SIZE)
+		{
+			throw new IOException("Truncated xtea key store");
+		}
+
+		this.buffer = buffer;
+		this.size = size;
+	}
+
+	/**
+	 * Memory map a key store. The mapping is only released once the store is
+	 * garbage collected, and mapped files can not be replaced on Windows, so
+	 * the file must not be written or merged into while the store is in use.
+	 */
+	public static XteaKeyStore open(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return new XteaKeyStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public static XteaKeyStore wrap(byte[] data) throws IOException
+	{
+		return new XteaKeyStore(ByteBuffer.wrap(data));
+	}
+
+	public static byte[] encode(Map<Integer, int[]> keys)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + keys.size() * ENTRY_SIZE);
+		buffer.putInt(MAGIC);
+		buffer.putInt(keys.size());
+
+		for (Map.Entry<Integer, int[]> entry : new TreeMap<>(keys).entrySet())
+		{
+			int[] key = entry.getValue();
+			if (key.length != 4)
+			{
+				throw new IllegalArgumentException("Key length must be 4");
+			}
+
+			buffer.putInt(entry.getKey());
+			for (int k : key)
+			{
+				buffer.putInt(k);
+			}
+		}
+
+		return buffer.array();
+	}
+
+	/**
+	 * Write a key store, atomically replacing {@code file}. No store may
+	 * currently be {@link #open(File) open} on the file.
+	 */
+	public static void write(File file, Map<Integer, int[]> keys) throws IOException
+	{
+		Path path = file.toPath();
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.write(tmp, encode(keys));
+
+		try
+		{
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex)
+		{
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Add keys to the store at {@code file}, creating it if it does not
+	 * exist. Keys for regions already in the store are replaced. The existing
+	 * store is read rather than mapped, but as with {@link #write(File, Map)}
+	 * no store may currently be {@link #open(File) open} on the file.
+	 *
+	 * @param file key store
+	 * @param keys keys to add
+	 * @return number of regions in the resulting store
+	 */
+	public static int merge(File file, Map<Integer, int[]> keys) throws IOException
+	{
+		Map<Integer, int[]> merged = file.exists() ? wrap(Files.readAllBytes(file.toPath())).toMap() : new TreeMap<>();
+		merged.putAll(keys);
+		write(file, merged);
+		return merged.size();
+	}
+
+	/**
+	 * Read keys in the json format served by the xtea api
+	 */
+	public static Map<Integer, int[]> readJson(Reader reader) throws IOException
+	{
+		List<XteaKey> xteaKeys;
+		try
+		{
+			// CHECKSTYLE:OFF
+			xteaKeys = RuneLiteAPI.GSON.fromJson(reader, new TypeToken<List<XteaKey>>() { }.getType());
+			// CHECKSTYLE:ON
+		}
+		catch (JsonParseException ex)
+		{
+			throw new IOException(ex);
+		}
+
+		Map<Integer, int[]> keys = new TreeMap<>();
+		if (xteaKeys != null)
+		{
+			for (XteaKey key : xteaKeys)
+			{
+				keys.put(key.getRegion(), key.getKeys());
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	public int[] getKeys(int region)
+	{
+		int low = 0;
+		int high = size - 1;
+
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int offset = HEADER_SIZE + mid * ENTRY_SIZE;
+			int midRegion = buffer.getInt(offset);
+
+			if (midRegion < region)
+			{
+				low = mid + 1;
+			}
+			else if (midRegion > region)
+			{
+				high = mid - 1;
+			}
+			else
+			{
+				return new int[]
+				{
+					buffer.getInt(offset + 4),
+					buffer.getInt(offset + 8),
+					buffer.getInt(offset + 12),
+					buffer.getInt(offset + 16)
+				};
+			}
+		}
+
+		return null;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public Map<Integer, int[]> toMap()
+	{
+		Map<Integer, int[]> keys = new TreeMap<>();
+		for (int i = 0; i < size; ++i)
+		{
+			int offset = HEADER_SIZE + i * ENTRY_SIZE;
+			keys.put(buffer.getInt(offset), new int[]
+			{
+				buffer.getInt(offset + 4),
+				buffer.getInt(offset + 8),
+				buffer.getInt(offset + 12),
+				buffer.getInt(offset + 16)
+			});
+		}
+		return keys;
+	}
+}
@@ -97,4 +97,27 @@ public class MapImageDumperTest
 			}
 		}
 	}
+
+	@Test
+	@Ignore
+	public void dumpTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load();
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				long start = System.nanoTime();
+				int tiles = dumper.drawTiles(i, outDir, Runtime.getRuntime().availableProcessors());
+				logger.info("Wrote {} tiles for plane {} in {}ms", tiles, i, (System.nanoTime() - start) / 1_000_000L);
+			}
+		}
+	}
 }
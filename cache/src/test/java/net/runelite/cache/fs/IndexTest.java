@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.util.Comparator;
+import net.runelite.cache.util.Djb2;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class IndexTest
+{
+	@Test
+	public void testArchiveLookup()
+	{
+		Index index = new Index(5);
+		Archive a0 = index.addArchive(0);
+		a0.setNameHash(Djb2.hash("m50_50"));
+		Archive a1 = index.addArchive(1);
+		a1.setNameHash(Djb2.hash("l50_50"));
+
+		assertSame(a0, index.getArchive(0));
+		assertSame(a1, index.getArchive(1));
+		assertSame(a0, index.findArchiveByName("m50_50"));
+		assertSame(a1, index.findArchiveByName("l50_50"));
+		assertNull(index.getArchive(2));
+		assertNull(index.findArchiveByName("m1_1"));
+
+		a1.setNameHash(Djb2.hash("l51_50"));
+		assertNull(index.findArchiveByName("l50_50"));
+		assertSame(a1, index.findArchiveByName("l51_50"));
+
+		index.removeArchive(a0);
+		assertNull(index.getArchive(0));
+		assertNull(index.findArchiveByName("m50_50"));
+		assertSame(a1, index.getArchive(1));
+	}
+
+	@Test
+	public void testSortArchives()
+	{
+		Index index = new Index(5);
+		Archive a0 = index.addArchive(0);
+		a0.setRevision(2);
+		a0.setNameHash(Djb2.hash("m50_50"));
+		Archive a1 = index.addArchive(0);
+		a1.setRevision(1);
+		a1.setNameHash(Djb2.hash("m50_50"));
+
+		assertSame(a0, index.getArchive(0));
+		assertSame(a0, index.findArchiveByName("m50_50"));
+
+		index.sortArchives(Comparator.comparing(Archive::getRevision));
+		assertSame(a1, index.getArchives().get(0));
+		assertSame(a1, index.getArchive(0));
+		assertSame(a1, index.findArchiveByName("m50_50"));
+	}
+}
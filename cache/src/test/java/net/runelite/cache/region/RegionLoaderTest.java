@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.io.IOException;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class RegionLoaderTest
+{
+	private static final Logger logger = LoggerFactory.getLogger(RegionLoaderTest.class);
+
+	@Test
+	@Ignore
+	public void benchmarkLoadRegions() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			Index index = store.getIndex(IndexType.MAPS);
+
+			// the linear scan findArchiveByName used to do
+			long start = System.nanoTime();
+			int found = 0;
+			for (int i = 0; i < 32768; ++i)
+			{
+				int x = i >> 8;
+				int y = i & 0xFF;
+				int mapHash = Djb2.hash("m" + x + "_" + y);
+				int landHash = Djb2.hash("l" + x + "_" + y);
+				for (Archive a : index.getArchives())
+				{
+					if (a.getNameHash() == mapHash || a.getNameHash() == landHash)
+					{
+						++found;
+					}
+				}
+			}
+			logger.info("Linear archive lookups took {}ms ({} archives found)", (System.nanoTime() - start) / 1_000_000, found);
+
+			start = System.nanoTime();
+			found = 0;
+			for (int i = 0; i < 32768; ++i)
+			{
+				int x = i >> 8;
+				int y = i & 0xFF;
+				if (index.findArchiveByName("m" + x + "_" + y) != null)
+				{
+					++found;
+				}
+				if (index.findArchiveByName("l" + x + "_" + y) != null)
+				{
+					++found;
+				}
+			}
+			logger.info("Hashed archive lookups took {}ms ({} archives found)", (System.nanoTime() - start) / 1_000_000, found);
+
+			RegionLoader regionLoader = new RegionLoader(store);
+			start = System.nanoTime();
+			regionLoader.loadRegions();
+			logger.info("Loaded {} regions in {}ms", regionLoader.getRegions().size(), (System.nanoTime() - start) / 1_000_000);
+		}
+	}
+}
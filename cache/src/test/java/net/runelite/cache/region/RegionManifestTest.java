@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RegionManifestTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testChangedSince()
+	{
+		RegionManifest previous = new RegionManifest(ImmutableMap.of(1, 10L, 2, 20L, 3, 30L));
+		RegionManifest current = new RegionManifest(ImmutableMap.of(1, 10L, 2, 21L, 4, 40L));
+
+		assertEquals(ImmutableSet.of(2, 4), current.changedSince(previous));
+		assertEquals(ImmutableSet.of(3), current.removedSince(previous));
+	}
+
+	@Test
+	public void testNoPrevious()
+	{
+		RegionManifest current = new RegionManifest(ImmutableMap.of(1, 10L, 2, 20L));
+
+		assertEquals(ImmutableSet.of(1, 2), current.changedSince(null));
+		assertEquals(Collections.emptySet(), current.removedSince(null));
+	}
+
+	@Test
+	public void testSaveLoad() throws IOException
+	{
+		RegionManifest manifest = new RegionManifest(ImmutableMap.of(12850, 0x1234567890L, 12851, -1L));
+		File file = folder.newFile();
+		manifest.save(file);
+
+		RegionManifest loaded = RegionManifest.load(file);
+		assertEquals(manifest.getRegionIds(), loaded.getRegionIds());
+		assertEquals(Long.valueOf(0x1234567890L), loaded.getHash(12850));
+		assertEquals(Long.valueOf(-1L), loaded.getHash(12851));
+		assertEquals(Collections.emptySet(), loaded.changedSince(manifest));
+	}
+}
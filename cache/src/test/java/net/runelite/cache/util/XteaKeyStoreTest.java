@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class XteaKeyStoreTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testLookup() throws IOException
+	{
+		Map<Integer, int[]> keys = new HashMap<>();
+		for (int region = 0; region < 1000; region += 3)
+		{
+			keys.put(region, new int[]{region, -region, region * 31, ~region});
+		}
+
+		XteaKeyStore store = XteaKeyStore.wrap(XteaKeyStore.encode(keys));
+		assertEquals(keys.size(), store.size());
+
+		for (int region = 0; region < 1000; ++region)
+		{
+			int[] expected = keys.get(region);
+			if (expected == null)
+			{
+				assertNull(store.getKeys(region));
+			}
+			else
+			{
+				assertArrayEquals(expected, store.getKeys(region));
+			}
+		}
+	}
+
+	@Test
+	public void testMerge() throws IOException
+	{
+		File file = new File(folder.getRoot(), "xtea.dat");
+
+		Map<Integer, int[]> keys = new HashMap<>();
+		keys.put(12850, new int[]{1, 2, 3, 4});
+		keys.put(12851, new int[]{5, 6, 7, 8});
+		assertEquals(2, XteaKeyStore.merge(file, keys));
+
+		Map<Integer, int[]> update = XteaKeyStore.readJson(new StringReader(
+			"[{\"region\":12851,\"keys\":[9,10,11,12]},{\"region\":12852,\"keys\":[13,14,15,16]}]"));
+		assertEquals(3, XteaKeyStore.merge(file, update));
+
+		XteaKeyStore store = XteaKeyStore.open(file);
+		assertArrayEquals(new int[]{1, 2, 3, 4}, store.getKeys(12850));
+		assertArrayEquals(new int[]{9, 10, 11, 12}, store.getKeys(12851));
+		assertArrayEquals(new int[]{13, 14, 15, 16}, store.getKeys(12852));
+		assertNull(store.getKeys(12853));
+	}
+
+	@Test(expected = IOException.class)
+	public void testInvalid() throws IOException
+	{
+		XteaKeyStore.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+	}
+}
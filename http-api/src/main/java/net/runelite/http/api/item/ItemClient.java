@@ -45,6 +45,9 @@ public class ItemClient
 {
 	private static final Logger logger = LoggerFactory.getLogger(ItemClient.class);
 
+	private static final String PRICE_VERSION = "RuneLite-Price-Version";
+	public static final long NO_PRICE_VERSION = -1L;
+
 	public ItemPrice lookupItemPrice(int itemId) throws IOException
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
@@ -174,6 +177,19 @@ public class ItemClient
 	}
 
 	public ItemPrice[] getPrices() throws IOException
+	{
+		ItemPriceDelta snapshot = getPriceSnapshot();
+		return snapshot != null ? snapshot.getPrices() : null;
+	}
+
+	/**
+	 * Get all item prices along with the version of the price list, which can
+	 * later be passed to {@link #getPriceChanges(long)}
+	 *
+	 * @return the full price list, or null if it could not be looked up
+	 * @throws IOException
+	 */
+	public ItemPriceDelta getPriceSnapshot() throws IOException
 	{
 		HttpUrl.Builder urlBuilder = RuneLiteAPI.getApiBase().newBuilder()
 			.addPathSegment("item")
@@ -196,7 +212,52 @@ public class ItemClient
 			}
 
 			InputStream in = response.body().byteStream();
-			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), ItemPrice[].class);
+			ItemPriceDelta snapshot = new ItemPriceDelta();
+			snapshot.setPrices(RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), ItemPrice[].class));
+
+			String version = response.header(PRICE_VERSION);
+			snapshot.setVersion(version != null ? Long.parseLong(version) : NO_PRICE_VERSION);
+			return snapshot;
+		}
+		catch (JsonParseException | NumberFormatException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
+
+	/**
+	 * Get the item prices which have changed since the given price list version
+	 *
+	 * @param version version of the price list the caller has
+	 * @return the changed prices, or null if the version is too old and the
+	 * full price list should be fetched instead
+	 * @throws IOException
+	 */
+	public ItemPriceDelta getPriceChanges(long version) throws IOException
+	{
+		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("prices")
+			.addPathSegment("changes")
+			.addQueryParameter("since", Long.toString(version))
+			.build();
+
+		logger.debug("Built URI: {}", url);
+
+		Request request = new Request.Builder()
+			.url(url)
+			.build();
+
+		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+		{
+			if (!response.isSuccessful())
+			{
+				logger.debug("Error looking up price changes: {}", response);
+				return null;
+			}
+
+			InputStream in = response.body().byteStream();
+			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in), ItemPriceDelta.class);
 		}
 		catch (JsonParseException ex)
 		{
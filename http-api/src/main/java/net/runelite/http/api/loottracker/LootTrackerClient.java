@@ -48,6 +48,11 @@ import okhttp3.Response;
 @AllArgsConstructor
 public class LootTrackerClient
 {
+	/**
+	 * Maximum number of records accepted in a single batch submission
+	 */
+	public static final int MAX_BATCH_SIZE = 1024;
+
 	private static final MediaType JSON = MediaType.parse("application/json");
 	private static final Gson GSON = RuneLiteAPI.GSON;
 
@@ -82,6 +87,47 @@ public class LootTrackerClient
 		});
 	}
 
+	/**
+	 * Submit a batch of at most {@link #MAX_BATCH_SIZE} loot records in a single
+	 * request. This blocks until the server has acknowledged the batch so that
+	 * the caller can retry it on failure.
+	 *
+	 * @param lootRecords loot records to submit
+	 * @return true if the batch was stored, false if the server rejected it and it should not be retried
+	 * @throws IOException if the batch was not stored, but may be retried
+	 */
+	public boolean submit(Collection<LootRecord> lootRecords) throws IOException
+	{
+		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("loottracker")
+			.addPathSegment("batch")
+			.build();
+
+		Request request = new Request.Builder()
+			.header(RuneLiteAPI.RUNELITE_AUTH, uuid.toString())
+			.post(RequestBody.create(JSON, GSON.toJson(lootRecords)))
+			.url(url)
+			.build();
+
+		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+		{
+			final int code = response.code();
+			if (code >= 400 && code < 500 && code != 401 && code != 429)
+			{
+				log.debug("Loot batch rejected: {}", response);
+				return false;
+			}
+
+			if (!response.isSuccessful())
+			{
+				throw new IOException("Unable to submit loot: " + response);
+			}
+
+			log.debug("Submitted {} loot records", lootRecords.size());
+			return true;
+		}
+	}
+
 	public Collection<LootRecord> get() throws IOException
 	{
 		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
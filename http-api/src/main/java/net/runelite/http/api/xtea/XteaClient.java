@@ -132,4 +132,29 @@ public class XteaClient
 			throw new IOException(ex);
 		}
 	}
+
+	/**
+	 * Fetch the latest keys as an encoded cache {@code XteaKeyStore}
+	 */
+	public byte[] getKeyStore() throws IOException
+	{
+		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("xtea")
+			.addPathSegment("keystore")
+			.build();
+
+		Request request = new Request.Builder()
+			.url(url)
+			.build();
+
+		try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
+		{
+			if (!response.isSuccessful())
+			{
+				throw new IOException("Unable to fetch key store: " + response);
+			}
+
+			return response.body().bytes();
+		}
+	}
 }
@@ -24,24 +24,32 @@
  */
 package net.runelite.http.service.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
 import net.runelite.http.api.item.Item;
 import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceDelta;
 import net.runelite.http.api.item.SearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -52,6 +60,8 @@ public class ItemController
 {
 	private static final String RUNELITE_CACHE = "RuneLite-Cache";
 	private static final int MAX_BATCH_LOOKUP = 1024;
+	private static final String PRICE_VERSION = "RuneLite-Price-Version";
+	private static final int PRICE_HISTORY = 8;
 
 	private final Cache<Integer, Integer> cachedEmpty = CacheBuilder.newBuilder()
 		.maximumSize(1024L)
@@ -59,14 +69,23 @@ public class ItemController
 
 	private final ItemService itemService;
 
-	private final Supplier<ItemPrice[]> memorizedPrices;
+	private final Supplier<PriceSnapshot> memorizedPrices;
+	private final Deque<PriceSnapshot> priceHistory = new ArrayDeque<>();
+	private final Cache<Long, ItemPriceDelta> priceDeltas = CacheBuilder.newBuilder()
+		.maximumSize(PRICE_HISTORY)
+		.build();
 
 	@Autowired
-	public ItemController(ItemService itemService)
+	public ItemController(ItemService itemService, ObjectMapper objectMapper)
 	{
 		this.itemService = itemService;
 
-		memorizedPrices = Suppliers.memoizeWithExpiration(() -> itemService.fetchPrices().stream()
+		memorizedPrices = Suppliers.memoizeWithExpiration(() -> snapshotPrices(objectMapper), 30, TimeUnit.MINUTES);
+	}
+
+	private PriceSnapshot snapshotPrices(ObjectMapper objectMapper)
+	{
+		PriceSnapshot snapshot = PriceSnapshot.encode(objectMapper, itemService.fetchPrices().stream()
 			.map(priceEntry ->
 			{
 				ItemPrice itemPrice = new ItemPrice();
@@ -76,7 +95,22 @@ public class ItemController
 				itemPrice.setTime(priceEntry.getTime());
 				return itemPrice;
 			})
-			.toArray(ItemPrice[]::new), 30, TimeUnit.MINUTES);
+			.toArray(ItemPrice[]::new));
+
+		synchronized (priceHistory)
+		{
+			PriceSnapshot last = priceHistory.peekLast();
+			if (last == null || last.getVersion() != snapshot.getVersion())
+			{
+				priceHistory.addLast(snapshot);
+				if (priceHistory.size() > PRICE_HISTORY)
+				{
+					priceHistory.removeFirst();
+				}
+			}
+		}
+
+		return snapshot;
 	}
 
 	@GetMapping("/{itemId}")
@@ -218,10 +252,109 @@ public class ItemController
 	}
 
 	@GetMapping("/prices")
-	public ResponseEntity<ItemPrice[]> prices()
+	public ResponseEntity<byte[]> prices(
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+		@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+	)
+	{
+		PriceSnapshot snapshot = memorizedPrices.get();
+
+		if (ifNoneMatch != null && etagMatches(ifNoneMatch, snapshot.getEtag()))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+				.cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES).cachePublic())
+				.eTag(snapshot.getEtag())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+				.build();
+		}
+
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+			.cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES).cachePublic())
+			.eTag(snapshot.getEtag())
+			.header(PRICE_VERSION, Long.toString(snapshot.getVersion()))
+			.contentType(MediaType.APPLICATION_JSON_UTF8)
+			.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+		if (acceptEncoding != null && acceptEncoding.contains("gzip"))
+		{
+			return builder
+				.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+				.contentLength(snapshot.getGzip().length)
+				.body(snapshot.getGzip());
+		}
+
+		return builder
+			.contentLength(snapshot.getJson().length)
+			.body(snapshot.getJson());
+	}
+
+	/**
+	 * Check an If-None-Match header against an entity tag, using the weak comparison
+	 * If-None-Match requires.
+	 *
+	 * @param ifNoneMatch comma separated list of entity tags, or *
+	 * @param etag quoted entity tag of the current representation
+	 */
+	static boolean etagMatches(String ifNoneMatch, String etag)
 	{
+		for (String tag : ifNoneMatch.split(","))
+		{
+			tag = tag.trim();
+			if (tag.equals("*"))
+			{
+				return true;
+			}
+
+			if (tag.startsWith("W/"))
+			{
+				tag = tag.substring(2);
+			}
+
+			if (tag.equals(etag))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@GetMapping("/prices/changes")
+	public ResponseEntity<ItemPriceDelta> priceChanges(@RequestParam long since)
+	{
+		PriceSnapshot snapshot = memorizedPrices.get();
+
+		ItemPriceDelta delta = priceDeltas.getIfPresent(since);
+		if (delta == null || delta.getVersion() != snapshot.getVersion())
+		{
+			PriceSnapshot old = null;
+			synchronized (priceHistory)
+			{
+				for (PriceSnapshot s : priceHistory)
+				{
+					if (s.getVersion() == since)
+					{
+						old = s;
+						break;
+					}
+				}
+			}
+
+			if (old == null)
+			{
+				// too old, the client should fetch all prices instead
+				return ResponseEntity.notFound().build();
+			}
+
+			delta = new ItemPriceDelta();
+			delta.setVersion(snapshot.getVersion());
+			delta.setPrices(old == snapshot ? new ItemPrice[0] : snapshot.changesSince(old));
+			delta.setRemoved(old == snapshot ? new int[0] : snapshot.removedSince(old));
+			priceDeltas.put(since, delta);
+		}
+
 		return ResponseEntity.ok()
 			.cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES).cachePublic())
-			.body(memorizedPrices.get());
+			.body(delta);
 	}
 }
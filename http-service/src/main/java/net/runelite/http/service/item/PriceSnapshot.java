@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import lombok.Value;
+import net.runelite.http.api.item.ItemPrice;
+
+/**
+ * A snapshot of all item prices, encoded once when the snapshot is built
+ * so that requests for it can be served without serializing the prices again.
+ */
+@Value
+class PriceSnapshot
+{
+	private final ItemPrice[] prices;
+	private final byte[] json;
+	private final byte[] gzip;
+	private final String etag;
+	/**
+	 * version of the snapshot, derived from its contents so that it is the
+	 * same on every server
+	 */
+	private final long version;
+
+	static PriceSnapshot encode(ObjectMapper objectMapper, ItemPrice[] prices)
+	{
+		try
+		{
+			byte[] json = objectMapper.writeValueAsBytes(prices);
+			byte[] gzip = gzip(json);
+			HashCode hash = Hashing.sha256().hashBytes(json);
+			String etag = '"' + hash.toString() + '"';
+			return new PriceSnapshot(prices, json, gzip, etag, hash.asLong());
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Compute the prices which are new or changed in this snapshot compared
+	 * to an older snapshot
+	 *
+	 * @param old older snapshot
+	 * @return changed prices
+	 */
+	ItemPrice[] changesSince(PriceSnapshot old)
+	{
+		Map<Integer, ItemPrice> oldPrices = new HashMap<>(old.prices.length);
+		for (ItemPrice itemPrice : old.prices)
+		{
+			oldPrices.put(itemPrice.getId(), itemPrice);
+		}
+
+		List<ItemPrice> changes = new ArrayList<>();
+		for (ItemPrice itemPrice : prices)
+		{
+			ItemPrice oldPrice = oldPrices.get(itemPrice.getId());
+			if (oldPrice == null
+				|| oldPrice.getPrice() != itemPrice.getPrice()
+				|| !Objects.equals(oldPrice.getTime(), itemPrice.getTime()))
+			{
+				changes.add(itemPrice);
+			}
+		}
+
+		return changes.toArray(new ItemPrice[0]);
+	}
+
+	/**
+	 * Compute the ids of the items which had a price in an older snapshot
+	 * but no longer have one in this snapshot
+	 *
+	 * @param old older snapshot
+	 * @return removed item ids
+	 */
+	int[] removedSince(PriceSnapshot old)
+	{
+		Set<Integer> ids = new HashSet<>(prices.length);
+		for (ItemPrice itemPrice : prices)
+		{
+			ids.add(itemPrice.getId());
+		}
+
+		return Arrays.stream(old.prices)
+			.mapToInt(ItemPrice::getId)
+			.filter(id -> !ids.contains(id))
+			.toArray();
+	}
+
+	private static byte[] gzip(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream(data.length / 4);
+		try (GZIPOutputStream out = new GZIPOutputStream(bout))
+		{
+			out.write(data);
+		}
+		return bout.toByteArray();
+	}
+}
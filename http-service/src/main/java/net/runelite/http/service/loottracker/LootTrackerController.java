@@ -31,6 +31,7 @@ import java.util.Collection;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import net.runelite.http.api.loottracker.LootRecord;
+import net.runelite.http.api.loottracker.LootTrackerClient;
 import net.runelite.http.service.account.AuthFilter;
 import net.runelite.http.service.account.beans.SessionEntry;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -66,6 +67,26 @@ public class LootTrackerController
 		response.setStatus(HttpStatusCodes.STATUS_CODE_OK);
 	}
 
+	@RequestMapping(path = "/batch", method = RequestMethod.POST)
+	public void storeLootRecords(HttpServletRequest request, HttpServletResponse response, @RequestBody Collection<LootRecord> records) throws IOException
+	{
+		SessionEntry e = auth.handle(request, response);
+		if (e == null)
+		{
+			response.setStatus(HttpStatusCodes.STATUS_CODE_UNAUTHORIZED);
+			return;
+		}
+
+		if (records.size() > LootTrackerClient.MAX_BATCH_SIZE)
+		{
+			response.setStatus(HttpStatusCodes.STATUS_CODE_BAD_REQUEST);
+			return;
+		}
+
+		service.store(records, e.getUser());
+		response.setStatus(HttpStatusCodes.STATUS_CODE_OK);
+	}
+
 	@GetMapping
 	public Collection<LootRecord> getLootRecords(HttpServletRequest request, HttpServletResponse response, @RequestParam(value = "count", defaultValue = "1024") int count, @RequestParam(value = "start", defaultValue = "0") int start) throws IOException
 	{
@@ -27,6 +27,7 @@ package net.runelite.http.service.loottracker;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import net.runelite.http.api.loottracker.GameItem;
 import net.runelite.http.api.loottracker.LootRecord;
@@ -64,7 +65,7 @@ public class LootTrackerService
 
 	// Queries for inserting kills
 	private static final String INSERT_KILL_QUERY = "INSERT INTO kills (accountId, type, eventId) VALUES (:accountId, :type, :eventId)";
-	private static final String INSERT_DROP_QUERY = "INSERT INTO drops (killId, itemId, itemQuantity) VALUES (LAST_INSERT_ID(), :itemId, :itemQuantity)";
+	private static final String INSERT_DROP_QUERY = "INSERT INTO drops (killId, itemId, itemQuantity) VALUES (:killId, :itemId, :itemQuantity)";
 
 	private static final String SELECT_LOOT_QUERY = "SELECT killId,time,type,eventId,itemId,itemQuantity FROM kills JOIN drops ON drops.killId = kills.id WHERE accountId = :accountId ORDER BY TIME DESC LIMIT :limit OFFSET :offset";
 
@@ -94,24 +95,60 @@ public class LootTrackerService
 	 */
 	public void store(LootRecord record, int accountId)
 	{
+		store(Collections.singletonList(record), accountId);
+	}
+
+	/**
+	 * Store a batch of LootRecords in a single transaction
+	 *
+	 * @param records   LootRecords to store
+	 * @param accountId runelite account id to tie data too
+	 */
+	public void store(Collection<LootRecord> records, int accountId)
+	{
+		if (records.isEmpty())
+		{
+			return;
+		}
+
 		try (Connection con = sql2o.beginTransaction())
 		{
 			// Kill Entry Query
-			con.createQuery(INSERT_KILL_QUERY, true)
-				.addParameter("accountId", accountId)
-				.addParameter("type", record.getType())
-				.addParameter("eventId", record.getEventId())
-				.executeUpdate();
+			Query killQuery = con.createQuery(INSERT_KILL_QUERY, true);
+
+			for (LootRecord record : records)
+			{
+				killQuery
+					.addParameter("accountId", accountId)
+					.addParameter("type", record.getType())
+					.addParameter("eventId", record.getEventId())
+					.addToBatch();
+			}
+
+			killQuery.executeBatch();
+
+			Object[] keys = con.getKeys();
+			if (keys.length != records.size())
+			{
+				throw new RuntimeException("Mismatch in keys vs records size");
+			}
 
 			Query insertDrop = con.createQuery(INSERT_DROP_QUERY);
 
 			// Append all queries for inserting drops
-			for (GameItem drop : record.getDrops())
+			int idx = 0;
+			for (LootRecord record : records)
 			{
-				insertDrop
-					.addParameter("itemId", drop.getId())
-					.addParameter("itemQuantity", drop.getQty())
-					.addToBatch();
+				for (GameItem drop : record.getDrops())
+				{
+					insertDrop
+						.addParameter("killId", keys[idx])
+						.addParameter("itemId", drop.getId())
+						.addParameter("itemQuantity", drop.getQty())
+						.addToBatch();
+				}
+
+				++idx;
 			}
 
 			insertDrop.executeBatch();
@@ -26,6 +26,7 @@ package net.runelite.http.service.xp;
 
 import java.time.Instant;
 import net.runelite.http.api.xp.XpData;
+import net.runelite.http.service.xp.beans.XpCrawlerStats;
 import net.runelite.http.service.xp.beans.XpEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -46,6 +47,12 @@ public class XpTrackerController
 		xpTrackerService.tryUpdate(username);
 	}
 
+	@GetMapping("/stats")
+	public XpCrawlerStats stats()
+	{
+		return xpTrackerService.getStats();
+	}
+
 	@GetMapping("/get")
 	public XpData get(@RequestParam String username, @RequestParam(required = false) Instant time)
 	{
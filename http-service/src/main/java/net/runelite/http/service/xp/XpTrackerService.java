@@ -26,24 +26,37 @@ package net.runelite.http.service.xp;
 
 import com.google.common.hash.BloomFilter;
 import com.google.common.hash.Funnels;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.nio.charset.Charset;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.http.api.hiscore.HiscoreEndpoint;
 import net.runelite.http.api.hiscore.HiscoreResult;
 import net.runelite.http.api.xp.XpData;
 import net.runelite.http.service.hiscore.HiscoreService;
 import net.runelite.http.service.xp.beans.PlayerEntity;
+import net.runelite.http.service.xp.beans.XpCrawlerStats;
 import net.runelite.http.service.xp.beans.XpEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
 
 @Service
@@ -51,17 +64,74 @@ import org.sql2o.Sql2o;
 public class XpTrackerService
 {
 	private static final int QUEUE_LIMIT = 32768;
+	private static final int PENDING_XP_LIMIT = 4096;
+	private static final int XP_BATCH_SIZE = 256;
 	private static final int BLOOMFILTER_EXPECTED_INSERTIONS = 100_000;
 
-	@Autowired
-	@Qualifier("Runelite XP Tracker SQL2O")
-	private Sql2o sql2o;
+	private static final String INSERT_XP_QUERY = "insert into xp (player,attack_xp,defence_xp,strength_xp,hitpoints_xp,ranged_xp,prayer_xp,magic_xp,cooking_xp,woodcutting_xp,"
+		+ "fletching_xp,fishing_xp,firemaking_xp,crafting_xp,smithing_xp,mining_xp,herblore_xp,agility_xp,thieving_xp,slayer_xp,farming_xp,"
+		+ "runecraft_xp,hunter_xp,construction_xp,attack_rank,defence_rank,strength_rank,hitpoints_rank,ranged_rank,prayer_rank,magic_rank,"
+		+ "cooking_rank,woodcutting_rank,fletching_rank,fishing_rank,firemaking_rank,crafting_rank,smithing_rank,mining_rank,herblore_rank,"
+		+ "agility_rank,thieving_rank,slayer_rank,farming_rank,runecraft_rank,hunter_rank,construction_rank,overall_rank) values (:player,:attack_xp,:defence_xp,"
+		+ ":strength_xp,:hitpoints_xp,:ranged_xp,:prayer_xp,:magic_xp,:cooking_xp,:woodcutting_xp,:fletching_xp,:fishing_xp,:firemaking_xp,"
+		+ ":crafting_xp,:smithing_xp,:mining_xp,:herblore_xp,:agility_xp,:thieving_xp,:slayer_xp,:farming_xp,:runecraft_xp,:hunter_xp,"
+		+ ":construction_xp,:attack_rank,:defence_rank,:strength_rank,:hitpoints_rank,:ranged_rank,:prayer_rank,:magic_rank,:cooking_rank,"
+		+ ":woodcutting_rank,:fletching_rank,:fishing_rank,:firemaking_rank,:crafting_rank,:smithing_rank,:mining_rank,:herblore_rank,"
+		+ ":agility_rank,:thieving_rank,:slayer_rank,:farming_rank,:runecraft_rank,:hunter_rank,:construction_rank,:overall_rank)";
+	private static final String UPDATE_PLAYER_QUERY = "update player set rank = :rank, last_updated = CURRENT_TIMESTAMP where id = :id";
 
-	@Autowired
-	private HiscoreService hiscoreService;
+	private final Sql2o sql2o;
+	private final HiscoreService hiscoreService;
+	private final int workers;
+	private final double rate;
 
-	private final Queue<String> usernameUpdateQueue = new ArrayDeque<>();
+	private final PriorityBlockingQueue<PendingUpdate> usernameUpdateQueue = new PriorityBlockingQueue<>();
+	private final ConcurrentLinkedQueue<PendingXp> pendingXp = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingXpSize = new AtomicInteger();
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong updated = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong lastLag = new AtomicLong();
+	private final AtomicLong maxLag = new AtomicLong();
+	private final RateLimiter rateLimiter;
 	private BloomFilter<String> usernameFilter = createFilter();
+	private ExecutorService executor;
+
+	@Autowired
+	public XpTrackerService(
+		@Qualifier("Runelite XP Tracker SQL2O") Sql2o sql2o,
+		HiscoreService hiscoreService,
+		@Value("${runelite.xptracker.workers:4}") int workers,
+		@Value("${runelite.xptracker.rate:4}") double rate
+	)
+	{
+		this.sql2o = sql2o;
+		this.hiscoreService = hiscoreService;
+		this.workers = workers;
+		this.rate = rate;
+		this.rateLimiter = RateLimiter.create(rate);
+	}
+
+	@PostConstruct
+	public void start()
+	{
+		executor = Executors.newFixedThreadPool(workers, new ThreadFactoryBuilder()
+			.setNameFormat("xptracker-%d")
+			.setDaemon(true)
+			.build());
+
+		for (int i = 0; i < workers; ++i)
+		{
+			executor.submit(this::crawl);
+		}
+	}
+
+	@PreDestroy
+	public void stop()
+	{
+		executor.shutdownNow();
+		flushXp();
+	}
 
 	public void update(String username) throws ExecutionException
 	{
@@ -89,108 +159,207 @@ public class XpTrackerService
 				return;
 			}
 
-			synchronized (usernameUpdateQueue)
+			if (!queue(username, frequency.toMinutes()))
 			{
-				if (usernameUpdateQueue.size() >= QUEUE_LIMIT)
-				{
-					log.warn("Username update queue is full ({})", QUEUE_LIMIT);
-					return;
-				}
-
-				usernameUpdateQueue.add(username);
+				return;
 			}
 		}
 
 		usernameFilter.put(username);
 	}
 
+	boolean queue(String username, long priority)
+	{
+		if (usernameUpdateQueue.size() >= QUEUE_LIMIT)
+		{
+			log.warn("Username update queue is full ({})", QUEUE_LIMIT);
+			return false;
+		}
+
+		usernameUpdateQueue.add(new PendingUpdate(username, priority, sequence.getAndIncrement(), Instant.now()));
+		return true;
+	}
+
+	/**
+	 * Queue a hiscore result to be written to the xp tracker with the next batch
+	 *
+	 * @param username
+	 * @param hiscoreResult
+	 */
 	public void update(String username, HiscoreResult hiscoreResult)
 	{
-		try (Connection con = sql2o.open())
+		if (hiscoreResult == null)
 		{
-			PlayerEntity playerEntity = findOrCreatePlayer(con, username);
+			return;
+		}
+
+		if (pendingXpSize.get() >= PENDING_XP_LIMIT)
+		{
+			log.warn("Pending xp queue is full ({})", PENDING_XP_LIMIT);
+			return;
+		}
+
+		pendingXp.add(new PendingXp(username, hiscoreResult));
+		pendingXpSize.incrementAndGet();
+	}
 
+	/**
+	 * Worker loop which takes players off of the update queue in priority order
+	 * and looks up their hiscores, limited to the configured request rate
+	 * across all workers.
+	 */
+	private void crawl()
+	{
+		while (!Thread.currentThread().isInterrupted())
+		{
+			PendingUpdate next;
+			try
+			{
+				next = usernameUpdateQueue.take();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			rateLimiter.acquire();
+
+			try
+			{
+				update(next.getUsername());
+				updated.incrementAndGet();
+			}
+			catch (ExecutionException | RuntimeException e)
+			{
+				log.debug("Unable to look up hiscore for {}", next.getUsername(), e);
+				failed.incrementAndGet();
+			}
+
+			long lag = Duration.between(next.getQueued(), Instant.now()).toMillis();
+			lastLag.set(lag);
+			maxLag.accumulateAndGet(lag, Math::max);
+		}
+	}
+
+	@Scheduled(fixedDelay = 1000)
+	public void flushXp()
+	{
+		// keep only the newest result for each player, the queue is in the order results were fetched
+		Map<String, PendingXp> batch = new LinkedHashMap<>();
+		PendingXp next;
+		for (int polled = 0; polled < XP_BATCH_SIZE && (next = pendingXp.poll()) != null; ++polled)
+		{
+			pendingXpSize.decrementAndGet();
+			batch.put(next.getUsername(), next);
+		}
+
+		if (batch.isEmpty())
+		{
+			return;
+		}
+
+		try (Connection con = sql2o.beginTransaction())
+		{
+			Query insertXp = con.createQuery(INSERT_XP_QUERY);
+			Query updatePlayer = con.createQuery(UPDATE_PLAYER_QUERY);
 			Instant now = Instant.now();
-			XpEntity currentXp = findXpAtTime(con, username, now);
-			if (currentXp != null)
+			int count = 0;
+
+			for (PendingXp xp : batch.values())
 			{
-				XpData hiscoreData = XpMapper.INSTANCE.hiscoreResultToXpData(hiscoreResult);
-				XpData existingData = XpMapper.INSTANCE.xpEntityToXpData(currentXp);
+				String username = xp.getUsername();
+				HiscoreResult hiscoreResult = xp.getHiscoreResult();
+				PlayerEntity playerEntity = findOrCreatePlayer(con, username);
 
-				if (hiscoreData.equals(existingData))
+				XpEntity currentXp = findXpAtTime(con, username, now);
+				if (currentXp != null)
 				{
-					log.debug("Hiscore for {} already up to date", username);
-					return;
+					XpData hiscoreData = XpMapper.INSTANCE.hiscoreResultToXpData(hiscoreResult);
+					XpData existingData = XpMapper.INSTANCE.xpEntityToXpData(currentXp);
+
+					if (hiscoreData.equals(existingData))
+					{
+						log.debug("Hiscore for {} already up to date", username);
+						continue;
+					}
 				}
+
+				addXpParameters(insertXp, playerEntity, hiscoreResult)
+					.addToBatch();
+
+				updatePlayer
+					.addParameter("id", playerEntity.getId())
+					.addParameter("rank", hiscoreResult.getOverall().getRank())
+					.addToBatch();
+
+				++count;
 			}
 
-			con.createQuery("insert into xp (player,attack_xp,defence_xp,strength_xp,hitpoints_xp,ranged_xp,prayer_xp,magic_xp,cooking_xp,woodcutting_xp,"
-				+ "fletching_xp,fishing_xp,firemaking_xp,crafting_xp,smithing_xp,mining_xp,herblore_xp,agility_xp,thieving_xp,slayer_xp,farming_xp,"
-				+ "runecraft_xp,hunter_xp,construction_xp,attack_rank,defence_rank,strength_rank,hitpoints_rank,ranged_rank,prayer_rank,magic_rank,"
-				+ "cooking_rank,woodcutting_rank,fletching_rank,fishing_rank,firemaking_rank,crafting_rank,smithing_rank,mining_rank,herblore_rank,"
-				+ "agility_rank,thieving_rank,slayer_rank,farming_rank,runecraft_rank,hunter_rank,construction_rank,overall_rank) values (:player,:attack_xp,:defence_xp,"
-				+ ":strength_xp,:hitpoints_xp,:ranged_xp,:prayer_xp,:magic_xp,:cooking_xp,:woodcutting_xp,:fletching_xp,:fishing_xp,:firemaking_xp,"
-				+ ":crafting_xp,:smithing_xp,:mining_xp,:herblore_xp,:agility_xp,:thieving_xp,:slayer_xp,:farming_xp,:runecraft_xp,:hunter_xp,"
-				+ ":construction_xp,:attack_rank,:defence_rank,:strength_rank,:hitpoints_rank,:ranged_rank,:prayer_rank,:magic_rank,:cooking_rank,"
-				+ ":woodcutting_rank,:fletching_rank,:fishing_rank,:firemaking_rank,:crafting_rank,:smithing_rank,:mining_rank,:herblore_rank,"
-				+ ":agility_rank,:thieving_rank,:slayer_rank,:farming_rank,:runecraft_rank,:hunter_rank,:construction_rank,:overall_rank)")
-				.addParameter("player", playerEntity.getId())
-				.addParameter("attack_xp", hiscoreResult.getAttack().getExperience())
-				.addParameter("defence_xp", hiscoreResult.getDefence().getExperience())
-				.addParameter("strength_xp", hiscoreResult.getStrength().getExperience())
-				.addParameter("hitpoints_xp", hiscoreResult.getHitpoints().getExperience())
-				.addParameter("ranged_xp", hiscoreResult.getRanged().getExperience())
-				.addParameter("prayer_xp", hiscoreResult.getPrayer().getExperience())
-				.addParameter("magic_xp", hiscoreResult.getMagic().getExperience())
-				.addParameter("cooking_xp", hiscoreResult.getCooking().getExperience())
-				.addParameter("woodcutting_xp", hiscoreResult.getWoodcutting().getExperience())
-				.addParameter("fletching_xp", hiscoreResult.getFletching().getExperience())
-				.addParameter("fishing_xp", hiscoreResult.getFishing().getExperience())
-				.addParameter("firemaking_xp", hiscoreResult.getFiremaking().getExperience())
-				.addParameter("crafting_xp", hiscoreResult.getCrafting().getExperience())
-				.addParameter("smithing_xp", hiscoreResult.getSmithing().getExperience())
-				.addParameter("mining_xp", hiscoreResult.getMining().getExperience())
-				.addParameter("herblore_xp", hiscoreResult.getHerblore().getExperience())
-				.addParameter("agility_xp", hiscoreResult.getAgility().getExperience())
-				.addParameter("thieving_xp", hiscoreResult.getThieving().getExperience())
-				.addParameter("slayer_xp", hiscoreResult.getSlayer().getExperience())
-				.addParameter("farming_xp", hiscoreResult.getFarming().getExperience())
-				.addParameter("runecraft_xp", hiscoreResult.getRunecraft().getExperience())
-				.addParameter("hunter_xp", hiscoreResult.getHunter().getExperience())
-				.addParameter("construction_xp", hiscoreResult.getConstruction().getExperience())
-				.addParameter("attack_rank", hiscoreResult.getAttack().getRank())
-				.addParameter("defence_rank", hiscoreResult.getDefence().getRank())
-				.addParameter("strength_rank", hiscoreResult.getStrength().getRank())
-				.addParameter("hitpoints_rank", hiscoreResult.getHitpoints().getRank())
-				.addParameter("ranged_rank", hiscoreResult.getRanged().getRank())
-				.addParameter("prayer_rank", hiscoreResult.getPrayer().getRank())
-				.addParameter("magic_rank", hiscoreResult.getMagic().getRank())
-				.addParameter("cooking_rank", hiscoreResult.getCooking().getRank())
-				.addParameter("woodcutting_rank", hiscoreResult.getWoodcutting().getRank())
-				.addParameter("fletching_rank", hiscoreResult.getFletching().getRank())
-				.addParameter("fishing_rank", hiscoreResult.getFishing().getRank())
-				.addParameter("firemaking_rank", hiscoreResult.getFiremaking().getRank())
-				.addParameter("crafting_rank", hiscoreResult.getCrafting().getRank())
-				.addParameter("smithing_rank", hiscoreResult.getSmithing().getRank())
-				.addParameter("mining_rank", hiscoreResult.getMining().getRank())
-				.addParameter("herblore_rank", hiscoreResult.getHerblore().getRank())
-				.addParameter("agility_rank", hiscoreResult.getAgility().getRank())
-				.addParameter("thieving_rank", hiscoreResult.getThieving().getRank())
-				.addParameter("slayer_rank", hiscoreResult.getSlayer().getRank())
-				.addParameter("farming_rank", hiscoreResult.getFarming().getRank())
-				.addParameter("runecraft_rank", hiscoreResult.getRunecraft().getRank())
-				.addParameter("hunter_rank", hiscoreResult.getHunter().getRank())
-				.addParameter("construction_rank", hiscoreResult.getConstruction().getRank())
-				.addParameter("overall_rank", hiscoreResult.getOverall().getRank())
-				.executeUpdate();
-
-			con.createQuery("update player set rank = :rank, last_updated = CURRENT_TIMESTAMP where id = :id")
-				.addParameter("id", playerEntity.getId())
-				.addParameter("rank", hiscoreResult.getOverall().getRank())
-				.executeUpdate();
+			if (count > 0)
+			{
+				insertXp.executeBatch();
+				updatePlayer.executeBatch();
+			}
+
+			con.commit(false);
+			log.debug("Stored {} xp updates", count);
 		}
 	}
 
+	private static Query addXpParameters(Query query, PlayerEntity playerEntity, HiscoreResult hiscoreResult)
+	{
+		return query
+			.addParameter("player", playerEntity.getId())
+			.addParameter("attack_xp", hiscoreResult.getAttack().getExperience())
+			.addParameter("defence_xp", hiscoreResult.getDefence().getExperience())
+			.addParameter("strength_xp", hiscoreResult.getStrength().getExperience())
+			.addParameter("hitpoints_xp", hiscoreResult.getHitpoints().getExperience())
+			.addParameter("ranged_xp", hiscoreResult.getRanged().getExperience())
+			.addParameter("prayer_xp", hiscoreResult.getPrayer().getExperience())
+			.addParameter("magic_xp", hiscoreResult.getMagic().getExperience())
+			.addParameter("cooking_xp", hiscoreResult.getCooking().getExperience())
+			.addParameter("woodcutting_xp", hiscoreResult.getWoodcutting().getExperience())
+			.addParameter("fletching_xp", hiscoreResult.getFletching().getExperience())
+			.addParameter("fishing_xp", hiscoreResult.getFishing().getExperience())
+			.addParameter("firemaking_xp", hiscoreResult.getFiremaking().getExperience())
+			.addParameter("crafting_xp", hiscoreResult.getCrafting().getExperience())
+			.addParameter("smithing_xp", hiscoreResult.getSmithing().getExperience())
+			.addParameter("mining_xp", hiscoreResult.getMining().getExperience())
+			.addParameter("herblore_xp", hiscoreResult.getHerblore().getExperience())
+			.addParameter("agility_xp", hiscoreResult.getAgility().getExperience())
+			.addParameter("thieving_xp", hiscoreResult.getThieving().getExperience())
+			.addParameter("slayer_xp", hiscoreResult.getSlayer().getExperience())
+			.addParameter("farming_xp", hiscoreResult.getFarming().getExperience())
+			.addParameter("runecraft_xp", hiscoreResult.getRunecraft().getExperience())
+			.addParameter("hunter_xp", hiscoreResult.getHunter().getExperience())
+			.addParameter("construction_xp", hiscoreResult.getConstruction().getExperience())
+			.addParameter("attack_rank", hiscoreResult.getAttack().getRank())
+			.addParameter("defence_rank", hiscoreResult.getDefence().getRank())
+			.addParameter("strength_rank", hiscoreResult.getStrength().getRank())
+			.addParameter("hitpoints_rank", hiscoreResult.getHitpoints().getRank())
+			.addParameter("ranged_rank", hiscoreResult.getRanged().getRank())
+			.addParameter("prayer_rank", hiscoreResult.getPrayer().getRank())
+			.addParameter("magic_rank", hiscoreResult.getMagic().getRank())
+			.addParameter("cooking_rank", hiscoreResult.getCooking().getRank())
+			.addParameter("woodcutting_rank", hiscoreResult.getWoodcutting().getRank())
+			.addParameter("fletching_rank", hiscoreResult.getFletching().getRank())
+			.addParameter("fishing_rank", hiscoreResult.getFishing().getRank())
+			.addParameter("firemaking_rank", hiscoreResult.getFiremaking().getRank())
+			.addParameter("crafting_rank", hiscoreResult.getCrafting().getRank())
+			.addParameter("smithing_rank", hiscoreResult.getSmithing().getRank())
+			.addParameter("mining_rank", hiscoreResult.getMining().getRank())
+			.addParameter("herblore_rank", hiscoreResult.getHerblore().getRank())
+			.addParameter("agility_rank", hiscoreResult.getAgility().getRank())
+			.addParameter("thieving_rank", hiscoreResult.getThieving().getRank())
+			.addParameter("slayer_rank", hiscoreResult.getSlayer().getRank())
+			.addParameter("farming_rank", hiscoreResult.getFarming().getRank())
+			.addParameter("runecraft_rank", hiscoreResult.getRunecraft().getRank())
+			.addParameter("hunter_rank", hiscoreResult.getHunter().getRank())
+			.addParameter("construction_rank", hiscoreResult.getConstruction().getRank())
+			.addParameter("overall_rank", hiscoreResult.getOverall().getRank());
+	}
+
 	private synchronized PlayerEntity findOrCreatePlayer(Connection con, String username)
 	{
 		PlayerEntity playerEntity = con.createQuery("select * from player where name = :name")
@@ -234,21 +403,18 @@ public class XpTrackerService
 		}
 	}
 
-	@Scheduled(fixedDelay = 1000)
-	public void update() throws ExecutionException
+	public XpCrawlerStats getStats()
 	{
-		String next;
-		synchronized (usernameUpdateQueue)
-		{
-			next = usernameUpdateQueue.poll();
-		}
-
-		if (next == null)
-		{
-			return;
-		}
-
-		update(next);
+		XpCrawlerStats stats = new XpCrawlerStats();
+		stats.setWorkers(workers);
+		stats.setRate(rate);
+		stats.setQueueSize(usernameUpdateQueue.size());
+		stats.setPendingXpSize(pendingXpSize.get());
+		stats.setUpdated(updated.get());
+		stats.setFailed(failed.get());
+		stats.setLastLagMillis(lastLag.get());
+		stats.setMaxLagMillis(maxLag.getAndSet(lastLag.get()));
+		return stats;
 	}
 
 	@Scheduled(fixedDelay = 6 * 60 * 60 * 1000) // 6 hours
@@ -264,12 +430,9 @@ public class XpTrackerService
 			BLOOMFILTER_EXPECTED_INSERTIONS
 		);
 
-		synchronized (usernameUpdateQueue)
+		for (PendingUpdate toUpdate : usernameUpdateQueue)
 		{
-			for (String toUpdate : usernameUpdateQueue)
-			{
-				filter.put(toUpdate);
-			}
+			filter.put(toUpdate.getUsername());
 		}
 
 		return filter;
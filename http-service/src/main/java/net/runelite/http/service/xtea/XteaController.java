@@ -24,12 +24,17 @@
  */
 package net.runelite.http.service.xtea;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import net.runelite.cache.util.XteaKeyStore;
 import net.runelite.http.api.xtea.XteaKey;
 import net.runelite.http.api.xtea.XteaRequest;
 import net.runelite.http.service.util.exception.NotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -58,6 +63,29 @@ public class XteaController
 			.collect(Collectors.toList());
 	}
 
+	/**
+	 * The latest keys in the binary {@link XteaKeyStore} format, for merging into an offline key store
+	 */
+	@GetMapping("/keystore")
+	public ResponseEntity<byte[]> getKeyStore()
+	{
+		Map<Integer, int[]> keys = new HashMap<>();
+		for (XteaEntry xe : xteaService.get())
+		{
+			keys.put(xe.getRegion(), new int[]
+			{
+				xe.getKey1(),
+				xe.getKey2(),
+				xe.getKey3(),
+				xe.getKey4()
+			});
+		}
+
+		return ResponseEntity.ok()
+			.contentType(MediaType.APPLICATION_OCTET_STREAM)
+			.body(XteaKeyStore.encode(keys));
+	}
+
 	@GetMapping("/{region}")
 	public XteaKey getRegion(@PathVariable int region)
 	{
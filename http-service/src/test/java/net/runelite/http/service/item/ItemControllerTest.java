@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceDelta;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(ItemController.class)
+@Slf4j
+@ActiveProfiles("test")
+public class ItemControllerTest
+{
+	private static final int ITEM_COUNT = 20_000;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@MockBean
+	private ItemService itemService;
+
+	@Before
+	public void before()
+	{
+		List<PriceEntry> prices = new ArrayList<>();
+		Instant now = Instant.now();
+		for (int i = 0; i < ITEM_COUNT; ++i)
+		{
+			PriceEntry priceEntry = new PriceEntry();
+			priceEntry.setItem(i);
+			priceEntry.setName("Item " + i);
+			priceEntry.setPrice(i * 10);
+			priceEntry.setTime(now);
+			priceEntry.setFetched_time(now);
+			prices.add(priceEntry);
+		}
+
+		when(itemService.fetchPrices()).thenReturn(prices);
+	}
+
+	@Test
+	public void testPrices() throws Exception
+	{
+		MvcResult result = mockMvc.perform(get("/item/prices"))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+		byte[] json = result.getResponse().getContentAsByteArray();
+
+		ItemPrice[] prices = objectMapper.readValue(json, ItemPrice[].class);
+		assertEquals(ITEM_COUNT, prices.length);
+
+		result = mockMvc.perform(get("/item/prices").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+			.andExpect(header().string(HttpHeaders.ETAG, etag))
+			.andReturn();
+
+		byte[] gzip = result.getResponse().getContentAsByteArray();
+		assertArrayEquals(json, ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(gzip))));
+
+		mockMvc.perform(get("/item/prices").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+
+		mockMvc.perform(get("/item/prices").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+			.andExpect(status().isNotModified());
+
+		mockMvc.perform(get("/item/prices").header(HttpHeaders.IF_NONE_MATCH, "\"" + etag + "\""))
+			.andExpect(status().isOk());
+
+		// the snapshot is only built once
+		verify(itemService, atMost(1)).fetchPrices();
+	}
+
+	@Test
+	public void testEtagMatches()
+	{
+		assertTrue(ItemController.etagMatches("\"a\"", "\"a\""));
+		assertTrue(ItemController.etagMatches("W/\"a\"", "\"a\""));
+		assertTrue(ItemController.etagMatches("\"b\" , \"a\"", "\"a\""));
+		assertTrue(ItemController.etagMatches("*", "\"a\""));
+		assertFalse(ItemController.etagMatches("\"ab\"", "\"a\""));
+		assertFalse(ItemController.etagMatches("\"x\"a\"\"", "\"a\""));
+	}
+
+	@Test
+	public void testPriceChanges() throws Exception
+	{
+		MvcResult result = mockMvc.perform(get("/item/prices"))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		String version = result.getResponse().getHeader("RuneLite-Price-Version");
+
+		result = mockMvc.perform(get("/item/prices/changes").param("since", version))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		ItemPriceDelta delta = objectMapper.readValue(result.getResponse().getContentAsByteArray(), ItemPriceDelta.class);
+		assertEquals(Long.parseLong(version), delta.getVersion());
+		assertEquals(0, delta.getPrices().length);
+		assertEquals(0, delta.getRemoved().length);
+
+		mockMvc.perform(get("/item/prices/changes").param("since", "42"))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void testChangesSince()
+	{
+		ItemPrice[] oldPrices = new ItemPrice[]{itemPrice(1, 100), itemPrice(2, 200), itemPrice(4, 400)};
+		ItemPrice[] newPrices = new ItemPrice[]{itemPrice(1, 100), itemPrice(2, 250), itemPrice(3, 300)};
+
+		PriceSnapshot oldSnapshot = PriceSnapshot.encode(objectMapper, oldPrices);
+		PriceSnapshot newSnapshot = PriceSnapshot.encode(objectMapper, newPrices);
+
+		ItemPrice[] changes = newSnapshot.changesSince(oldSnapshot);
+		assertArrayEquals(new ItemPrice[]{newPrices[1], newPrices[2]}, changes);
+		assertArrayEquals(new int[]{4}, newSnapshot.removedSince(oldSnapshot));
+	}
+
+	private static ItemPrice itemPrice(int id, int price)
+	{
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setId(id);
+		itemPrice.setName("Item " + id);
+		itemPrice.setPrice(price);
+		return itemPrice;
+	}
+
+	@Test
+	@Ignore
+	public void benchmarkPrices() throws Exception
+	{
+		ItemPrice[] prices = objectMapper.readValue(mockMvc.perform(get("/item/prices"))
+			.andReturn().getResponse().getContentAsByteArray(), ItemPrice[].class);
+
+		final int requests = 1000;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; ++i)
+		{
+			// what the endpoint used to do for every request
+			objectMapper.writeValueAsBytes(prices);
+		}
+		long time = System.nanoTime() - start;
+		log.info("Serializing per request: {} requests/s", requests * 1_000_000_000L / time);
+
+		start = System.nanoTime();
+		for (int i = 0; i < requests; ++i)
+		{
+			mockMvc.perform(get("/item/prices").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+		}
+		time = System.nanoTime() - start;
+		log.info("Pre-encoded snapshot: {} requests/s", requests * 1_000_000_000L / time);
+	}
+}
@@ -26,7 +26,9 @@ package net.runelite.http.service.loottracker;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -91,4 +93,21 @@ public class LootTrackerControllerTest
 
 		verify(lootTrackerService).store(eq(lootRecord), anyInt());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void storeLootRecords() throws Exception
+	{
+		LootRecord lootRecord = new LootRecord();
+		lootRecord.setType(LootRecordType.NPC);
+		lootRecord.setTime(Instant.now());
+		lootRecord.setDrops(Collections.singletonList(new GameItem(4151, 1)));
+
+		List<LootRecord> lootRecords = Arrays.asList(lootRecord, lootRecord);
+
+		String data = RuneLiteAPI.GSON.toJson(lootRecords);
+		mockMvc.perform(post("/loottracker/batch").content(data).contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk());
+
+		verify(lootTrackerService).store(eq(lootRecords), anyInt());
+	}
+}
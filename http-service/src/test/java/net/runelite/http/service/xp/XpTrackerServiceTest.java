@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.xp;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import net.runelite.http.api.hiscore.HiscoreClient;
+import net.runelite.http.api.hiscore.HiscoreEndpoint;
+import net.runelite.http.api.hiscore.HiscoreResult;
+import net.runelite.http.service.hiscore.HiscoreService;
+import net.runelite.http.service.xp.beans.PlayerEntity;
+import net.runelite.http.service.xp.beans.XpCrawlerStats;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.sql2o.Connection;
+import org.sql2o.Query;
+import org.sql2o.Sql2o;
+
+public class XpTrackerServiceTest
+{
+	private static final String RESPONSE = "654683,705,1304518\n"
+			+ "679419,50,107181\n"
+			+ "550667,48,85764\n"
+			+ "861497,50,101366\n"
+			+ "891591,48,87843\n"
+			+ "-1,1,4\n"
+			+ "840255,27,10073\n"
+			+ "1371912,10,1310\n"
+			+ "432193,56,199795\n"
+			+ "495638,56,198304\n"
+			+ "514466,37,27502\n"
+			+ "456981,54,159727\n"
+			+ "459159,49,93010\n"
+			+ "1028855,8,823\n"
+			+ "862906,29,12749\n"
+			+ "795020,31,16097\n"
+			+ "673591,5,495\n"
+			+ "352676,51,112259\n"
+			+ "428419,40,37235\n"
+			+ "461887,43,51971\n"
+			+ "598582,1,10\n"
+			+ "638177,1,0\n"
+			+ "516239,9,1000\n"
+			+ "492790,1,0\n"
+			+ "-1,-1\n"
+			+ "73,1738\n"
+			+ "-1,-1\n"
+			+ "531,1432\n"
+			+ "324,212\n"
+			+ "8008,131\n"
+			+ "1337,911\n"
+			+ "42,14113\n"
+			+ "1,777\n"
+			+ "254,92\n";
+
+	private final MockWebServer server = new MockWebServer();
+	private XpTrackerService xpTrackerService;
+
+	@Before
+	public void before() throws IOException
+	{
+		for (int i = 0; i < 3; ++i)
+		{
+			server.enqueue(new MockResponse().setBody(RESPONSE));
+		}
+
+		server.start();
+
+		HiscoreService hiscoreService = new HiscoreService()
+		{
+			private final HiscoreClient hiscoreClient = new HiscoreClient();
+
+			@Override
+			public HiscoreResult lookupUsername(String username, HiscoreEndpoint endpoint) throws ExecutionException
+			{
+				try
+				{
+					return hiscoreClient.lookup(username, server.url("/"));
+				}
+				catch (IOException ex)
+				{
+					throw new ExecutionException(ex);
+				}
+			}
+		};
+
+		// the fetched xp is written on stop, queries are chained so return the query itself
+		Query query = mock(Query.class, invocation -> invocation.getMethod().getReturnType() == Query.class
+			? invocation.getMock()
+			: RETURNS_DEFAULTS.answer(invocation));
+		when(query.executeAndFetchFirst(PlayerEntity.class)).thenReturn(new PlayerEntity());
+
+		Connection con = mock(Connection.class);
+		when(con.createQuery(anyString())).thenReturn(query);
+
+		Sql2o sql2o = mock(Sql2o.class);
+		when(sql2o.beginTransaction()).thenReturn(con);
+
+		xpTrackerService = new XpTrackerService(sql2o, hiscoreService, 1, 100);
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		xpTrackerService.stop();
+		server.shutdown();
+	}
+
+	@Test
+	public void testPriorityOrder() throws Exception
+	{
+		xpTrackerService.queue("rank 500k", 7 * 24 * 60);
+		xpTrackerService.queue("rank 5k", 6 * 60);
+		xpTrackerService.queue("rank 20k", 2 * 24 * 60);
+		xpTrackerService.start();
+
+		assertEquals("rank 5k", server.takeRequest().getRequestUrl().queryParameter("player"));
+		assertEquals("rank 20k", server.takeRequest().getRequestUrl().queryParameter("player"));
+		assertEquals("rank 500k", server.takeRequest().getRequestUrl().queryParameter("player"));
+
+		XpCrawlerStats stats;
+		long end = System.currentTimeMillis() + 5000;
+		do
+		{
+			stats = xpTrackerService.getStats();
+		}
+		while (stats.getUpdated() < 3 && System.currentTimeMillis() < end);
+
+		assertEquals(0, stats.getQueueSize());
+		assertEquals(3, stats.getPendingXpSize());
+		assertEquals(3, stats.getUpdated());
+	}
+}
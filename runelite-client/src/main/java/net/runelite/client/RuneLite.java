@@ -53,6 +53,7 @@ import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.game.ClanManager;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.LootManager;
+import net.runelite.client.game.NavigationManager;
 import net.runelite.client.game.chatbox.ChatboxPanelManager;
 import net.runelite.client.graphics.ModelOutlineRenderer;
 import net.runelite.client.menus.MenuManager;
@@ -85,6 +86,7 @@ public class RuneLite
 	public static final File PROFILES_DIR = new File(RUNELITE_DIR, "profiles");
 	public static final File PLUGIN_DIR = new File(RUNELITE_DIR, "plugins");
 	public static final File SCREENSHOT_DIR = new File(RUNELITE_DIR, "screenshots");
+	public static final File MARKERS_DIR = new File(RUNELITE_DIR, "markers");
 	static final RuneLiteSplashScreen splashScreen = new RuneLiteSplashScreen();
 
 
@@ -160,6 +162,9 @@ public class RuneLite
 	@Inject
 	private Provider<LootManager> lootManager;
 
+	@Inject
+	private Provider<NavigationManager> navigationManager;
+
 	@Inject
 	private Provider<ChatboxPanelManager> chatboxPanelManager;
 
@@ -328,6 +333,7 @@ public class RuneLite
 			eventBus.register(chatMessageManager.get());
 			eventBus.register(commandManager.get());
 			eventBus.register(lootManager.get());
+			eventBus.register(navigationManager.get());
 			eventBus.register(chatboxPanelManager.get());
 
 			// Add core overlays
@@ -351,7 +357,6 @@ public class RuneLite
 
 	public void shutdown()
 	{
-		configManager.sendConfig();
 		clientSessionManager.shutdown();
 		discordService.close();
 
@@ -366,6 +371,9 @@ public class RuneLite
 				log.warn("Failed to gracefully close plugin", e);
 			}
 		}
+
+		// saved after the plugins are stopped, so config they write on shutdown is not lost
+		configManager.sendConfig();
 	}
 
 	@VisibleForTesting
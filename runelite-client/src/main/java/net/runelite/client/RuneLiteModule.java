@@ -44,6 +44,7 @@ import net.runelite.client.config.RuneLiteConfig;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.menus.MenuManager;
+import net.runelite.client.metrics.MetricsRegistry;
 import net.runelite.client.plugins.PluginManager;
 import net.runelite.client.rs.ClientLoader;
 import net.runelite.client.rs.ClientUpdateCheckMode;
@@ -84,9 +85,6 @@ public class RuneLiteModule extends AbstractModule
 
 		bind(Callbacks.class).to(Hooks.class);
 
-		bind(EventBus.class)
-			.toInstance(new EventBus());
-
 		bind(EventBus.class)
 			.annotatedWith(Names.named("Deferred EventBus"))
 			.to(DeferredEventBus.class);
@@ -96,6 +94,15 @@ public class RuneLiteModule extends AbstractModule
 			.toInstance(LoggerFactory.getLogger(RuneLite.class));
 	}
 
+	@Provides
+	@Singleton
+	EventBus provideEventBus(MetricsRegistry metricsRegistry)
+	{
+		final EventBus eventBus = new EventBus();
+		eventBus.setPostTimer(metricsRegistry.timer("eventBus.post"));
+		return eventBus;
+	}
+
 	@Provides
 	@Singleton
 	Applet provideApplet(ClientLoader clientLoader)
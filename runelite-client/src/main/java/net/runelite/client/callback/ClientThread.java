@@ -25,22 +25,81 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
 import javax.inject.Singleton;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.client.metrics.Counter;
+import net.runelite.client.metrics.MetricsRegistry;
+import net.runelite.client.metrics.Timer;
 
 @Singleton
 @Slf4j
 public class ClientThread
 {
-	private ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
+	/**
+	 * Time which may be spent running invokes each frame. Work left once it is used up
+	 * carries over to the next frame, except for {@link Priority#HIGH} work which always runs.
+	 */
+	private static final long FRAME_BUDGET = TimeUnit.MILLISECONDS.toNanos(4);
+	/**
+	 * Maximum number of frames an invoke which returned false waits before being run again
+	 */
+	private static final int MAX_BACKOFF = 8;
+
+	public enum Priority
+	{
+		HIGH,
+		NORMAL,
+		LOW
+	}
+
+	@RequiredArgsConstructor
+	private static class Task
+	{
+		private final BooleanSupplier supplier;
+		private final Priority priority;
+		private int retries;
+		private int wakeFrame;
+	}
+
+	private final Map<Priority, Queue<Task>> invokes = new EnumMap<>(Priority.class);
+	// tasks backing off after returning false, only accessed from the client thread
+	private final List<Task> retrying = new ArrayList<>();
+	// queued and retrying tasks, which unlike the queues themselves may be read from any thread
+	private final AtomicInteger queued = new AtomicInteger();
+	private int frame;
 
 	@Inject
 	private Client client;
 
+	private final Timer invokeTimer;
+	private final Counter invokeCounter;
+	private final Counter overBudgetCounter;
+
+	@Inject
+	private ClientThread(MetricsRegistry metricsRegistry)
+	{
+		for (Priority priority : Priority.values())
+		{
+			invokes.put(priority, new ConcurrentLinkedQueue<>());
+		}
+
+		invokeTimer = metricsRegistry.timer("clientThread.invoke");
+		invokeCounter = metricsRegistry.counter("clientThread.invokes");
+		overBudgetCounter = metricsRegistry.counter("clientThread.overBudget");
+		metricsRegistry.gauge("clientThread.queued", queued::get);
+	}
+
 	public void invoke(Runnable r)
 	{
 		invoke(() ->
@@ -55,17 +114,28 @@ public class ClientThread
 	 * If r returns false, r will be ran again, at a later point
 	 */
 	public void invoke(BooleanSupplier r)
+	{
+		invoke(r, Priority.NORMAL);
+	}
+
+	/**
+	 * Will run r on the game thread, at a unspecified point in the future.
+	 * If r returns false, r will be ran again, at a later point
+	 *
+	 * @param priority priority of r if it is not ran immediately
+	 */
+	public void invoke(BooleanSupplier r, Priority priority)
 	{
 		if (client.isClientThread())
 		{
-			if (r.getAsBoolean())
+			if (!r.getAsBoolean())
 			{
-				invokes.add(r);
+				retry(new Task(r, priority));
 			}
 			return;
 		}
 
-		invokeLater(r);
+		invokeLater(r, priority);
 	}
 
 	/**
@@ -83,33 +153,98 @@ public class ClientThread
 
 	public void invokeLater(BooleanSupplier r)
 	{
-		invokes.add(r);
+		invokeLater(r, Priority.NORMAL);
+	}
+
+	public void invokeLater(BooleanSupplier r, Priority priority)
+	{
+		queued.incrementAndGet();
+		invokes.get(priority).add(new Task(r, priority));
+	}
+
+	private void retry(Task task)
+	{
+		task.wakeFrame = frame + Math.min(1 << task.retries, MAX_BACKOFF);
+		if (1 << task.retries < MAX_BACKOFF)
+		{
+			++task.retries;
+		}
+
+		queued.incrementAndGet();
+		retrying.add(task);
 	}
 
 	void invoke()
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
-		for (; ir.hasNext(); )
+		final long start = System.nanoTime();
+		int count = 0;
+
+		++frame;
+		if (!retrying.isEmpty())
 		{
-			BooleanSupplier r = ir.next();
-			boolean remove = true;
-			try
-			{
-				remove = r.getAsBoolean();
-			}
-			catch (ThreadDeath d)
+			retrying.removeIf(task ->
 			{
-				throw d;
-			}
-			catch (Throwable e)
-			{
-				log.warn("Exception in invoke", e);
-			}
-			if (remove)
+				if (frame - task.wakeFrame < 0)
+				{
+					return false;
+				}
+
+				invokes.get(task.priority).add(task);
+				return true;
+			});
+		}
+
+		for (Priority priority : Priority.values())
+		{
+			final Queue<Task> queue = invokes.get(priority);
+
+			// always run at least one task of each priority, so lower priorities are not starved
+			for (int run = 0; ; ++run)
 			{
-				ir.remove();
+				if (run > 0 && priority != Priority.HIGH && System.nanoTime() - start > FRAME_BUDGET)
+				{
+					if (!queue.isEmpty())
+					{
+						overBudgetCounter.increment();
+					}
+					break;
+				}
+
+				final Task task = queue.poll();
+				if (task == null)
+				{
+					break;
+				}
+
+				queued.decrementAndGet();
+				run(task);
+				++count;
 			}
 		}
+
+		invokeCounter.add(count);
+		invokeTimer.record(System.nanoTime() - start);
+	}
+
+	private void run(Task task)
+	{
+		boolean remove = true;
+		try
+		{
+			remove = task.supplier.getAsBoolean();
+		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			log.warn("Exception in invoke", e);
+		}
+		if (!remove)
+		{
+			retry(task);
+		}
 	}
 }
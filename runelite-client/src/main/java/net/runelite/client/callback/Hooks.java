@@ -62,6 +62,8 @@ import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseManager;
+import net.runelite.client.metrics.MetricsRegistry;
+import net.runelite.client.metrics.Timer;
 import net.runelite.client.task.Scheduler;
 import net.runelite.client.ui.ClientUI;
 import net.runelite.client.ui.DrawManager;
@@ -130,6 +132,16 @@ public class Hooks implements Callbacks
 	private long lastCheck;
 	private boolean shouldProcessGameTick;
 
+	private final Timer mainLoopTimer;
+	private final Timer drawTimer;
+
+	@Inject
+	private Hooks(MetricsRegistry metricsRegistry)
+	{
+		mainLoopTimer = metricsRegistry.timer("client.mainLoop");
+		drawTimer = metricsRegistry.timer("client.draw");
+	}
+
 	@Override
 	public void post(Object event)
 	{
@@ -144,6 +156,20 @@ public class Hooks implements Callbacks
 
 	@Override
 	public void clientMainLoop()
+	{
+		final long start = mainLoopTimer.start();
+
+		try
+		{
+			mainLoop();
+		}
+		finally
+		{
+			mainLoopTimer.stop(start);
+		}
+	}
+
+	private void mainLoop()
 	{
 		if (shouldProcessGameTick)
 		{
@@ -289,6 +315,20 @@ public class Hooks implements Callbacks
 
 	@Override
 	public void draw(MainBufferProvider mainBufferProvider, Graphics graphics, int x, int y)
+	{
+		final long start = drawTimer.start();
+
+		try
+		{
+			drawFrame(mainBufferProvider, graphics);
+		}
+		finally
+		{
+			drawTimer.stop(start);
+		}
+	}
+
+	private void drawFrame(MainBufferProvider mainBufferProvider, Graphics graphics)
 	{
 		if (graphics == null)
 		{
@@ -373,16 +413,16 @@ public class Hooks implements Callbacks
 	}
 
 	/**
-	 * Copy an image
+	 * Copy an image into a frame from the draw manager's pool
 	 *
 	 * @param src
 	 * @return
 	 */
-	private static Image copy(Image src)
+	private Image copy(Image src)
 	{
 		final int width = src.getWidth(null);
 		final int height = src.getHeight(null);
-		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		BufferedImage image = drawManager.acquireFrame(width, height);
 		Graphics graphics = image.getGraphics();
 		graphics.drawImage(src, 0, 0, width, height, null);
 		graphics.dispose();
@@ -251,6 +251,17 @@ public interface RuneLiteConfig extends Config
 		return true;
 	}
 
+	@ConfigItem(
+		keyName = "overlayRenderBudget",
+		name = "Overlay render budget (ms)",
+		description = "Overlays with adaptive rendering are rendered less often while they take longer than this to render, 0 to disable",
+		position = 34
+	)
+	default int overlayRenderBudget()
+	{
+		return 2;
+	}
+
 	@ConfigItem(
 		keyName = "infoBoxVertical",
 		name = "Display infoboxes vertically",
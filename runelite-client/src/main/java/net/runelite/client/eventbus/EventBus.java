@@ -34,17 +34,18 @@ import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.EqualsAndHashCode;
+import lombok.Setter;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.metrics.Timer;
+import net.runelite.client.util.ReflectUtil;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -81,6 +82,12 @@ public class EventBus
 	private final Consumer<Throwable> exceptionHandler;
 	private ImmutableMultimap<Class, Subscriber> subscribers = ImmutableMultimap.of();
 
+	/**
+	 * Timer recording the time spent in {@link #post(Object)}
+	 */
+	@Setter
+	private Timer postTimer = Timer.DISABLED;
+
 	/**
 	 * Instantiates EventBus with default exception handler
 	 */
@@ -141,7 +148,7 @@ public class EventBus
 
 				try
 				{
-					final MethodHandles.Lookup caller = privateLookupIn(clazz);
+					final MethodHandles.Lookup caller = ReflectUtil.privateLookupIn(clazz);
 					final MethodType subscription = MethodType.methodType(void.class, parameterClazz);
 					final MethodHandle target = caller.findVirtual(clazz, method.getName(), subscription);
 					final CallSite site = LambdaMetafactory.metafactory(
@@ -169,6 +176,45 @@ public class EventBus
 		subscribers = builder.build();
 	}
 
+	/**
+	 * Registers a single subscriber method for an event, without the need for a {@link Subscribe} annotated method.
+	 *
+	 * @param eventClass class of the event to subscribe to
+	 * @param owner      object identifying the subscription, used to unregister it
+	 * @param method     method to invoke with the event
+	 */
+	public synchronized void register(@Nonnull final Class<?> eventClass, @Nonnull final Object owner, @Nonnull final SubscriberMethod method)
+	{
+		final ImmutableMultimap.Builder<Class, Subscriber> builder = ImmutableMultimap.builder();
+
+		if (subscribers != null)
+		{
+			builder.putAll(subscribers);
+		}
+
+		builder.put(eventClass, new Subscriber(owner, null, method));
+		subscribers = builder.build();
+	}
+
+	/**
+	 * Unregisters a subscription registered with {@link #register(Class, Object, SubscriberMethod)}.
+	 *
+	 * @param eventClass class of the subscribed event
+	 * @param owner      object identifying the subscription
+	 */
+	public synchronized void unregister(@Nonnull final Class<?> eventClass, @Nonnull final Object owner)
+	{
+		if (subscribers == null)
+		{
+			return;
+		}
+
+		final Multimap<Class, Subscriber> map = HashMultimap.create();
+		map.putAll(subscribers);
+		map.remove(eventClass, new Subscriber(owner, null, null));
+		subscribers = ImmutableMultimap.copyOf(map);
+	}
+
 	/**
 	 * Unregisters all subscribed methods from provided subscriber object.
 	 *
@@ -211,6 +257,8 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
+		final long start = postTimer.start();
+
 		for (final Subscriber subscriber : subscribers.get(event.getClass()))
 		{
 			try
@@ -222,28 +270,7 @@ public class EventBus
 				exceptionHandler.accept(e);
 			}
 		}
-	}
 
-	private static MethodHandles.Lookup privateLookupIn(Class clazz) throws IllegalAccessException, NoSuchFieldException, InvocationTargetException
-	{
-		try
-		{
-			// Java 9+ has privateLookupIn method on MethodHandles, but since we are shipping and using Java 8
-			// we need to access it via reflection. This is preferred way because it's Java 9+ public api and is
-			// likely to not change
-			final Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
-			return (MethodHandles.Lookup) privateLookupIn.invoke(null, clazz, MethodHandles.lookup());
-		}
-		catch (NoSuchMethodException e)
-		{
-			// In Java 8 we first do standard lookupIn class
-			final MethodHandles.Lookup lookupIn = MethodHandles.lookup().in(clazz);
-
-			// and then we mark it as trusted for private lookup via reflection on private field
-			final Field modes = MethodHandles.Lookup.class.getDeclaredField("allowedModes");
-			modes.setAccessible(true);
-			modes.setInt(lookupIn, -1); // -1 == TRUSTED
-			return lookupIn;
-		}
+		postTimer.stop(start);
 	}
 }
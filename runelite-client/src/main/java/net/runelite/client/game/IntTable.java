@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * An immutable int to int hash table, read from a table resource compiled at build time
+ * by the script assembler plugin's build-tables goal.
+ * <p>
+ * The resource is big endian: a magic, the entry count and the (power of two) capacity,
+ * followed by the keys and then the values of every slot. Empty slots have a key of -1,
+ * and entries are placed by linear probing from {@link #hash(int)}.
+ */
+public final class IntTable
+{
+	static final int MAGIC = 0x524C4954; // RLIT
+	private static final int EMPTY_KEY = -1;
+
+	public static final IntTable EMPTY = new IntTable(new int[]{EMPTY_KEY}, new int[1], 0);
+
+	private final int[] keys;
+	private final int[] values;
+	private final int mask;
+	private final int size;
+
+	private IntTable(int[] keys, int[] values, int size)
+	{
+		this.keys = keys;
+		this.values = values;
+		this.mask = keys.length - 1;
+		this.size = size;
+	}
+
+	/**
+	 * Load a table from a resource
+	 *
+	 * @param c class to load the resource relative to
+	 * @param path resource path
+	 * @return the table
+	 */
+	public static IntTable load(final Class<?> c, final String path)
+	{
+		try (InputStream in = c.getResourceAsStream(path))
+		{
+			if (in == null)
+			{
+				throw new IOException("missing table " + path);
+			}
+
+			return read(ByteStreams.toByteArray(in));
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	static IntTable read(byte[] data) throws IOException
+	{
+		final IntBuffer buffer = ByteBuffer.wrap(data).asIntBuffer();
+
+		if (buffer.remaining() < 3 || buffer.get() != MAGIC)
+		{
+			throw new IOException("not an int table");
+		}
+
+		final int size = buffer.get();
+		final int capacity = buffer.get();
+
+		if (Integer.bitCount(capacity) != 1 || size >= capacity || buffer.remaining() != capacity * 2)
+		{
+			throw new IOException("corrupt int table");
+		}
+
+		final int[] keys = new int[capacity];
+		final int[] values = new int[capacity];
+		buffer.get(keys);
+		buffer.get(values);
+		return new IntTable(keys, values, size);
+	}
+
+	static int hash(int key)
+	{
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Get the value of a key
+	 *
+	 * @param key the key
+	 * @param defaultValue value returned if the key is not in the table
+	 * @return the value, or the default value
+	 */
+	public int get(int key, int defaultValue)
+	{
+		if (key == EMPTY_KEY)
+		{
+			return defaultValue;
+		}
+
+		for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask)
+		{
+			final int k = keys[slot];
+
+			if (k == key)
+			{
+				return values[slot];
+			}
+
+			if (k == EMPTY_KEY)
+			{
+				return defaultValue;
+			}
+		}
+	}
+
+	public boolean containsKey(int key)
+	{
+		if (key == EMPTY_KEY)
+		{
+			return false;
+		}
+
+		for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask)
+		{
+			final int k = keys[slot];
+
+			if (k == key)
+			{
+				return true;
+			}
+
+			if (k == EMPTY_KEY)
+			{
+				return false;
+			}
+		}
+	}
+
+	public int size()
+	{
+		return size;
+	}
+}
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -165,6 +166,7 @@ import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.http.api.item.ItemClient;
 import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceDelta;
 import net.runelite.http.api.item.ItemStats;
 
 @Singleton
@@ -193,6 +195,7 @@ public class ItemManager
 
 	private final ItemClient itemClient = new ItemClient();
 	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	private long priceVersion = ItemClient.NO_PRICE_VERSION;
 	private Map<Integer, ItemStats> itemStats = Collections.emptyMap();
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<Integer, ItemComposition> itemCompositions;
@@ -312,15 +315,40 @@ public class ItemManager
 	{
 		try
 		{
-			ItemPrice[] prices = itemClient.getPrices();
-			if (prices != null)
+			if (priceVersion != ItemClient.NO_PRICE_VERSION)
 			{
-				ImmutableMap.Builder<Integer, ItemPrice> map = ImmutableMap.builderWithExpectedSize(prices.length);
-				for (ItemPrice price : prices)
+				ItemPriceDelta delta = itemClient.getPriceChanges(priceVersion);
+				if (delta != null)
+				{
+					// The price map is concurrent, so the deltas can be applied in place
+					for (ItemPrice price : delta.getPrices())
+					{
+						itemPrices.put(price.getId(), price);
+					}
+					if (delta.getRemoved() != null)
+					{
+						for (int id : delta.getRemoved())
+						{
+							itemPrices.remove(id);
+						}
+					}
+					priceVersion = delta.getVersion();
+
+					log.debug("Loaded {} price changes", delta.getPrices().length);
+					return;
+				}
+			}
+
+			ItemPriceDelta snapshot = itemClient.getPriceSnapshot();
+			if (snapshot != null)
+			{
+				Map<Integer, ItemPrice> map = new ConcurrentHashMap<>(snapshot.getPrices().length);
+				for (ItemPrice price : snapshot.getPrices())
 				{
 					map.put(price.getId(), price);
 				}
-				itemPrices = map.build();
+				itemPrices = map;
+				priceVersion = snapshot.getVersion();
 			}
 
 			log.debug("Loaded {} prices", itemPrices.size());
@@ -493,6 +521,7 @@ public class ItemManager
 	private AsyncBufferedImage loadImage(int itemId, int quantity, boolean stackable)
 	{
 		AsyncBufferedImage img = new AsyncBufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
+		// sprites are requested in bulk by the panels, don't let them hold up other work
 		clientThread.invoke(() ->
 		{
 			if (client.getGameState().ordinal() < GameState.LOGIN_SCREEN.ordinal())
@@ -508,7 +537,7 @@ public class ItemManager
 			sprite.toBufferedImage(img);
 			img.changed();
 			return true;
-		});
+		}, ClientThread.Priority.LOW);
 		return img;
 	}
 
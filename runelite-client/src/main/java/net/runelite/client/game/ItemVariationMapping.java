@@ -25,44 +25,17 @@
 
 package net.runelite.client.game;
 
-import com.google.common.collect.ImmutableMap;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.Map;
-
 /**
  * Converts variation items to it's base item counterparts
  */
 public class ItemVariationMapping
 {
-	private static final Map<Integer, Integer> MAPPINGS;
-
-	static
+	/**
+	 * Holder for the variation table, so it is only loaded the first time an item is mapped
+	 */
+	private static class Mappings
 	{
-		final Gson gson = new Gson();
-		final TypeToken<Map<String, Collection<Integer>>> typeToken = new TypeToken<Map<String, Collection<Integer>>>()
-		{
-		};
-
-		final InputStream geLimitData = ItemVariationMapping.class.getResourceAsStream("/item_variations.json");
-		final Map<String, Collection<Integer>> itemVariations = gson.fromJson(new InputStreamReader(geLimitData), typeToken.getType());
-
-		ImmutableMap.Builder<Integer, Integer> builder = new ImmutableMap.Builder<>();
-		for (Collection<Integer> value : itemVariations.values())
-		{
-			final Iterator<Integer> iterator = value.iterator();
-			final int base = iterator.next();
-
-			while (iterator.hasNext())
-			{
-				builder.put(iterator.next(), base);
-			}
-		}
-		MAPPINGS = builder.build();
+		private static final IntTable TABLE = IntTable.load(ItemVariationMapping.class, "/item_variations.dat");
 	}
 
 	/**
@@ -73,6 +46,6 @@ public class ItemVariationMapping
 	 */
 	public static int map(int itemId)
 	{
-		return MAPPINGS.getOrDefault(itemId, itemId);
+		return Mappings.TABLE.get(itemId, itemId);
 	}
 }
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores tile markers per map region. Each region is indexed on the packed region x, region y
+ * and plane of its marked tiles, is read from disk the first time it is accessed and is written
+ * back to its own file when it changes.
+ *
+ * @param <T> marker value type, which must be treated as immutable once stored
+ */
+@Slf4j
+public class MarkerStore<T>
+{
+	/**
+	 * Reads and writes marker values in region files
+	 */
+	public interface Codec<T>
+	{
+		void write(DataOutput out, T value) throws IOException;
+
+		T read(DataInput in) throws IOException;
+	}
+
+	@FunctionalInterface
+	public interface MarkerConsumer<T>
+	{
+		void accept(int regionId, int regionX, int regionY, int plane, T value);
+	}
+
+	private static final int MAGIC = 0x524C4D4B; // RLMK
+	private static final int VERSION = 1;
+
+	private final File directory;
+	private final Codec<T> codec;
+	private final Executor executor;
+	private final Map<Integer, Region<T>> regions = new HashMap<>();
+	private final Set<Integer> dirty = new HashSet<>();
+	private final Object saveLock = new Object();
+	private boolean saveScheduled;
+
+	/**
+	 * @param directory directory holding one file per region
+	 * @param codec codec for marker values
+	 * @param executor executor regions are saved on
+	 */
+	public MarkerStore(File directory, Codec<T> codec, Executor executor)
+	{
+		this.directory = directory;
+		this.codec = codec;
+		this.executor = executor;
+	}
+
+	/**
+	 * Pack a tile position within a region into a marker key
+	 */
+	public static int pack(int regionX, int regionY, int plane)
+	{
+		return (plane & 0x3) << 12 | (regionY & 0x3F) << 6 | regionX & 0x3F;
+	}
+
+	@Nullable
+	public synchronized T get(int regionId, int regionX, int regionY, int plane)
+	{
+		return getRegion(regionId).get(pack(regionX, regionY, plane));
+	}
+
+	/**
+	 * Set the marker of a tile, and schedule its region to be saved
+	 *
+	 * @param value marker value, or null to remove the marker
+	 */
+	public synchronized void put(int regionId, int regionX, int regionY, int plane, @Nullable T value)
+	{
+		final Region<T> region = getRegion(regionId);
+		final int key = pack(regionX, regionY, plane);
+		final boolean changed = value == null ? region.remove(key) : region.put(key, value);
+
+		if (changed)
+		{
+			dirty.add(regionId);
+
+			if (!saveScheduled)
+			{
+				saveScheduled = true;
+				executor.execute(this::save);
+			}
+		}
+	}
+
+	/**
+	 * Visit the markers in the given regions, such as the map regions of the current scene
+	 */
+	public synchronized void forEach(int[] regionIds, MarkerConsumer<T> consumer)
+	{
+		for (int regionId : regionIds)
+		{
+			final Region<T> region = getRegion(regionId);
+
+			for (int i = 0; i < region.size; ++i)
+			{
+				final int key = region.keys[i];
+				consumer.accept(regionId, key & 0x3F, key >> 6 & 0x3F, key >> 12, region.values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Drop loaded regions which are not in the given regions and have no unsaved changes
+	 */
+	public synchronized void retain(int[] regionIds)
+	{
+		final Set<Integer> keep = new HashSet<>(dirty);
+		for (int regionId : regionIds)
+		{
+			keep.add(regionId);
+		}
+
+		regions.keySet().retainAll(keep);
+	}
+
+	/**
+	 * Write the regions which have changed since they were last saved. Regions which fail to save
+	 * are kept as changed, to be saved again by the next save.
+	 *
+	 * @return true if every changed region was written
+	 */
+	public boolean save()
+	{
+		synchronized (saveLock)
+		{
+			boolean saved = true;
+			final Map<Integer, Region<T>> snapshots = new HashMap<>();
+
+			synchronized (this)
+			{
+				saveScheduled = false;
+
+				for (int regionId : dirty)
+				{
+					snapshots.put(regionId, new Region<>(regions.get(regionId)));
+				}
+
+				dirty.clear();
+			}
+
+			for (Map.Entry<Integer, Region<T>> entry : snapshots.entrySet())
+			{
+				try
+				{
+					write(entry.getKey(), entry.getValue());
+				}
+				catch (IOException e)
+				{
+					log.warn("unable to save markers for region {}", entry.getKey(), e);
+					saved = false;
+
+					synchronized (this)
+					{
+						dirty.add(entry.getKey());
+					}
+				}
+			}
+
+			return saved;
+		}
+	}
+
+	private Region<T> getRegion(int regionId)
+	{
+		Region<T> region = regions.get(regionId);
+		if (region == null)
+		{
+			region = read(regionId);
+			regions.put(regionId, region);
+		}
+		return region;
+	}
+
+	private File getFile(int regionId)
+	{
+		return new File(directory, regionId + ".dat");
+	}
+
+	private Region<T> read(int regionId)
+	{
+		final Region<T> region = new Region<>();
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(getFile(regionId)))))
+		{
+			if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION)
+			{
+				throw new IOException("invalid marker file");
+			}
+
+			final int count = in.readInt();
+			for (int i = 0; i < count; ++i)
+			{
+				final int key = in.readUnsignedShort();
+				region.put(key, codec.read(in));
+			}
+		}
+		catch (FileNotFoundException e)
+		{
+			// no markers in region
+		}
+		catch (IOException e)
+		{
+			log.warn("unable to load markers for region {}", regionId, e);
+		}
+
+		return region;
+	}
+
+	private void write(int regionId, Region<T> region) throws IOException
+	{
+		final File file = getFile(regionId);
+
+		if (region.size == 0)
+		{
+			Files.deleteIfExists(file.toPath());
+			return;
+		}
+
+		directory.mkdirs();
+
+		final File tmp = new File(directory, regionId + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(region.size);
+
+			for (int i = 0; i < region.size; ++i)
+			{
+				out.writeShort(region.keys[i]);
+				codec.write(out, region.values[i]);
+			}
+		}
+
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Markers of a region, sorted by key
+	 */
+	private static class Region<T>
+	{
+		private int[] keys;
+		private T[] values;
+		private int size;
+
+		@SuppressWarnings("unchecked")
+		Region()
+		{
+			keys = new int[8];
+			values = (T[]) new Object[8];
+		}
+
+		Region(Region<T> other)
+		{
+			keys = Arrays.copyOf(other.keys, other.size);
+			values = Arrays.copyOf(other.values, other.size);
+			size = other.size;
+		}
+
+		T get(int key)
+		{
+			final int idx = Arrays.binarySearch(keys, 0, size, key);
+			return idx >= 0 ? values[idx] : null;
+		}
+
+		boolean put(int key, T value)
+		{
+			int idx = Arrays.binarySearch(keys, 0, size, key);
+			if (idx >= 0)
+			{
+				if (value.equals(values[idx]))
+				{
+					return false;
+				}
+
+				values[idx] = value;
+				return true;
+			}
+
+			idx = -idx - 1;
+
+			if (size == keys.length)
+			{
+				keys = Arrays.copyOf(keys, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+
+			System.arraycopy(keys, idx, keys, idx + 1, size - idx);
+			System.arraycopy(values, idx, values, idx + 1, size - idx);
+			keys[idx] = key;
+			values[idx] = value;
+			++size;
+			return true;
+		}
+
+		boolean remove(int key)
+		{
+			final int idx = Arrays.binarySearch(keys, 0, size, key);
+			if (idx < 0)
+			{
+				return false;
+			}
+
+			System.arraycopy(keys, idx + 1, keys, idx, size - idx - 1);
+			System.arraycopy(values, idx + 1, values, idx, size - idx - 1);
+			values[--size] = null;
+			return true;
+		}
+	}
+}
@@ -24,12 +24,8 @@
  */
 package net.runelite.client.game;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
-import java.util.Map;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -37,18 +33,19 @@ import javax.inject.Singleton;
 @Singleton
 public class NPCManager
 {
-	private final Map<String, Integer> healthMap;
+	/**
+	 * Npc names to pairs of combat level and health, loaded on first use
+	 */
+	private final Supplier<NameTable> healthTable = Suppliers.memoize(() -> NameTable.load(NPCManager.class, "/npc_health.dat"));
+
+	/**
+	 * Boxed health values by table value position, so repeated lookups do not allocate
+	 */
+	private final Supplier<Integer[]> boxedHealth = Suppliers.memoize(() -> new Integer[healthTable.get().valueCount()]);
 
 	@Inject
 	private NPCManager()
 	{
-		final Gson gson = new Gson();
-		final Type typeToken = new TypeToken<Map<String, Integer>>()
-		{
-		}.getType();
-
-		final InputStream healthFile = getClass().getResourceAsStream("/npc_health.json");
-		healthMap = gson.fromJson(new InputStreamReader(healthFile), typeToken);
 	}
 
 	/**
@@ -61,6 +58,32 @@ public class NPCManager
 	@Nullable
 	public Integer getHealth(final String name, final int combatLevel)
 	{
-		return healthMap.get(name + "_" + combatLevel);
+		final NameTable table = healthTable.get();
+		final int index = table.indexOf(name);
+
+		if (index == -1)
+		{
+			return null;
+		}
+
+		for (int i = 0; i + 1 < table.length(index); i += 2)
+		{
+			if ((int) table.get(index, i) == combatLevel)
+			{
+				final Integer[] boxed = boxedHealth.get();
+				final int position = table.valuePosition(index, i + 1);
+
+				Integer health = boxed[position];
+				if (health == null)
+				{
+					health = (int) table.get(index, i + 1);
+					boxed[position] = health;
+				}
+
+				return health;
+			}
+		}
+
+		return null;
 	}
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An immutable table of names to lists of numbers, read from a table resource compiled at
+ * build time by the script assembler plugin's build-tables goal.
+ * <p>
+ * The resource is big endian: a magic, the entry count, the (power of two) capacity and the
+ * total value count, followed by every value and then every slot. A slot is the offset of its
+ * values, or -1 if it is empty, followed by the value count and the modified UTF-8 name.
+ * Entries are placed by linear probing from {@link IntTable#hash(int)} of the name's hash code.
+ */
+public final class NameTable
+{
+	static final int MAGIC = 0x524C4E54; // RLNT
+
+	private final String[] names;
+	private final int[] offsets;
+	private final int[] lengths;
+	private final double[] values;
+	private final int mask;
+
+	private NameTable(String[] names, int[] offsets, int[] lengths, double[] values)
+	{
+		this.names = names;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.values = values;
+		this.mask = names.length - 1;
+	}
+
+	/**
+	 * Load a table from a resource
+	 *
+	 * @param c class to load the resource relative to
+	 * @param path resource path
+	 * @return the table
+	 */
+	public static NameTable load(final Class<?> c, final String path)
+	{
+		try (InputStream in = c.getResourceAsStream(path))
+		{
+			if (in == null)
+			{
+				throw new IOException("missing table " + path);
+			}
+
+			return read(ByteStreams.toByteArray(in));
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	static NameTable read(byte[] data) throws IOException
+	{
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException("not a name table");
+		}
+
+		in.readInt(); // size
+		final int capacity = in.readInt();
+		final int valueCount = in.readInt();
+
+		if (Integer.bitCount(capacity) != 1 || valueCount < 0)
+		{
+			throw new IOException("corrupt name table");
+		}
+
+		final double[] values = new double[valueCount];
+		for (int i = 0; i < valueCount; ++i)
+		{
+			values[i] = in.readDouble();
+		}
+
+		final String[] names = new String[capacity];
+		final int[] offsets = new int[capacity];
+		final int[] lengths = new int[capacity];
+
+		for (int slot = 0; slot < capacity; ++slot)
+		{
+			offsets[slot] = in.readInt();
+
+			if (offsets[slot] != -1)
+			{
+				lengths[slot] = in.readInt();
+				names[slot] = in.readUTF();
+
+				if (offsets[slot] + lengths[slot] > valueCount)
+				{
+					throw new IOException("corrupt name table");
+				}
+			}
+		}
+
+		return new NameTable(names, offsets, lengths, values);
+	}
+
+	/**
+	 * Find the entry for a name
+	 *
+	 * @param name the name
+	 * @return the entry, or -1 if the name is not in the table
+	 */
+	public int indexOf(String name)
+	{
+		if (name == null)
+		{
+			return -1;
+		}
+
+		for (int slot = IntTable.hash(name.hashCode()) & mask; ; slot = (slot + 1) & mask)
+		{
+			final String n = names[slot];
+
+			if (n == null)
+			{
+				return -1;
+			}
+
+			if (n.equals(name))
+			{
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of values of an entry
+	 *
+	 * @param index entry from {@link #indexOf(String)}
+	 * @return the value count
+	 */
+	public int length(int index)
+	{
+		return lengths[index];
+	}
+
+	/**
+	 * Get a value of an entry
+	 *
+	 * @param index entry from {@link #indexOf(String)}
+	 * @param i index of the value within the entry
+	 * @return the value
+	 */
+	public double get(int index, int i)
+	{
+		return values[offsets[index] + i];
+	}
+
+	/**
+	 * Get the position of a value of an entry amongst all values of the table
+	 *
+	 * @param index entry from {@link #indexOf(String)}
+	 * @param i index of the value within the entry
+	 * @return the value position, less than {@link #valueCount()}
+	 */
+	public int valuePosition(int index, int i)
+	{
+		return offsets[index] + i;
+	}
+
+	/**
+	 * Get the number of values of all entries
+	 */
+	public int valueCount()
+	{
+		return values.length;
+	}
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.Constants;
+import net.runelite.api.Point;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Answers movement and line of sight queries for the current scene from {@link SceneCollision}
+ * snapshots, which are shared by all callers and retaken after the scene or its objects change.
+ * <p>
+ * This must be used from the client thread. Paths are searched on the executor, and the returned
+ * futures complete there.
+ */
+@Singleton
+public class NavigationManager
+{
+	private static final int MAX_CACHED_REACHABLE = 16;
+	private static final int MAX_CACHED_PATHS = 16;
+
+	private final Client client;
+	private final ScheduledExecutorService executor;
+	private final SceneCollision[] collision = new SceneCollision[Constants.MAX_Z];
+	private final Map<Long, BitSet> reachable = new LinkedHashMap<Long, BitSet>(MAX_CACHED_REACHABLE, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, BitSet> eldest)
+		{
+			return size() > MAX_CACHED_REACHABLE;
+		}
+	};
+	private final Map<Long, CompletableFuture<List<WorldPoint>>> paths = new LinkedHashMap<Long, CompletableFuture<List<WorldPoint>>>(MAX_CACHED_PATHS, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<List<WorldPoint>>> eldest)
+		{
+			return size() > MAX_CACHED_PATHS;
+		}
+	};
+	private final List<Transport> transports = new ArrayList<>();
+	private ScenePathfinder pathfinder;
+
+	@Inject
+	private NavigationManager(Client client, ScheduledExecutorService executor)
+	{
+		this.client = client;
+		this.executor = executor;
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		invalidate();
+	}
+
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		invalidate();
+	}
+
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		invalidate();
+	}
+
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		invalidate();
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		invalidate();
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		invalidate();
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		invalidate();
+	}
+
+	/**
+	 * Discard the collision snapshots, so they are retaken on their next use
+	 */
+	public void invalidate()
+	{
+		Arrays.fill(collision, null);
+		reachable.clear();
+		paths.clear();
+		pathfinder = null;
+	}
+
+	/**
+	 * Adds a transport which paths found by {@link #findPath(WorldPoint, WorldPoint)} may take
+	 */
+	public void addTransport(Transport transport)
+	{
+		transports.add(transport);
+		paths.clear();
+		pathfinder = null;
+	}
+
+	public void removeTransport(Transport transport)
+	{
+		if (transports.remove(transport))
+		{
+			paths.clear();
+			pathfinder = null;
+		}
+	}
+
+	/**
+	 * Gets a snapshot of the collision data of a plane of the current scene
+	 *
+	 * @return the snapshot, or null if there is no collision data
+	 */
+	@Nullable
+	public SceneCollision getCollision(int plane)
+	{
+		SceneCollision sceneCollision = collision[plane];
+		if (sceneCollision == null)
+		{
+			final CollisionData[] collisionData = client.getCollisionMaps();
+			if (collisionData == null)
+			{
+				return null;
+			}
+
+			sceneCollision = collision[plane] = SceneCollision.of(collisionData[plane]);
+		}
+		return sceneCollision;
+	}
+
+	/**
+	 * Determine if an area has line of sight to another area, as
+	 * {@link WorldArea#hasLineOfSightTo(Client, WorldArea)} does.
+	 */
+	public boolean hasLineOfSight(WorldArea from, WorldArea to)
+	{
+		if (from.getPlane() != to.getPlane())
+		{
+			return false;
+		}
+
+		final LocalPoint sourceLp = LocalPoint.fromWorld(client, from.getX(), from.getY());
+		final LocalPoint targetLp = LocalPoint.fromWorld(client, to.getX(), to.getY());
+		final SceneCollision sceneCollision = getCollision(from.getPlane());
+		if (sourceLp == null || targetLp == null || sceneCollision == null)
+		{
+			return false;
+		}
+
+		final int fromX = sourceLp.getSceneX();
+		final int fromY = sourceLp.getSceneY();
+		final int toX = targetLp.getSceneX();
+		final int toY = targetLp.getSceneY();
+
+		// Compare the closest tiles of both areas
+		return sceneCollision.hasLineOfSight(
+			closest(fromX, from.getWidth(), toX), closest(fromY, from.getHeight(), toY),
+			closest(toX, to.getWidth(), fromX), closest(toY, to.getHeight(), fromY));
+	}
+
+	/**
+	 * Determine if a tile has line of sight to another tile. The reverse isn't necessarily true.
+	 */
+	public boolean hasLineOfSight(WorldPoint from, WorldPoint to)
+	{
+		return hasLineOfSight(new WorldArea(from, 1, 1), new WorldArea(to, 1, 1));
+	}
+
+	/**
+	 * Determines if an area can travel in one of the 9 directions, as
+	 * {@link WorldArea#canTravelInDirection(Client, int, int)} does.
+	 */
+	public boolean canTravelInDirection(WorldArea area, int dx, int dy)
+	{
+		return canTravelInDirection(area, dx, dy, null);
+	}
+
+	/**
+	 * Determines if an area can travel in one of the 9 directions, as
+	 * {@link WorldArea#canTravelInDirection(Client, int, int, Predicate)} does.
+	 */
+	public boolean canTravelInDirection(WorldArea area, int dx, int dy,
+		@Nullable Predicate<? super WorldPoint> extraCondition)
+	{
+		final LocalPoint lp = LocalPoint.fromWorld(client, area.getX(), area.getY());
+		final SceneCollision sceneCollision = getCollision(area.getPlane());
+		if (lp == null || sceneCollision == null)
+		{
+			return false;
+		}
+
+		if (area.getWidth() == 1 && area.getHeight() == 1 && extraCondition == null)
+		{
+			return sceneCollision.canMove(lp.getSceneX(), lp.getSceneY(), Integer.signum(dx), Integer.signum(dy));
+		}
+
+		return sceneCollision.canTravelInDirection(lp.getSceneX(), lp.getSceneY(), area.getWidth(), area.getHeight(), dx, dy,
+			extraCondition == null ? null : (x, y) -> extraCondition.test(WorldPoint.fromScene(client, x, y, area.getPlane())));
+	}
+
+	/**
+	 * Calculates the next area that will be occupied if an area attempts to move toward another
+	 * by using the normal NPC travelling pattern, as
+	 * {@link WorldArea#calculateNextTravellingPoint(Client, WorldArea, boolean, Predicate)} does.
+	 *
+	 * @return the next occupied area, or null if it can't be predicted
+	 */
+	@Nullable
+	public WorldArea calculateNextTravellingPoint(WorldArea from, WorldArea target, boolean stopAtMeleeDistance,
+		@Nullable Predicate<? super WorldPoint> extraCondition)
+	{
+		if (from.getPlane() != target.getPlane())
+		{
+			return null;
+		}
+
+		if (from.intersectsWith(target))
+		{
+			// Movement is unpredictable when the NPC and actor stand on top of each other
+			return stopAtMeleeDistance ? null : from;
+		}
+
+		final int dx = target.getX() - from.getX();
+		final int dy = target.getY() - from.getY();
+		final Point axisDistances = axisDistances(from, target);
+		if (stopAtMeleeDistance && axisDistances.getX() + axisDistances.getY() == 1)
+		{
+			// NPC is in melee distance of target, so no movement is done
+			return from;
+		}
+
+		if (LocalPoint.fromWorld(client, from.getX(), from.getY()) == null)
+		{
+			// NPC is outside of the scene, so collision data isn't available
+			return null;
+		}
+
+		final int dxSig = Integer.signum(dx);
+		final int dySig = Integer.signum(dy);
+		if (stopAtMeleeDistance && axisDistances.getX() == 1 && axisDistances.getY() == 1)
+		{
+			// When it needs to stop at melee distance, it will only attempt
+			// to travel along the x axis when it is standing diagonally
+			// from the target
+			if (canTravelInDirection(from, dxSig, 0, extraCondition))
+			{
+				return new WorldArea(from.getX() + dxSig, from.getY(), from.getWidth(), from.getHeight(), from.getPlane());
+			}
+		}
+		else
+		{
+			if (canTravelInDirection(from, dxSig, dySig, extraCondition))
+			{
+				return new WorldArea(from.getX() + dxSig, from.getY() + dySig, from.getWidth(), from.getHeight(), from.getPlane());
+			}
+			else if (dx != 0 && canTravelInDirection(from, dxSig, 0, extraCondition))
+			{
+				return new WorldArea(from.getX() + dxSig, from.getY(), from.getWidth(), from.getHeight(), from.getPlane());
+			}
+			else if (dy != 0 && Math.max(Math.abs(dx), Math.abs(dy)) > 1 &&
+				canTravelInDirection(from, 0, dy, extraCondition))
+			{
+				// Note that NPCs don't attempts to travel along the y-axis
+				// if the target is <= 1 tile distance away
+				return new WorldArea(from.getX(), from.getY() + dySig, from.getWidth(), from.getHeight(), from.getPlane());
+			}
+		}
+
+		// The NPC is stuck
+		return from;
+	}
+
+	/**
+	 * Determines if a single tile actor can walk from one tile to another
+	 *
+	 * @param maxDistance the maximum number of steps to take
+	 */
+	public boolean isReachable(WorldPoint from, WorldPoint to, int maxDistance)
+	{
+		if (from.getPlane() != to.getPlane())
+		{
+			return false;
+		}
+
+		final BitSet tiles = getReachable(from, maxDistance);
+		final LocalPoint lp = LocalPoint.fromWorld(client, to);
+		return tiles != null && lp != null && tiles.get(SceneCollision.index(lp.getSceneX(), lp.getSceneY()));
+	}
+
+	/**
+	 * Finds the tiles a single tile actor can walk to from a tile. The returned bit set is shared
+	 * with other callers and must not be modified.
+	 *
+	 * @param maxDistance the maximum number of steps to take
+	 * @return the reachable tiles indexed by {@link SceneCollision#index(int, int)}, or null if
+	 * the tile is not in the scene
+	 */
+	@Nullable
+	public BitSet getReachable(WorldPoint from, int maxDistance)
+	{
+		final LocalPoint lp = LocalPoint.fromWorld(client, from);
+		final SceneCollision sceneCollision = getCollision(from.getPlane());
+		if (lp == null || sceneCollision == null)
+		{
+			return null;
+		}
+
+		final long key = (long) maxDistance << 32 | from.getPlane() << 16 | SceneCollision.index(lp.getSceneX(), lp.getSceneY());
+		return reachable.computeIfAbsent(key, k -> sceneCollision.getReachable(lp.getSceneX(), lp.getSceneY(), maxDistance));
+	}
+
+	/**
+	 * Finds a shortest path a single tile actor can walk between two tiles of the scene, taking
+	 * transports if they are shorter. The search runs on the executor, and its result is shared
+	 * with other callers until the collision data changes.
+	 *
+	 * @return a future of the tiles along the path, including both ends, or of an empty list if
+	 * there is no path
+	 */
+	public CompletableFuture<List<WorldPoint>> findPath(WorldPoint from, WorldPoint to)
+	{
+		final LocalPoint sourceLp = LocalPoint.fromWorld(client, from.getX(), from.getY());
+		final LocalPoint targetLp = LocalPoint.fromWorld(client, to.getX(), to.getY());
+		if (sourceLp == null || targetLp == null)
+		{
+			return CompletableFuture.completedFuture(Collections.emptyList());
+		}
+
+		final int start = ScenePathfinder.node(from.getPlane(), sourceLp.getSceneX(), sourceLp.getSceneY());
+		final int end = ScenePathfinder.node(to.getPlane(), targetLp.getSceneX(), targetLp.getSceneY());
+		final long key = (long) start << 32 | end;
+
+		CompletableFuture<List<WorldPoint>> path = paths.get(key);
+		if (path == null)
+		{
+			// Everything the search needs is captured here, on the client thread
+			final ScenePathfinder scenePathfinder = getPathfinder();
+			final int baseX = client.getBaseX();
+			final int baseY = client.getBaseY();
+
+			path = CompletableFuture.supplyAsync(() ->
+			{
+				final int[] nodes = scenePathfinder.findPath(start, end);
+				if (nodes == null)
+				{
+					return Collections.emptyList();
+				}
+
+				final List<WorldPoint> points = new ArrayList<>(nodes.length);
+				for (int node : nodes)
+				{
+					points.add(new WorldPoint(baseX + ScenePathfinder.getX(node), baseY + ScenePathfinder.getY(node),
+						ScenePathfinder.getPlane(node)));
+				}
+				return Collections.unmodifiableList(points);
+			}, executor);
+			paths.put(key, path);
+		}
+		return path;
+	}
+
+	/**
+	 * Gets the pathfinder of the current scene, which is kept until the collision data or the
+	 * transports change
+	 */
+	private ScenePathfinder getPathfinder()
+	{
+		if (pathfinder == null)
+		{
+			final SceneCollision[] planes = new SceneCollision[Constants.MAX_Z];
+			for (int plane = 0; plane < planes.length; plane++)
+			{
+				planes[plane] = getCollision(plane);
+			}
+
+			final ScenePathfinder scenePathfinder = new ScenePathfinder(planes);
+			for (Transport transport : transports)
+			{
+				final WorldPoint source = transport.getSource();
+				final WorldPoint destination = transport.getDestination();
+				final LocalPoint sourceLp = LocalPoint.fromWorld(client, source.getX(), source.getY());
+				final LocalPoint destinationLp = LocalPoint.fromWorld(client, destination.getX(), destination.getY());
+				if (sourceLp != null && destinationLp != null)
+				{
+					scenePathfinder.addTransport(
+						ScenePathfinder.node(source.getPlane(), sourceLp.getSceneX(), sourceLp.getSceneY()),
+						ScenePathfinder.node(destination.getPlane(), destinationLp.getSceneX(), destinationLp.getSceneY()),
+						transport.getCost());
+				}
+			}
+			pathfinder = scenePathfinder;
+		}
+		return pathfinder;
+	}
+
+	/**
+	 * Gets the position within an area closest to a position
+	 */
+	private static int closest(int start, int size, int position)
+	{
+		if (position <= start)
+		{
+			return start;
+		}
+		else if (position >= start + size - 1)
+		{
+			return start + size - 1;
+		}
+		else
+		{
+			return position;
+		}
+	}
+
+	private static Point axisDistances(WorldArea from, WorldArea to)
+	{
+		return new Point(
+			Math.abs(closest(from.getX(), from.getWidth(), to.getX()) - closest(to.getX(), to.getWidth(), from.getX())),
+			Math.abs(closest(from.getY(), from.getHeight(), to.getY()) - closest(to.getY(), to.getHeight(), from.getY())));
+	}
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.BitSet;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import static net.runelite.api.Constants.SCENE_SIZE;
+
+/**
+ * An immutable snapshot of the collision data of one plane of the scene. Which directions an
+ * actor the size of a single tile can step in, and which directions each tile blocks line of
+ * sight in, are packed into a mask per tile when the snapshot is taken.
+ * <p>
+ * Tiles are addressed by scene coordinates.
+ */
+public class SceneCollision
+{
+	/**
+	 * Tests a tile in scene coordinates
+	 */
+	@FunctionalInterface
+	public interface TilePredicate
+	{
+		boolean test(int x, int y);
+	}
+
+	private static final int[] DIRECTION_X = {-1, 0, 1, -1, 1, -1, 0, 1};
+	private static final int[] DIRECTION_Y = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+	private static final int SIGHT_WEST = 1;
+	private static final int SIGHT_EAST = 1 << 1;
+	private static final int SIGHT_SOUTH = 1 << 2;
+	private static final int SIGHT_NORTH = 1 << 3;
+
+	private final int[] flags;
+
+	/**
+	 * Directions a single tile actor can step from each tile in, one bit per direction
+	 */
+	private final byte[] movement;
+
+	/**
+	 * Directions of travel each tile blocks line of sight for
+	 */
+	private final byte[] sight;
+
+	private SceneCollision(int[] flags)
+	{
+		this.flags = flags;
+		this.movement = new byte[flags.length];
+		this.sight = new byte[flags.length];
+
+		for (int x = 0; x < SCENE_SIZE; x++)
+		{
+			for (int y = 0; y < SCENE_SIZE; y++)
+			{
+				final int index = index(x, y);
+				final int flag = flags[index];
+
+				int mask = 0;
+				for (int direction = 0; direction < DIRECTION_X.length; direction++)
+				{
+					if (canTravelInDirection(x, y, 1, 1, DIRECTION_X[direction], DIRECTION_Y[direction], null))
+					{
+						mask |= 1 << direction;
+					}
+				}
+				movement[index] = (byte) mask;
+
+				mask = 0;
+				if ((flag & (CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_EAST)) != 0)
+				{
+					mask |= SIGHT_WEST;
+				}
+				if ((flag & (CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_WEST)) != 0)
+				{
+					mask |= SIGHT_EAST;
+				}
+				if ((flag & (CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_NORTH)) != 0)
+				{
+					mask |= SIGHT_SOUTH;
+				}
+				if ((flag & (CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_SOUTH)) != 0)
+				{
+					mask |= SIGHT_NORTH;
+				}
+				sight[index] = (byte) mask;
+			}
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the collision data of a plane
+	 */
+	public static SceneCollision of(CollisionData collisionData)
+	{
+		return of(collisionData.getFlags());
+	}
+
+	/**
+	 * Takes a snapshot of collision flags, indexed by scene x and then scene y
+	 */
+	public static SceneCollision of(int[][] collisionFlags)
+	{
+		final int[] flags = new int[SCENE_SIZE * SCENE_SIZE];
+
+		for (int x = 0; x < SCENE_SIZE; x++)
+		{
+			System.arraycopy(collisionFlags[x], 0, flags, x * SCENE_SIZE, SCENE_SIZE);
+		}
+
+		return new SceneCollision(flags);
+	}
+
+	public static boolean isInScene(int x, int y)
+	{
+		return x >= 0 && y >= 0 && x < SCENE_SIZE && y < SCENE_SIZE;
+	}
+
+	/**
+	 * Gets the index of a tile in the bit sets returned by {@link #getReachable(int, int, int)}
+	 */
+	public static int index(int x, int y)
+	{
+		return x * SCENE_SIZE + y;
+	}
+
+	public int getFlags(int x, int y)
+	{
+		return flags[index(x, y)];
+	}
+
+	/**
+	 * Checks if a tile is blocked by an object, a floor decoration or the floor itself
+	 */
+	public boolean isBlocked(int x, int y)
+	{
+		return (flags[index(x, y)] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0;
+	}
+
+	/**
+	 * Checks if an actor the size of a single tile can step from a tile in a direction
+	 *
+	 * @param dx the x-axis direction to travel (-1, 0, or 1)
+	 * @param dy the y-axis direction to travel (-1, 0, or 1)
+	 */
+	public boolean canMove(int x, int y, int dx, int dy)
+	{
+		if (dx == 0 && dy == 0)
+		{
+			return true;
+		}
+
+		return (movement[index(x, y)] & 1 << direction(dx, dy)) != 0;
+	}
+
+	/**
+	 * Determines if an area can travel in one of the 9 directions, as
+	 * {@link net.runelite.api.coords.WorldArea#canTravelInDirection(net.runelite.api.Client, int, int, java.util.function.Predicate)}
+	 * does.
+	 *
+	 * @param x the scene x of the south west tile of the area
+	 * @param y the scene y of the south west tile of the area
+	 * @param extraCondition an additional condition tested on tiles the area travels onto, or null
+	 * @return true if the area can travel in the direction
+	 */
+	public boolean canTravelInDirection(int x, int y, int width, int height, int dx, int dy, TilePredicate extraCondition)
+	{
+		dx = Integer.signum(dx);
+		dy = Integer.signum(dy);
+
+		if (dx == 0 && dy == 0)
+		{
+			return true;
+		}
+
+		final int startX = x + dx;
+		final int startY = y + dy;
+		final int checkX = startX + (dx > 0 ? width - 1 : 0);
+		final int checkY = startY + (dy > 0 ? height - 1 : 0);
+		final int endX = startX + width - 1;
+		final int endY = startY + height - 1;
+
+		if (!isInScene(startX, startY) || !isInScene(endX, endY))
+		{
+			// The area would leave the scene, so there is no collision data
+			return false;
+		}
+
+		int xFlags = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int yFlags = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int xyFlags = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int xWallFlagsSouth = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int xWallFlagsNorth = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int yWallFlagsWest = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		int yWallFlagsEast = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+
+		if (dx < 0)
+		{
+			xFlags |= CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+			xWallFlagsSouth |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH |
+				CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+			xWallFlagsNorth |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH |
+				CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST;
+		}
+		if (dx > 0)
+		{
+			xFlags |= CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+			xWallFlagsSouth |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH |
+				CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+			xWallFlagsNorth |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH |
+				CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+		}
+		if (dy < 0)
+		{
+			yFlags |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+			yWallFlagsWest |= CollisionDataFlag.BLOCK_MOVEMENT_WEST |
+				CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+			yWallFlagsEast |= CollisionDataFlag.BLOCK_MOVEMENT_EAST |
+				CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST;
+		}
+		if (dy > 0)
+		{
+			yFlags |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+			yWallFlagsWest |= CollisionDataFlag.BLOCK_MOVEMENT_WEST |
+				CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+			yWallFlagsEast |= CollisionDataFlag.BLOCK_MOVEMENT_EAST |
+				CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+		}
+		if (dx < 0 && dy < 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST;
+		}
+		if (dx < 0 && dy > 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+		}
+		if (dx > 0 && dy < 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+		}
+		if (dx > 0 && dy > 0)
+		{
+			xyFlags |= CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+		}
+
+		if (dx != 0)
+		{
+			// Check that the area doesn't bypass a wall
+			for (int ty = startY; ty <= endY; ty++)
+			{
+				if ((getFlags(checkX, ty) & xFlags) != 0 || !test(extraCondition, checkX, ty))
+				{
+					// Collision while attempting to travel along the x axis
+					return false;
+				}
+			}
+
+			// Check that the new area tiles don't contain a wall
+			for (int ty = startY + 1; ty <= endY; ty++)
+			{
+				if ((getFlags(checkX, ty) & xWallFlagsSouth) != 0)
+				{
+					return false;
+				}
+			}
+			for (int ty = endY - 1; ty >= startY; ty--)
+			{
+				if ((getFlags(checkX, ty) & xWallFlagsNorth) != 0)
+				{
+					return false;
+				}
+			}
+		}
+		if (dy != 0)
+		{
+			// Check that the area tiles don't bypass a wall
+			for (int tx = startX; tx <= endX; tx++)
+			{
+				if ((getFlags(tx, checkY) & yFlags) != 0 || !test(extraCondition, tx, checkY))
+				{
+					// Collision while attempting to travel along the y axis
+					return false;
+				}
+			}
+
+			// Check that the new area tiles don't contain a wall
+			for (int tx = startX + 1; tx <= endX; tx++)
+			{
+				if ((getFlags(tx, checkY) & yWallFlagsWest) != 0)
+				{
+					return false;
+				}
+			}
+			for (int tx = endX - 1; tx >= startX; tx--)
+			{
+				if ((getFlags(tx, checkY) & yWallFlagsEast) != 0)
+				{
+					return false;
+				}
+			}
+		}
+		if (dx != 0 && dy != 0)
+		{
+			if ((getFlags(checkX, checkY) & xyFlags) != 0 || !test(extraCondition, checkX, checkY))
+			{
+				// Collision while attempting to travel diagonally
+				return false;
+			}
+
+			// When the areas edge size is 1 and it attempts to travel
+			// diagonally, a collision check is done for respective
+			// x and y axis as well.
+			if (width == 1 && (getFlags(checkX, checkY - dy) & xFlags) != 0 && test(extraCondition, checkX, startY))
+			{
+				return false;
+			}
+			if (height == 1 && (getFlags(checkX - dx, checkY) & yFlags) != 0 && test(extraCondition, startX, checkY))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determines if a tile has line of sight to another tile. The reverse isn't necessarily true.
+	 */
+	public boolean hasLineOfSight(int x1, int y1, int x2, int y2)
+	{
+		if (x1 == x2 && y1 == y2)
+		{
+			return true;
+		}
+
+		final int dx = x2 - x1;
+		final int dy = y2 - y1;
+		final int dxAbs = Math.abs(dx);
+		final int dyAbs = Math.abs(dy);
+
+		final int xMask = dx < 0 ? SIGHT_WEST : SIGHT_EAST;
+		final int yMask = dy < 0 ? SIGHT_SOUTH : SIGHT_NORTH;
+
+		if (dxAbs > dyAbs)
+		{
+			int x = x1;
+			int yBig = y1 << 16; // The y position is represented as a bigger number to handle rounding
+			final int slope = (dy << 16) / dxAbs;
+			yBig += 0x8000; // Add half of a tile
+			if (dy < 0)
+			{
+				yBig--; // For correct rounding
+			}
+			final int direction = dx < 0 ? -1 : 1;
+
+			while (x != x2)
+			{
+				x += direction;
+				final int y = yBig >>> 16;
+				if ((sight[index(x, y)] & xMask) != 0)
+				{
+					// Collision while traveling on the x axis
+					return false;
+				}
+				yBig += slope;
+				final int nextY = yBig >>> 16;
+				if (nextY != y && (sight[index(x, nextY)] & yMask) != 0)
+				{
+					// Collision while traveling on the y axis
+					return false;
+				}
+			}
+		}
+		else
+		{
+			int y = y1;
+			int xBig = x1 << 16; // The x position is represented as a bigger number to handle rounding
+			final int slope = (dx << 16) / dyAbs;
+			xBig += 0x8000; // Add half of a tile
+			if (dx < 0)
+			{
+				xBig--; // For correct rounding
+			}
+			final int direction = dy < 0 ? -1 : 1;
+
+			while (y != y2)
+			{
+				y += direction;
+				final int x = xBig >>> 16;
+				if ((sight[index(x, y)] & yMask) != 0)
+				{
+					// Collision while traveling on the y axis
+					return false;
+				}
+				xBig += slope;
+				final int nextX = xBig >>> 16;
+				if (nextX != x && (sight[index(nextX, y)] & xMask) != 0)
+				{
+					// Collision while traveling on the x axis
+					return false;
+				}
+			}
+		}
+
+		// No collision
+		return true;
+	}
+
+	/**
+	 * Finds the tiles an actor the size of a single tile can walk to from a tile
+	 *
+	 * @param maxDistance the maximum number of steps to take
+	 * @return the reachable tiles, indexed by {@link #index(int, int)}
+	 */
+	public BitSet getReachable(int x, int y, int maxDistance)
+	{
+		final BitSet reachable = new BitSet(flags.length);
+		final int[] queue = new int[flags.length];
+		int head = 0;
+		int tail = 0;
+
+		reachable.set(index(x, y));
+		queue[tail++] = index(x, y);
+
+		for (int distance = 0; distance < maxDistance && head < tail; distance++)
+		{
+			// expand one step from every tile found in the previous step
+			final int end = tail;
+			while (head < end)
+			{
+				final int index = queue[head++];
+				final int mask = movement[index];
+				final int tileX = index / SCENE_SIZE;
+				final int tileY = index % SCENE_SIZE;
+
+				for (int direction = 0; direction < DIRECTION_X.length; direction++)
+				{
+					if ((mask & 1 << direction) == 0)
+					{
+						continue;
+					}
+
+					final int next = index(tileX + DIRECTION_X[direction], tileY + DIRECTION_Y[direction]);
+					if (!reachable.get(next))
+					{
+						reachable.set(next);
+						queue[tail++] = next;
+					}
+				}
+			}
+		}
+
+		return reachable;
+	}
+
+	private static int direction(int dx, int dy)
+	{
+		final int direction = (dy + 1) * 3 + dx + 1;
+		// skip the center, which is not a direction
+		return direction > 4 ? direction - 1 : direction;
+	}
+
+	private static boolean test(TilePredicate predicate, int x, int y)
+	{
+		return predicate == null || predicate.test(x, y);
+	}
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.Arrays;
+import static net.runelite.api.Constants.SCENE_SIZE;
+
+/**
+ * A* search for shortest walking paths between tiles of a scene, over the movement masks of
+ * {@link SceneCollision} snapshots and optional transport edges such as stairs or shortcuts.
+ * <p>
+ * Tiles are identified by node ids combining the plane and the scene position of the tile, see
+ * {@link #node(int, int, int)}. Walking a step costs one, and transports have their own cost.
+ * <p>
+ * Transports must all be added before searching. After that the pathfinder is not modified and
+ * may be searched from any thread.
+ */
+public class ScenePathfinder
+{
+	private static final int PLANE_SIZE = SCENE_SIZE * SCENE_SIZE;
+	private static final int[] DIRECTION_X = {-1, 0, 1, -1, 1, -1, 0, 1};
+	private static final int[] DIRECTION_Y = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+	/**
+	 * Heuristic value of tiles which can't reach the end tile
+	 */
+	private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	private final SceneCollision[] planes;
+
+	/**
+	 * Transports are kept as a linked list per source node
+	 */
+	private final int[] transportHead;
+	private int[] transportNext = new int[16];
+	private int[] transportTarget = new int[16];
+	private int[] transportCost = new int[16];
+	private int transportCount;
+
+	/**
+	 * @param planes the collision snapshot of each plane, entries may be null for planes
+	 *               without collision data
+	 */
+	public ScenePathfinder(SceneCollision[] planes)
+	{
+		this.planes = planes;
+		this.transportHead = new int[planes.length * PLANE_SIZE];
+		Arrays.fill(transportHead, -1);
+	}
+
+	public static int node(int plane, int x, int y)
+	{
+		return plane * PLANE_SIZE + SceneCollision.index(x, y);
+	}
+
+	public static int getPlane(int node)
+	{
+		return node / PLANE_SIZE;
+	}
+
+	public static int getX(int node)
+	{
+		return node % PLANE_SIZE / SCENE_SIZE;
+	}
+
+	public static int getY(int node)
+	{
+		return node % SCENE_SIZE;
+	}
+
+	/**
+	 * Adds a one way transport between two tiles. Transports from or to planes without
+	 * collision data are ignored.
+	 *
+	 * @param cost the cost of taking the transport, in steps
+	 */
+	public void addTransport(int from, int to, int cost)
+	{
+		if (!isValid(from) || !isValid(to))
+		{
+			return;
+		}
+
+		if (transportCount == transportTarget.length)
+		{
+			transportNext = Arrays.copyOf(transportNext, transportCount * 2);
+			transportTarget = Arrays.copyOf(transportTarget, transportCount * 2);
+			transportCost = Arrays.copyOf(transportCost, transportCount * 2);
+		}
+
+		transportNext[transportCount] = transportHead[from];
+		transportTarget[transportCount] = to;
+		transportCost[transportCount] = cost;
+		transportHead[from] = transportCount++;
+	}
+
+	/**
+	 * Finds a shortest path between two tiles
+	 *
+	 * @return the nodes of the path, from the start to the end tile inclusive, or null if the
+	 * end tile can't be reached
+	 */
+	public int[] findPath(int start, int end)
+	{
+		if (!isValid(start) || !isValid(end))
+		{
+			return null;
+		}
+
+		final int[] cost = new int[transportHead.length];
+		final int[] parent = new int[transportHead.length];
+		final boolean[] closed = new boolean[transportHead.length];
+		final OpenSet open = new OpenSet();
+		final int transportBound = transportBound(end);
+
+		Arrays.fill(cost, Integer.MAX_VALUE);
+		cost[start] = 0;
+		parent[start] = start;
+		open.add(start, heuristic(start, end, transportBound), 0);
+
+		while (!open.isEmpty())
+		{
+			final int node = open.poll();
+			if (node == end)
+			{
+				return buildPath(parent, start, end);
+			}
+
+			// nodes may be queued more than once, only the first one is expanded
+			if (closed[node])
+			{
+				continue;
+			}
+			closed[node] = true;
+
+			final int plane = getPlane(node);
+			final int x = getX(node);
+			final int y = getY(node);
+			final int nextCost = cost[node] + 1;
+			final SceneCollision collision = planes[plane];
+
+			for (int direction = 0; direction < DIRECTION_X.length; direction++)
+			{
+				final int dx = DIRECTION_X[direction];
+				final int dy = DIRECTION_Y[direction];
+				if (collision.canMove(x, y, dx, dy))
+				{
+					final int next = node + dx * SCENE_SIZE + dy;
+					if (nextCost < cost[next])
+					{
+						final int h = heuristic(next, end, transportBound);
+						if (h != UNREACHABLE)
+						{
+							cost[next] = nextCost;
+							parent[next] = node;
+							open.add(next, nextCost + h, nextCost);
+						}
+					}
+				}
+			}
+
+			for (int transport = transportHead[node]; transport != -1; transport = transportNext[transport])
+			{
+				final int next = transportTarget[transport];
+				final int transportedCost = cost[node] + transportCost[transport];
+				if (transportedCost < cost[next])
+				{
+					final int h = heuristic(next, end, transportBound);
+					if (h != UNREACHABLE)
+					{
+						cost[next] = transportedCost;
+						parent[next] = node;
+						open.add(next, transportedCost + h, transportedCost);
+					}
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private boolean isValid(int node)
+	{
+		return node >= 0 && node < transportHead.length && planes[getPlane(node)] != null;
+	}
+
+	/**
+	 * Computes a lower bound of the cost of reaching the end tile by a path which uses a
+	 * transport. The last transport of such a path must land on the plane of the end tile,
+	 * after which the rest of the path is walked.
+	 */
+	private int transportBound(int end)
+	{
+		int bound = UNREACHABLE;
+		for (int transport = 0; transport < transportCount; transport++)
+		{
+			final int target = transportTarget[transport];
+			if (getPlane(target) == getPlane(end))
+			{
+				bound = Math.min(bound, transportCost[transport] + distance(target, end));
+			}
+		}
+		return bound;
+	}
+
+	/**
+	 * Estimates the cost of reaching the end tile. This never overestimates, since a path either
+	 * walks straight to the end tile, taking at least the chebyshev distance in steps, or uses a
+	 * transport and costs at least the transport bound.
+	 */
+	private static int heuristic(int node, int end, int transportBound)
+	{
+		if (getPlane(node) != getPlane(end))
+		{
+			return transportBound;
+		}
+
+		return Math.min(distance(node, end), transportBound);
+	}
+
+	private static int distance(int from, int to)
+	{
+		return Math.max(Math.abs(getX(from) - getX(to)), Math.abs(getY(from) - getY(to)));
+	}
+
+	private static int[] buildPath(int[] parent, int start, int end)
+	{
+		int length = 1;
+		for (int node = end; node != start; node = parent[node])
+		{
+			length++;
+		}
+
+		final int[] path = new int[length];
+		for (int node = end; length > 0; node = parent[node])
+		{
+			path[--length] = node;
+		}
+		return path;
+	}
+
+	/**
+	 * Binary heap of nodes ordered by their estimated total cost. Each entry packs the estimate,
+	 * the inverted cost so far and the node into a long, so ties between equal estimates are broken
+	 * towards the nodes furthest along their path, which are closer to the end tile.
+	 */
+	private static final class OpenSet
+	{
+		private static final int NODE_BITS = 16;
+		private static final int COST_BITS = 24;
+		private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+		private static final long COST_MASK = (1L << COST_BITS) - 1;
+
+		private long[] heap = new long[256];
+		private int size;
+
+		boolean isEmpty()
+		{
+			return size == 0;
+		}
+
+		void add(int node, int estimate, int cost)
+		{
+			if (size == heap.length)
+			{
+				heap = Arrays.copyOf(heap, size * 2);
+			}
+
+			final long entry = (long) estimate << (NODE_BITS + COST_BITS)
+				| (COST_MASK - cost) << NODE_BITS
+				| node;
+
+			int index = size++;
+			while (index > 0)
+			{
+				final int parent = (index - 1) >>> 1;
+				if (heap[parent] <= entry)
+				{
+					break;
+				}
+				heap[index] = heap[parent];
+				index = parent;
+			}
+			heap[index] = entry;
+		}
+
+		int poll()
+		{
+			final long first = heap[0];
+			final long last = heap[--size];
+
+			int index = 0;
+			while (true)
+			{
+				int child = index * 2 + 1;
+				if (child >= size)
+				{
+					break;
+				}
+				if (child + 1 < size && heap[child + 1] < heap[child])
+				{
+					child++;
+				}
+				if (last <= heap[child])
+				{
+					break;
+				}
+				heap[index] = heap[child];
+				index = child;
+			}
+			heap[index] = last;
+
+			return (int) (first & NODE_MASK);
+		}
+	}
+}
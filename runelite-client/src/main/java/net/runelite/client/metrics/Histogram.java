@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, with log-linear buckets.
+ * Values below 64 are counted exactly, larger values are counted with
+ * 32 sub-buckets per power of two, which bounds the relative error to ~3%.
+ */
+public class Histogram
+{
+	private static final int SUB_BITS = 5;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+	public void record(long value)
+	{
+		if (value < 0)
+		{
+			value = 0;
+		}
+
+		buckets.incrementAndGet(index(value));
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	public long getMax()
+	{
+		return max.get();
+	}
+
+	public double getMean()
+	{
+		final long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Get the highest value which is equivalent to the value at the given percentile
+	 *
+	 * @param percentile percentile, between 0 and 100
+	 * @return the value, or 0 if nothing has been recorded
+	 */
+	public long getValueAtPercentile(double percentile)
+	{
+		final long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		if (total == 0)
+		{
+			return 0;
+		}
+
+		final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			seen += counts[i];
+			if (seen >= target)
+			{
+				return Math.min(highestEquivalentValue(i), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	public void reset()
+	{
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			buckets.set(i, 0);
+		}
+
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	static int index(long value)
+	{
+		if (value < SUB_COUNT * 2)
+		{
+			return (int) value;
+		}
+
+		final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return shift * SUB_COUNT + (int) (value >>> shift);
+	}
+
+	static long highestEquivalentValue(int index)
+	{
+		if (index < SUB_COUNT * 2)
+		{
+			return index;
+		}
+
+		final int shift = index / SUB_COUNT - 1;
+		final long mantissa = index - shift * SUB_COUNT;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.RuneLiteAPI;
+
+/**
+ * Registry of the counters and timers instrumenting the client hot paths.
+ * Metrics are disabled unless the client is started with -Drunelite.metrics=true,
+ * or they are enabled from the developer tools or over JMX.
+ */
+@Singleton
+@Slf4j
+public class MetricsRegistry implements MetricsMXBean
+{
+	static final String OBJECT_NAME = "net.runelite.client:type=Metrics";
+	private static final long DUMP_PERIOD = 1; // minutes
+
+	private final SortedMap<String, Counter> counters = new ConcurrentSkipListMap<>();
+	private final SortedMap<String, Timer> timers = new ConcurrentSkipListMap<>();
+	private final SortedMap<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+
+	private volatile boolean enabled = Boolean.getBoolean("runelite.metrics");
+
+	@Inject
+	private MetricsRegistry(ScheduledExecutorService executor)
+	{
+		try
+		{
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+		}
+		catch (JMException ex)
+		{
+			log.warn("unable to register metrics bean", ex);
+		}
+
+		executor.scheduleWithFixedDelay(this::dump, DUMP_PERIOD, DUMP_PERIOD, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * Get or create the counter with the given name. Callers should keep the
+	 * returned counter instead of looking it up each time it is used.
+	 */
+	public Counter counter(String name)
+	{
+		return counters.computeIfAbsent(name, n -> new Counter(this));
+	}
+
+	/**
+	 * Get or create the timer with the given name. Callers should keep the
+	 * returned timer instead of looking it up each time it is used.
+	 */
+	public Timer timer(String name)
+	{
+		return timers.computeIfAbsent(name, n -> new Timer(this));
+	}
+
+	/**
+	 * Register a gauge, which is sampled each time the metrics are read.
+	 * The supplier may be called from any thread.
+	 */
+	public void gauge(String name, LongSupplier supplier)
+	{
+		gauges.put(name, supplier);
+	}
+
+	public Map<String, Counter> getCounters()
+	{
+		return Collections.unmodifiableMap(counters);
+	}
+
+	public Map<String, Timer> getTimers()
+	{
+		return Collections.unmodifiableMap(timers);
+	}
+
+	public Map<String, LongSupplier> getGauges()
+	{
+		return Collections.unmodifiableMap(gauges);
+	}
+
+	@Override
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	@Override
+	public String getSnapshot()
+	{
+		final Map<String, Object> snapshot = new LinkedHashMap<>();
+
+		for (Map.Entry<String, Counter> entry : counters.entrySet())
+		{
+			snapshot.put(entry.getKey(), entry.getValue().getValue());
+		}
+
+		for (Map.Entry<String, LongSupplier> entry : gauges.entrySet())
+		{
+			snapshot.put(entry.getKey(), entry.getValue().getAsLong());
+		}
+
+		for (Map.Entry<String, Timer> entry : timers.entrySet())
+		{
+			final Histogram histogram = entry.getValue().getHistogram();
+			final Map<String, Object> timer = new LinkedHashMap<>();
+			timer.put("count", histogram.getCount());
+			timer.put("meanNs", (long) histogram.getMean());
+			timer.put("p50Ns", histogram.getValueAtPercentile(50));
+			timer.put("p99Ns", histogram.getValueAtPercentile(99));
+			timer.put("maxNs", histogram.getMax());
+			snapshot.put(entry.getKey(), timer);
+		}
+
+		return RuneLiteAPI.GSON.toJson(snapshot);
+	}
+
+	@Override
+	public void reset()
+	{
+		counters.values().forEach(Counter::reset);
+		timers.values().forEach(t -> t.getHistogram().reset());
+	}
+
+	private void dump()
+	{
+		if (enabled)
+		{
+			log.info("Metrics: {}", getSnapshot());
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.metrics;
+
+import lombok.Getter;
+
+/**
+ * Records durations into a {@link Histogram}. When metrics are disabled
+ * {@link #start()} returns 0 and {@link #stop(long)} does nothing, so
+ * instrumented code pays only for a volatile read.
+ * <pre>
+ * final long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * </pre>
+ */
+public class Timer
+{
+	/**
+	 * A timer which is never enabled, for code constructed outside of the injector
+	 */
+	public static final Timer DISABLED = new Timer(null);
+
+	private final MetricsRegistry registry;
+	@Getter
+	private final Histogram histogram = new Histogram();
+
+	Timer(MetricsRegistry registry)
+	{
+		this.registry = registry;
+	}
+
+	public long start()
+	{
+		return registry != null && registry.isEnabled() ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * @return the recorded duration in nanoseconds, or 0 if the timer was not started
+	 */
+	public long stop(long start)
+	{
+		if (start == 0)
+		{
+			return 0;
+		}
+
+		final long duration = System.nanoTime() - start;
+		histogram.record(duration);
+		return duration;
+	}
+
+	/**
+	 * Record a duration measured elsewhere, if metrics are enabled
+	 */
+	public void record(long nanos)
+	{
+		if (registry != null && registry.isEnabled())
+		{
+			histogram.record(nanos);
+		}
+	}
+}
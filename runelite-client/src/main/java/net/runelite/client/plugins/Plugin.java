@@ -41,6 +41,15 @@ public abstract class Plugin implements Module
 	{
 	}
 
+	/**
+	 * Called before {@link #startUp()}, off the event thread. During client startup this may run
+	 * in parallel with other plugins, so it is the place for slow work which does not touch the
+	 * UI, such as loading images or data files.
+	 */
+	protected void preStartUp() throws Exception
+	{
+	}
+
 	protected void startUp() throws Exception
 	{
 	}
@@ -42,21 +42,40 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.widgets.Widget;
 import net.runelite.client.RuneLite;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
@@ -89,12 +108,18 @@ public class PluginManager
 	private final Provider<GameEventManager> sceneTileManager;
 	private final List<Plugin> plugins = new CopyOnWriteArrayList<>();
 	private final List<Plugin> activePlugins = new CopyOnWriteArrayList<>();
+	private final Map<Class<? extends Plugin>, Class<? extends Config>> pluginConfigs = new ConcurrentHashMap<>();
+	private final Map<Plugin, PluginActivationState> lazyPlugins = new ConcurrentHashMap<>();
 	private final String runeliteGroupName = RuneLiteConfig.class
 		.getAnnotation(ConfigGroup.class).value();
 
 	@Inject
 	PluginWatcher pluginWatcher;
 
+	@Inject
+	@Nullable
+	Client client;
+
 	@Setter
 	boolean isOutdated;
 
@@ -157,6 +182,12 @@ public class PluginManager
 	{
 		final Injector injector = plugin.getInjector();
 
+		final Class<? extends Config> configClass = pluginConfigs.get(plugin.getClass());
+		if (configClass != null)
+		{
+			return injector.getInstance(configClass);
+		}
+
 		for (Key<?> key : injector.getAllBindings().keySet())
 		{
 			Class<?> type = key.getTypeLiteral().getRawType();
@@ -202,24 +233,176 @@ public class PluginManager
 
 	public void loadCorePlugins() throws IOException
 	{
-		plugins.addAll(scanAndInstantiate(getClass().getClassLoader(), PLUGIN_PACKAGE));
+		final long start = System.nanoTime();
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final PluginManifest manifest = PluginManifest.load(classLoader);
+
+		if (manifest != null)
+		{
+			plugins.addAll(loadFromManifest(classLoader, manifest));
+		}
+		else
+		{
+			log.warn("No plugin manifest found, scanning the classpath for plugins");
+			plugins.addAll(scanAndInstantiate(classLoader, PLUGIN_PACKAGE));
+		}
+
+		log.info("Loaded {} core plugins in {}ms", plugins.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 	}
 
-	public void startCorePlugins()
+	List<Plugin> loadFromManifest(ClassLoader classLoader, PluginManifest manifest)
 	{
-		List<Plugin> scannedPlugins = new ArrayList<>(plugins);
-		for (Plugin plugin : scannedPlugins)
+		List<Plugin> loadedPlugins = new ArrayList<>();
+
+		// the manifest is already in dependency order
+		for (PluginManifest.Entry entry : manifest.getEntries())
 		{
+			if (!entry.isLoadWhenOutdated() && isOutdated)
+			{
+				continue;
+			}
+
+			if (entry.isDeveloperPlugin() && !developerMode)
+			{
+				continue;
+			}
+
+			Class<?> clazz;
+			try
+			{
+				clazz = Class.forName(entry.getClassName(), false, classLoader);
+			}
+			catch (ClassNotFoundException ex)
+			{
+				log.warn("Plugin {} is in the manifest, but could not be found", entry.getClassName());
+				continue;
+			}
+
+			if (clazz.getSuperclass() != Plugin.class)
+			{
+				log.warn("Class {} is in the plugin manifest, but is not a plugin", clazz);
+				continue;
+			}
+
+			Plugin plugin;
 			try
 			{
-				startPlugin(plugin);
+				plugin = instantiate(loadedPlugins, (Class<Plugin>) clazz);
 			}
 			catch (PluginInstantiationException ex)
 			{
-				log.warn("Unable to start plugin {}. {}", plugin.getClass().getSimpleName(), ex);
+				log.warn("Error instantiating plugin!", ex);
+				continue;
+			}
+
+			// as with the injector bindings, the first config of a plugin is used
+			for (String config : entry.getConfigs())
+			{
+				try
+				{
+					pluginConfigs.putIfAbsent(plugin.getClass(), (Class<? extends Config>) Class.forName(config, false, classLoader));
+				}
+				catch (ClassNotFoundException ex)
+				{
+					log.warn("Config {} of plugin {} could not be found", config, entry.getClassName());
+				}
+			}
+
+			loadedPlugins.add(plugin);
+		}
+
+		return loadedPlugins;
+	}
+
+	/**
+	 * Start all enabled plugins. Each plugin's {@link Plugin#preStartUp()} runs on a worker pool as soon
+	 * as its dependencies have started, so the pre start up work of independent plugins runs concurrently.
+	 * {@link Plugin#startUp()} is then queued on the event thread, where plugins still start one at a time,
+	 * and each plugin is registered with the event bus as soon as its own start up has completed.
+	 */
+	public void startCorePlugins()
+	{
+		final long start = System.nanoTime();
+		final ExecutorService startupExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		final Map<Class<?>, CompletableFuture<Plugin>> futures = new LinkedHashMap<>();
+		final Map<Plugin, PluginStartupTiming> timings = new ConcurrentHashMap<>();
+
+		// plugins are in dependency order, so dependencies are always submitted first
+		for (Plugin plugin : plugins)
+		{
+			if (!isPluginEnabled(plugin) || activePlugins.contains(plugin) || deferActivation(plugin))
+			{
+				continue;
+			}
+
+			activePlugins.add(plugin);
+
+			final PluginStartupTiming timing = new PluginStartupTiming(plugin);
+			timings.put(plugin, timing);
+
+			final CompletableFuture<?>[] dependencies = Arrays.stream(plugin.getClass().getAnnotationsByType(PluginDependency.class))
+				.map(dependency -> futures.get(dependency.value()))
+				.filter(Objects::nonNull)
+				.toArray(CompletableFuture[]::new);
+
+			final CompletableFuture<Plugin> future = CompletableFuture.allOf(dependencies)
+				.thenRunAsync(() -> timing.run(start, plugin::preStartUp, true), startupExecutor)
+				// plugins always start in the event thread
+				.thenRunAsync(() -> timing.run(start, plugin::startUp, false), SwingUtilities::invokeLater)
+				// register right away so the plugin doesn't miss events posted while later plugins start
+				.thenApply(v ->
+				{
+					pluginStarted(plugin);
+					return plugin;
+				});
+			futures.put(plugin.getClass(), future);
+		}
+
+		final List<Plugin> startedPlugins = new ArrayList<>();
+		for (Map.Entry<Class<?>, CompletableFuture<Plugin>> entry : futures.entrySet())
+		{
+			try
+			{
+				startedPlugins.add(entry.getValue().join());
+			}
+			catch (CompletionException ex)
+			{
+				// a plugin whose dependency failed fails with the dependency's exception
+				log.warn("Unable to start plugin {}", entry.getKey().getSimpleName(), ex.getCause());
+			}
+		}
+
+		startupExecutor.shutdown();
+
+		for (Plugin plugin : timings.keySet())
+		{
+			if (!startedPlugins.contains(plugin))
+			{
+				activePlugins.remove(plugin);
 				plugins.remove(plugin);
 			}
 		}
+
+		logStartupTimeline(startedPlugins.size(), start, timings.values());
+	}
+
+	private void logStartupTimeline(int started, long start, Collection<PluginStartupTiming> timings)
+	{
+		log.info("Started {} plugins in {}ms", started, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+		if (!log.isDebugEnabled())
+		{
+			return;
+		}
+
+		timings.stream()
+			.sorted(Comparator.comparingLong(PluginStartupTiming::getStartUpEnd))
+			.forEach(timing -> log.debug("{}: preStartUp {}ms at +{}ms, startUp {}ms at +{}ms",
+				timing.getPlugin().getClass().getSimpleName(),
+				TimeUnit.NANOSECONDS.toMillis(timing.getPreStartUpTime()),
+				TimeUnit.NANOSECONDS.toMillis(timing.getPreStartUpStart()),
+				TimeUnit.NANOSECONDS.toMillis(timing.getStartUpTime()),
+				TimeUnit.NANOSECONDS.toMillis(timing.getStartUpStart())));
 	}
 
 	List<Plugin> scanAndInstantiate(ClassLoader classLoader, String packageName) throws IOException
@@ -309,13 +492,24 @@ public class PluginManager
 
 	public synchronized boolean startPlugin(Plugin plugin) throws PluginInstantiationException
 	{
-		if (activePlugins.contains(plugin) || !isPluginEnabled(plugin))
+		if (activePlugins.contains(plugin) || !isPluginEnabled(plugin) || deferActivation(plugin))
 		{
 			return false;
 		}
 
 		activePlugins.add(plugin);
 
+		try
+		{
+			// this is never the event thread, which invokeAndWait below can't be called from
+			plugin.preStartUp();
+		}
+		catch (Exception ex)
+		{
+			activePlugins.remove(plugin);
+			throw new PluginInstantiationException(ex);
+		}
+
 		try
 		{
 			// plugins always start in the event thread
@@ -331,19 +525,7 @@ public class PluginManager
 				}
 			});
 
-			log.debug("Plugin {} is now running", plugin.getClass().getSimpleName());
-			if (!isOutdated && sceneTileManager != null)
-			{
-				final GameEventManager gameEventManager = this.sceneTileManager.get();
-				if (gameEventManager != null)
-				{
-					gameEventManager.simulateGameEvents(plugin);
-				}
-			}
-
-			eventBus.register(plugin);
-			schedule(plugin);
-			eventBus.post(new PluginChanged(plugin, true));
+			pluginStarted(plugin);
 		}
 		catch (InterruptedException | InvocationTargetException | IllegalArgumentException ex)
 		{
@@ -353,13 +535,42 @@ public class PluginManager
 		return true;
 	}
 
+	private void pluginStarted(Plugin plugin)
+	{
+		log.debug("Plugin {} is now running", plugin.getClass().getSimpleName());
+		if (!isOutdated && sceneTileManager != null)
+		{
+			final GameEventManager gameEventManager = this.sceneTileManager.get();
+			if (gameEventManager != null)
+			{
+				gameEventManager.simulateGameEvents(plugin);
+			}
+		}
+
+		eventBus.register(plugin);
+		schedule(plugin);
+		eventBus.post(new PluginChanged(plugin, true));
+	}
+
 	public synchronized boolean stopPlugin(Plugin plugin) throws PluginInstantiationException
 	{
-		if (!activePlugins.contains(plugin) || isPluginEnabled(plugin))
+		if (isPluginEnabled(plugin))
+		{
+			return false;
+		}
+
+		clearActivation(plugin);
+
+		if (!activePlugins.contains(plugin))
 		{
 			return false;
 		}
 
+		return shutDownPlugin(plugin);
+	}
+
+	private synchronized boolean shutDownPlugin(Plugin plugin) throws PluginInstantiationException
+	{
 		activePlugins.remove(plugin);
 
 		try
@@ -392,6 +603,166 @@ public class PluginManager
 		return true;
 	}
 
+	/**
+	 * Check whether a plugin with {@link PluginActivation} conditions should stay dormant rather than start,
+	 * and if so start watching for its conditions.
+	 *
+	 * @return true if the plugin should not be started yet
+	 */
+	private boolean deferActivation(Plugin plugin)
+	{
+		final PluginActivation activation = plugin.getClass().getAnnotation(PluginActivation.class);
+		if (activation == null)
+		{
+			return false;
+		}
+
+		final PluginActivationState state = lazyPlugins.computeIfAbsent(plugin, p ->
+		{
+			final PluginActivationState newState = new PluginActivationState(activation);
+			for (Class<?> event : activation.events())
+			{
+				eventBus.register(event, newState, e ->
+				{
+					newState.lastActive = System.currentTimeMillis();
+					activate(plugin, newState);
+				});
+			}
+
+			log.debug("Plugin {} is dormant until activated", plugin.getClass().getSimpleName());
+			return newState;
+		});
+
+		return !state.activated.get();
+	}
+
+	private void clearActivation(Plugin plugin)
+	{
+		final PluginActivationState state = lazyPlugins.remove(plugin);
+		if (state != null)
+		{
+			for (Class<?> event : state.activation.events())
+			{
+				eventBus.unregister(event, state);
+			}
+		}
+	}
+
+	private void activate(Plugin plugin, PluginActivationState state)
+	{
+		if (!state.activated.compareAndSet(false, true))
+		{
+			return;
+		}
+
+		executor.submit(() ->
+		{
+			try
+			{
+				if (startPlugin(plugin))
+				{
+					log.debug("Plugin {} activated", plugin.getClass().getSimpleName());
+				}
+				else if (!activePlugins.contains(plugin))
+				{
+					state.activated.set(false);
+				}
+			}
+			catch (PluginInstantiationException ex)
+			{
+				log.warn("Unable to activate plugin {}", plugin.getClass().getSimpleName(), ex);
+			}
+		});
+	}
+
+	private void deactivate(Plugin plugin, PluginActivationState state)
+	{
+		if (!state.activated.compareAndSet(true, false))
+		{
+			return;
+		}
+
+		executor.submit(() ->
+		{
+			try
+			{
+				if (activePlugins.contains(plugin) && shutDownPlugin(plugin))
+				{
+					log.debug("Plugin {} is idle and dormant again", plugin.getClass().getSimpleName());
+				}
+			}
+			catch (PluginInstantiationException ex)
+			{
+				log.warn("Unable to stop idle plugin {}", plugin.getClass().getSimpleName(), ex);
+			}
+		});
+	}
+
+	@Subscribe
+	public void onGameTick(GameTick event)
+	{
+		if (lazyPlugins.isEmpty() || client == null)
+		{
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		for (Map.Entry<Plugin, PluginActivationState> entry : lazyPlugins.entrySet())
+		{
+			final Plugin plugin = entry.getKey();
+			final PluginActivationState state = entry.getValue();
+			final int idleStopMinutes = state.activation.idleStopMinutes();
+
+			if (isActivationConditionMet(client, state.activation))
+			{
+				state.lastActive = now;
+				activate(plugin, state);
+			}
+			else if (idleStopMinutes > 0 && state.activated.get()
+				&& now - state.lastActive > TimeUnit.MINUTES.toMillis(idleStopMinutes))
+			{
+				deactivate(plugin, state);
+			}
+		}
+	}
+
+	private static boolean isActivationConditionMet(Client client, PluginActivation activation)
+	{
+		final int[] mapRegions = client.getMapRegions();
+		if (mapRegions != null)
+		{
+			for (int region : activation.regions())
+			{
+				for (int mapRegion : mapRegions)
+				{
+					if (region == mapRegion)
+					{
+						return true;
+					}
+				}
+			}
+		}
+
+		for (Varbits varbit : activation.varbits())
+		{
+			if (client.getVar(varbit) != 0)
+			{
+				return true;
+			}
+		}
+
+		for (int groupId : activation.widgets())
+		{
+			final Widget widget = client.getWidget(groupId, 0);
+			if (widget != null && !widget.isHidden())
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	public void setPluginEnabled(Plugin plugin, boolean enabled)
 	{
 		final String keyName = plugin.getClass().getSimpleName().toLowerCase();
@@ -551,4 +922,61 @@ public class PluginManager
 		}
 		return l;
 	}
+
+	@RequiredArgsConstructor
+	private static class PluginActivationState
+	{
+		private final PluginActivation activation;
+		private final AtomicBoolean activated = new AtomicBoolean();
+		private volatile long lastActive;
+	}
+
+	@FunctionalInterface
+	private interface StartupStep
+	{
+		void run() throws Exception;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	private static class PluginStartupTiming
+	{
+		private final Plugin plugin;
+		private long preStartUpStart;
+		private long preStartUpTime;
+		private long startUpStart;
+		private long startUpTime;
+
+		long getStartUpEnd()
+		{
+			return startUpStart + startUpTime;
+		}
+
+		void run(long base, StartupStep step, boolean pre)
+		{
+			final long before = System.nanoTime();
+			try
+			{
+				step.run();
+			}
+			catch (Exception ex)
+			{
+				throw new CompletionException(ex);
+			}
+			finally
+			{
+				final long after = System.nanoTime();
+				if (pre)
+				{
+					preStartUpStart = before - base;
+					preStartUpTime = after - before;
+				}
+				else
+				{
+					startUpStart = before - base;
+					startUpTime = after - before;
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * The plugin manifest generated at build time by the plugin processor,
+ * listing the core plugins in dependency order.
+ */
+@Value
+class PluginManifest
+{
+	static final String MANIFEST = "META-INF/runelite/plugins.manifest";
+
+	private final List<Entry> entries;
+
+	@Value
+	static class Entry
+	{
+		private final String className;
+		private final boolean developerPlugin;
+		private final boolean loadWhenOutdated;
+		private final List<String> dependencies;
+		private final List<String> configs;
+	}
+
+	/**
+	 * @return the manifest, or null if the class loader has none
+	 */
+	static PluginManifest load(ClassLoader classLoader) throws IOException
+	{
+		URL url = classLoader.getResource(MANIFEST);
+		if (url == null)
+		{
+			return null;
+		}
+
+		try (InputStream in = url.openStream())
+		{
+			return parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+		}
+	}
+
+	static PluginManifest parse(Reader reader) throws IOException
+	{
+		List<Entry> entries = new ArrayList<>();
+		BufferedReader in = new BufferedReader(reader);
+
+		String line;
+		while ((line = in.readLine()) != null)
+		{
+			if (line.isEmpty() || line.startsWith("#"))
+			{
+				continue;
+			}
+
+			String[] fields = line.split("\t", -1);
+			if (fields.length != 4)
+			{
+				throw new IOException("Malformed plugin manifest line: " + line);
+			}
+
+			List<String> flags = split(fields[1]);
+			entries.add(new Entry(fields[0],
+				flags.contains("developer"),
+				flags.contains("outdated"),
+				split(fields[2]),
+				split(fields[3])));
+		}
+
+		return new PluginManifest(Collections.unmodifiableList(entries));
+	}
+
+	private static List<String> split(String field)
+	{
+		return field.isEmpty() ? Collections.emptyList() : Arrays.asList(field.split(","));
+	}
+}
@@ -142,6 +142,7 @@ public class BankTagsPlugin extends Plugin implements MouseWheelListener, KeyLis
 	@Override
 	public void startUp()
 	{
+		tagManager.invalidate();
 		keyManager.registerKeyListener(this);
 		mouseManager.registerMouseWheelListener(this);
 		clientThread.invokeLater(tabInterface::init);
@@ -155,6 +156,7 @@ public class BankTagsPlugin extends Plugin implements MouseWheelListener, KeyLis
 		mouseManager.unregisterMouseWheelListener(this);
 		clientThread.invokeLater(tabInterface::destroy);
 		spriteManager.removeSpriteOverrides(TabSprites.values());
+		tagManager.flush();
 
 		shiftPressed = false;
 	}
@@ -396,6 +398,8 @@ public class BankTagsPlugin extends Plugin implements MouseWheelListener, KeyLis
 	@Subscribe
 	public void onConfigChanged(ConfigChanged configChanged)
 	{
+		tagManager.onConfigChanged(configChanged);
+
 		if (configChanged.getGroup().equals("banktags") && configChanged.getKey().equals("useTabs"))
 		{
 			if (config.tabs())
@@ -26,13 +26,22 @@
 package net.runelite.client.plugins.banktags;
 
 import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.ItemID;
+import net.runelite.api.events.ConfigChanged;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemVariationMapping;
@@ -47,55 +56,79 @@ import net.runelite.client.plugins.cluescrolls.clues.MapClue;
 import net.runelite.client.plugins.cluescrolls.clues.emote.ItemRequirement;
 import net.runelite.client.util.Text;
 
+/**
+ * Manages item tags. Tags are kept in an in-memory index of items to tags and tags to items,
+ * which is loaded from the config on first use and written back to it shortly after changes.
+ */
 @Singleton
 public class TagManager
 {
 	private static final String ITEM_KEY_PREFIX = "item_";
+	private static final long FLUSH_DELAY_MS = 1000;
+
 	private final ConfigManager configManager;
 	private final ItemManager itemManager;
 	private final ClueScrollService clueScrollService;
+	private final ScheduledExecutorService executor;
+
+	/**
+	 * Tags of each tagged item key, variation keys are negative base item ids
+	 */
+	private final Map<Integer, Set<String>> itemTags = new HashMap<>();
+
+	/**
+	 * Items of each tag
+	 */
+	private final Map<String, TaggedItems> tagItems = new HashMap<>();
+
+	/**
+	 * Tag strings not yet written to the config, null to unset
+	 */
+	private final Map<Integer, String> pendingWrites = new LinkedHashMap<>();
+
+	/**
+	 * Held while writing to the config, so flushes can't reorder writes to an item
+	 */
+	private final Object flushLock = new Object();
+
+	private boolean loaded;
+	private boolean flushScheduled;
+
+	// Items matching the last search, which is repeated for every bank slot
+	private String lastSearch;
+	private final TaggedItems lastSearchItems = new TaggedItems();
 
 	@Inject
 	private TagManager(
 		final ItemManager itemManager,
 		final ConfigManager configManager,
-		final ClueScrollService clueScrollService)
+		final ClueScrollService clueScrollService,
+		final ScheduledExecutorService executor)
 	{
 		this.itemManager = itemManager;
 		this.configManager = configManager;
 		this.clueScrollService = clueScrollService;
+		this.executor = executor;
 	}
 
 	String getTagString(int itemId, boolean variation)
 	{
-		itemId = getItemId(itemId, variation);
-
-		String config = configManager.getConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId);
-		if (config == null)
-		{
-			return "";
-		}
-
-		return config;
+		return Text.toCSV(getTags(itemId, variation));
 	}
 
-	Collection<String> getTags(int itemId, boolean variation)
+	synchronized Collection<String> getTags(int itemId, boolean variation)
 	{
-		return new LinkedHashSet<>(Text.fromCSV(getTagString(itemId, variation).toLowerCase()));
+		load();
+		return new LinkedHashSet<>(itemTags.getOrDefault(getItemId(itemId, variation), Collections.emptySet()));
 	}
 
-	void setTagString(int itemId, String tags, boolean variation)
+	synchronized void setTagString(int itemId, String tags, boolean variation)
 	{
+		load();
 		itemId = getItemId(itemId, variation);
-
-		if (Strings.isNullOrEmpty(tags))
-		{
-			configManager.unsetConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId);
-		}
-		else
-		{
-			configManager.setConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId, tags);
-		}
+		index(itemId, Strings.isNullOrEmpty(tags) ? null : tags);
+		pendingWrites.put(itemId, Strings.isNullOrEmpty(tags) ? null : tags);
+		scheduleFlush();
 	}
 
 	public void addTags(int itemId, final Collection<String> t, boolean variation)
@@ -121,35 +154,70 @@ public class TagManager
 		setTagString(itemId, Text.toCSV(tags), variation);
 	}
 
-	boolean findTag(int itemId, String search)
+	synchronized boolean findTag(int itemId, String search)
 	{
 		if (search.equals("clue") && testClue(itemId))
 		{
 			return true;
 		}
 
-		Collection<String> tags = getTags(itemId, false);
-		tags.addAll(getTags(itemId, true));
-		return tags.stream().anyMatch(tag -> tag.startsWith(Text.standardize(search)));
+		load();
+
+		if (!search.equals(lastSearch))
+		{
+			final String prefix = Text.standardize(search);
+			lastSearchItems.clear();
+
+			for (Map.Entry<String, TaggedItems> entry : tagItems.entrySet())
+			{
+				if (entry.getKey().startsWith(prefix))
+				{
+					lastSearchItems.or(entry.getValue());
+				}
+			}
+
+			lastSearch = search;
+		}
+
+		final int id = itemManager.canonicalize(Math.abs(itemId));
+		return lastSearchItems.items.get(id) || lastSearchItems.variations.get(ItemVariationMapping.map(id));
 	}
 
-	public List<Integer> getItemsForTag(String tag)
+	public synchronized List<Integer> getItemsForTag(String tag)
 	{
-		final String prefix = CONFIG_GROUP + "." + ITEM_KEY_PREFIX;
-		return configManager.getConfigurationKeys(prefix).stream()
-			.map(item -> Integer.parseInt(item.replace(prefix, "")))
-			.filter(item -> getTags(item, false).contains(tag) || getTags(item, true).contains(tag))
-			.collect(Collectors.toList());
+		load();
+
+		final List<Integer> items = new ArrayList<>();
+		for (Map.Entry<Integer, Set<String>> entry : itemTags.entrySet())
+		{
+			final int item = entry.getKey();
+			if (entry.getValue().contains(tag) || getTagsOf(relatedItemId(item)).contains(tag))
+			{
+				items.add(item);
+			}
+		}
+
+		return items;
 	}
 
-	public void removeTag(String tag)
+	public synchronized void removeTag(String tag)
 	{
-		final String prefix = CONFIG_GROUP + "." + ITEM_KEY_PREFIX;
-		configManager.getConfigurationKeys(prefix).forEach(item ->
+		load();
+
+		final TaggedItems items = tagItems.get(Text.standardize(tag));
+		if (items == null)
+		{
+			return;
+		}
+
+		final List<Integer> ids = new ArrayList<>();
+		items.items.stream().forEach(ids::add);
+		items.variations.stream().forEach(id -> ids.add(-id));
+
+		for (int id : ids)
 		{
-			int id = Integer.parseInt(item.replace(prefix, ""));
 			removeTag(id, tag);
-		});
+		}
 	}
 
 	public void removeTag(int itemId, String tag)
@@ -181,6 +249,168 @@ public class TagManager
 		});
 	}
 
+	/**
+	 * Update the index for tag changes made outside of the tag manager, such as a profile switch
+	 */
+	synchronized void onConfigChanged(ConfigChanged configChanged)
+	{
+		if (!loaded || !configChanged.getGroup().equals(CONFIG_GROUP) || !configChanged.getKey().startsWith(ITEM_KEY_PREFIX))
+		{
+			return;
+		}
+
+		final int itemId;
+		try
+		{
+			itemId = Integer.parseInt(configChanged.getKey().substring(ITEM_KEY_PREFIX.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			return;
+		}
+
+		// the index already has the newer value
+		if (!pendingWrites.containsKey(itemId))
+		{
+			index(itemId, configChanged.getNewValue());
+		}
+	}
+
+	/**
+	 * Drop the index, so it is reloaded from the config on next use
+	 */
+	void invalidate()
+	{
+		flush();
+
+		synchronized (this)
+		{
+			itemTags.clear();
+			tagItems.clear();
+			lastSearch = null;
+			loaded = false;
+		}
+	}
+
+	/**
+	 * Write pending tag changes to the config
+	 */
+	void flush()
+	{
+		synchronized (flushLock)
+		{
+			final Map<Integer, String> writes;
+			synchronized (this)
+			{
+				flushScheduled = false;
+				writes = new LinkedHashMap<>(pendingWrites);
+				pendingWrites.clear();
+			}
+
+			// written without the tag manager lock, which findTag takes on the client thread, as
+			// writing posts config changes to every subscriber, including onConfigChanged
+			for (Map.Entry<Integer, String> write : writes.entrySet())
+			{
+				final String key = ITEM_KEY_PREFIX + write.getKey();
+
+				if (write.getValue() == null)
+				{
+					configManager.unsetConfiguration(CONFIG_GROUP, key);
+				}
+				else
+				{
+					configManager.setConfiguration(CONFIG_GROUP, key, write.getValue());
+				}
+			}
+		}
+	}
+
+	private void scheduleFlush()
+	{
+		if (!flushScheduled)
+		{
+			flushScheduled = true;
+			executor.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void load()
+	{
+		if (loaded)
+		{
+			return;
+		}
+
+		final String prefix = CONFIG_GROUP + "." + ITEM_KEY_PREFIX;
+		for (String key : configManager.getConfigurationKeys(prefix))
+		{
+			final int itemId;
+			try
+			{
+				itemId = Integer.parseInt(key.substring(prefix.length()));
+			}
+			catch (NumberFormatException e)
+			{
+				continue;
+			}
+
+			index(itemId, configManager.getConfiguration(CONFIG_GROUP, ITEM_KEY_PREFIX + itemId));
+		}
+
+		loaded = true;
+	}
+
+	/**
+	 * Replace the tags of an item key in the index
+	 *
+	 * @param itemId item key
+	 * @param tagString comma separated tags, or null if the item has no tags
+	 */
+	private void index(int itemId, String tagString)
+	{
+		final Set<String> oldTags = itemTags.remove(itemId);
+		if (oldTags != null)
+		{
+			for (String tag : oldTags)
+			{
+				final TaggedItems items = tagItems.get(tag);
+				items.set(itemId, false);
+
+				if (items.isEmpty())
+				{
+					tagItems.remove(tag);
+				}
+			}
+		}
+
+		if (!Strings.isNullOrEmpty(tagString))
+		{
+			final Set<String> tags = new LinkedHashSet<>(Text.fromCSV(tagString.toLowerCase()));
+			itemTags.put(itemId, tags);
+
+			for (String tag : tags)
+			{
+				tagItems.computeIfAbsent(tag, k -> new TaggedItems()).set(itemId, true);
+			}
+		}
+
+		lastSearch = null;
+	}
+
+	private Set<String> getTagsOf(int itemKey)
+	{
+		return itemTags.getOrDefault(itemKey, Collections.emptySet());
+	}
+
+	/**
+	 * Get the item key the tags of an item key are searched alongside,
+	 * the variation key of an item or the item of a variation key
+	 */
+	private int relatedItemId(int itemKey)
+	{
+		return itemKey < 0 ? getItemId(itemKey, false) : getItemId(itemKey, true);
+	}
+
 	private int getItemId(int itemId, boolean variation)
 	{
 		itemId = Math.abs(itemId);
@@ -228,4 +458,42 @@ public class TagManager
 
 		return false;
 	}
+
+	/**
+	 * Item keys with a tag, split by sign as bit sets cannot hold negative indexes
+	 */
+	private static class TaggedItems
+	{
+		private final BitSet items = new BitSet();
+		private final BitSet variations = new BitSet();
+
+		private void set(int itemId, boolean value)
+		{
+			if (itemId < 0)
+			{
+				variations.set(-itemId, value);
+			}
+			else
+			{
+				items.set(itemId, value);
+			}
+		}
+
+		private void or(TaggedItems other)
+		{
+			items.or(other.items);
+			variations.or(other.variations);
+		}
+
+		private void clear()
+		{
+			items.clear();
+			variations.clear();
+		}
+
+		private boolean isEmpty()
+		{
+			return items.isEmpty() && variations.isEmpty();
+		}
+	}
 }
@@ -55,6 +55,7 @@ import net.runelite.api.events.PlayerSpawned;
 import net.runelite.api.events.ProjectileMoved;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.NavigationManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
@@ -78,6 +79,9 @@ public class DemonicGorillaPlugin extends Plugin
 	@Inject
 	private ClientThread clientThread;
 
+	@Inject
+	private NavigationManager navigationManager;
+
 	@Getter
 	private Map<NPC, DemonicGorilla> gorillas;
 
@@ -419,8 +423,8 @@ public class DemonicGorillaPlugin extends Plugin
 
 				if (mp != null && mp.getLastWorldArea() != null && gorilla.getLastWorldArea() != null)
 				{
-					WorldArea predictedNewArea = gorilla.getLastWorldArea().calculateNextTravellingPoint(
-						client, mp.getLastWorldArea(), true, x ->
+					WorldArea predictedNewArea = navigationManager.calculateNextTravellingPoint(
+						gorilla.getLastWorldArea(), mp.getLastWorldArea(), true, x ->
 						{
 							// Gorillas can't normally walk through other gorillas
 							// or other players
@@ -455,7 +459,7 @@ public class DemonicGorillaPlugin extends Plugin
 						WorldPoint predictedMovement = predictedNewArea.toWorldPoint();
 						if (distance <= DemonicGorilla.MAX_ATTACK_RANGE &&
 							mp != null &&
-							mp.getLastWorldArea().hasLineOfSightTo(client, gorilla.getLastWorldArea()))
+							navigationManager.hasLineOfSight(mp.getLastWorldArea(), gorilla.getLastWorldArea()))
 						{
 							if (predictedMovement.distanceTo(gorilla.getLastWorldArea().toWorldPoint()) != 0)
 							{
@@ -29,6 +29,7 @@ import java.awt.GridLayout;
 import javax.inject.Inject;
 import javax.swing.JPanel;
 import net.runelite.api.Client;
+import net.runelite.client.metrics.MetricsRegistry;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.PluginPanel;
 
@@ -39,15 +40,17 @@ class DevToolsPanel extends PluginPanel
 
 	private final WidgetInspector widgetInspector;
 	private final VarInspector varInspector;
+	private final MetricsRegistry metricsRegistry;
 
 	@Inject
-	private DevToolsPanel(Client client, DevToolsPlugin plugin, WidgetInspector widgetInspector, VarInspector varInspector)
+	private DevToolsPanel(Client client, DevToolsPlugin plugin, WidgetInspector widgetInspector, VarInspector varInspector, MetricsRegistry metricsRegistry)
 	{
 		super();
 		this.client = client;
 		this.plugin = plugin;
 		this.widgetInspector = widgetInspector;
 		this.varInspector = varInspector;
+		this.metricsRegistry = metricsRegistry;
 
 		setBackground(ColorScheme.DARK_GRAY_COLOR);
 
@@ -86,6 +89,20 @@ class DevToolsPanel extends PluginPanel
 		container.add(plugin.getInteracting());
 		container.add(plugin.getExamine());
 
+		container.add(plugin.getOverlayTiming());
+
+		container.add(plugin.getMetrics());
+		plugin.getMetrics().addActionListener((ev) ->
+		{
+			// the button toggles itself after this listener runs
+			final boolean enable = !plugin.getMetrics().isActive();
+			if (enable)
+			{
+				metricsRegistry.reset();
+			}
+			metricsRegistry.setEnabled(enable);
+		});
+
 		container.add(plugin.getDetachedCamera());
 		plugin.getDetachedCamera().addActionListener((ev) ->
 		{
@@ -52,6 +52,7 @@ import net.runelite.api.kit.KitType;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.metrics.MetricsRegistry;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.ClientToolbar;
@@ -100,6 +101,15 @@ public class DevToolsPlugin extends Plugin
 	@Inject
 	private WorldMapRegionOverlay mapRegionOverlay;
 
+	@Inject
+	private OverlayTimingOverlay overlayTimingOverlay;
+
+	@Inject
+	private MetricsOverlay metricsOverlay;
+
+	@Inject
+	private MetricsRegistry metricsRegistry;
+
 	@Inject
 	private EventBus eventBus;
 
@@ -127,6 +137,8 @@ public class DevToolsPlugin extends Plugin
 	private DevToolsButton widgetInspector;
 	private DevToolsButton varInspector;
 	private DevToolsButton logMenuActions;
+	private DevToolsButton overlayTiming;
+	private DevToolsButton metrics;
 	private NavigationButton navButton;
 
 	@Provides
@@ -167,6 +179,8 @@ public class DevToolsPlugin extends Plugin
 		detachedCamera = new DevToolsButton("Detached Camera");
 		widgetInspector = new DevToolsButton("Widget Inspector");
 		varInspector = new DevToolsButton("Var Inspector");
+		overlayTiming = new DevToolsButton("Overlay Timing");
+		metrics = new DevToolsButton("Metrics");
 
 		overlayManager.add(overlay);
 		overlayManager.add(locationOverlay);
@@ -174,6 +188,8 @@ public class DevToolsPlugin extends Plugin
 		overlayManager.add(cameraOverlay);
 		overlayManager.add(worldMapLocationOverlay);
 		overlayManager.add(mapRegionOverlay);
+		overlayManager.add(overlayTimingOverlay);
+		overlayManager.add(metricsOverlay);
 
 		logMenuActions = new DevToolsButton("Menu Actions");
 
@@ -200,6 +216,14 @@ public class DevToolsPlugin extends Plugin
 		overlayManager.remove(cameraOverlay);
 		overlayManager.remove(worldMapLocationOverlay);
 		overlayManager.remove(mapRegionOverlay);
+		overlayManager.remove(overlayTimingOverlay);
+		overlayManager.remove(metricsOverlay);
+
+		if (metrics.isActive())
+		{
+			metricsRegistry.setEnabled(false);
+		}
+
 		clientToolbar.removeNavigation(navButton);
 	}
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+import net.runelite.client.metrics.Counter;
+import net.runelite.client.metrics.Histogram;
+import net.runelite.client.metrics.MetricsRegistry;
+import net.runelite.client.metrics.Timer;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.PanelComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+public class MetricsOverlay extends Overlay
+{
+	private static final long SLOW_NANOS = 5_000_000;
+
+	private final MetricsRegistry metricsRegistry;
+	private final DevToolsPlugin plugin;
+	private final PanelComponent panelComponent = new PanelComponent();
+
+	@Inject
+	MetricsOverlay(MetricsRegistry metricsRegistry, DevToolsPlugin plugin)
+	{
+		this.metricsRegistry = metricsRegistry;
+		this.plugin = plugin;
+		panelComponent.setPreferredSize(new Dimension(250, 0));
+		setPosition(OverlayPosition.TOP_LEFT);
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!plugin.getMetrics().isActive())
+		{
+			return null;
+		}
+
+		panelComponent.getChildren().clear();
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Metrics (p50 / p99 / max us)")
+			.build());
+
+		for (Map.Entry<String, Timer> entry : metricsRegistry.getTimers().entrySet())
+		{
+			final Histogram histogram = entry.getValue().getHistogram();
+			final long p99 = histogram.getValueAtPercentile(99);
+
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(entry.getKey())
+				.right(histogram.getValueAtPercentile(50) / 1000 + " / " + p99 / 1000 + " / " + histogram.getMax() / 1000)
+				.rightColor(p99 > SLOW_NANOS ? Color.RED : Color.WHITE)
+				.build());
+		}
+
+		for (Map.Entry<String, Counter> entry : metricsRegistry.getCounters().entrySet())
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(entry.getKey())
+				.right(Long.toString(entry.getValue().getValue()))
+				.build());
+		}
+
+		for (Map.Entry<String, LongSupplier> entry : metricsRegistry.getGauges().entrySet())
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(entry.getKey())
+				.right(Long.toString(entry.getValue().getAsLong()))
+				.build());
+		}
+
+		return panelComponent.render(graphics);
+	}
+}
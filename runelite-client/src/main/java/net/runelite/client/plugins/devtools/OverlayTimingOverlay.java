@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayRenderStats;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.PanelComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+public class OverlayTimingOverlay extends Overlay
+{
+	private static final int MAX_OVERLAYS = 15;
+	private static final long SLOW_OVERLAY_NANOS = 1_000_000;
+
+	private final OverlayManager overlayManager;
+	private final DevToolsPlugin plugin;
+	private final PanelComponent panelComponent = new PanelComponent();
+
+	@Inject
+	OverlayTimingOverlay(OverlayManager overlayManager, DevToolsPlugin plugin)
+	{
+		this.overlayManager = overlayManager;
+		this.plugin = plugin;
+		panelComponent.setPreferredSize(new Dimension(250, 0));
+		setPosition(OverlayPosition.TOP_RIGHT);
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!plugin.getOverlayTiming().isActive())
+		{
+			return null;
+		}
+
+		final List<Map.Entry<Overlay, OverlayRenderStats>> stats = new ArrayList<>(overlayManager.getRenderStats().entrySet());
+		stats.sort(Comparator.comparingLong((Map.Entry<Overlay, OverlayRenderStats> e) -> e.getValue().getAverageNanos()).reversed());
+
+		panelComponent.getChildren().clear();
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Overlay timing (avg / max us)")
+			.build());
+
+		for (int i = 0; i < Math.min(MAX_OVERLAYS, stats.size()); i++)
+		{
+			final Overlay overlay = stats.get(i).getKey();
+			final OverlayRenderStats overlayStats = stats.get(i).getValue();
+
+			String timing = overlayStats.getAverageNanos() / 1000 + " / " + overlayStats.getMaxNanos() / 1000;
+			if (overlayStats.getReusedFrames() > 0)
+			{
+				timing += " (" + overlayStats.getReusedFrames() + " reused)";
+			}
+
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(overlay.getName())
+				.right(timing)
+				.rightColor(overlayStats.getAverageNanos() > SLOW_OVERLAY_NANOS ? Color.RED : Color.WHITE)
+				.build());
+		}
+
+		return panelComponent.render(graphics);
+	}
+}
@@ -59,6 +59,28 @@ public class EmojiPlugin extends Plugin
 	private ChatMessageManager chatMessageManager;
 
 	private int modIconsStart = -1;
+	private BufferedImage[] emojiImages;
+
+	@Override
+	protected void preStartUp()
+	{
+		final Emoji[] emojis = Emoji.values();
+		final BufferedImage[] images = new BufferedImage[emojis.length];
+
+		for (int i = 0; i < emojis.length; i++)
+		{
+			try
+			{
+				images[i] = emojis[i].loadImage();
+			}
+			catch (Exception ex)
+			{
+				log.warn("Failed to load the image for emoji " + emojis[i], ex);
+			}
+		}
+
+		emojiImages = images;
+	}
 
 	@Override
 	protected void startUp()
@@ -90,10 +112,14 @@ public class EmojiPlugin extends Plugin
 		for (int i = 0; i < emojis.length; i++)
 		{
 			final Emoji emoji = emojis[i];
+			final BufferedImage image = emojiImages[i];
+			if (image == null)
+			{
+				continue;
+			}
 
 			try
 			{
-				final BufferedImage image = emoji.loadImage();
 				final IndexedSprite sprite = ImageUtil.getImageIndexedSprite(image, client);
 				newModIcons[modIconsStart + i] = sprite;
 			}
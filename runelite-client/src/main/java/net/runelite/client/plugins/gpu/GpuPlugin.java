@@ -172,6 +172,11 @@ public class GpuPlugin extends Plugin implements DrawCallbacks
 
 	private int uniformBufferId;
 	private final IntBuffer uniformBuffer = GpuIntBuffer.allocateDirect(5 + 3 + 2048 * 4);
+
+	/**
+	 * Pixels of the last screenshot, reused while the canvas size is unchanged
+	 */
+	private ByteBuffer screenshotBuffer;
 	private final float[] textureOffsets = new float[128];
 
 	private GpuIntBuffer vertexBuffer;
@@ -401,6 +406,8 @@ public class GpuPlugin extends Plugin implements DrawCallbacks
 			modelBuffer = null;
 			modelBufferUnordered = null;
 
+			screenshotBuffer = null;
+
 			// force main buffer provider rebuild to turn off alpha channel
 			client.resizeCanvas();
 		});
@@ -1190,13 +1197,18 @@ public class GpuPlugin extends Plugin implements DrawCallbacks
 			height = dim.height;
 		}
 
-		ByteBuffer buffer = ByteBuffer.allocateDirect(width * height * 4)
-			.order(ByteOrder.nativeOrder());
+		ByteBuffer buffer = screenshotBuffer;
+		if (buffer == null || buffer.capacity() != width * height * 4)
+		{
+			buffer = screenshotBuffer = ByteBuffer.allocateDirect(width * height * 4)
+				.order(ByteOrder.nativeOrder());
+		}
+		buffer.clear();
 
 		gl.glReadBuffer(gl.GL_FRONT);
 		gl.glReadPixels(0, 0, width, height, GL.GL_RGBA, gl.GL_UNSIGNED_BYTE, buffer);
 
-		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		BufferedImage image = drawManager.acquireFrame(width, height);
 		int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
 
 		for (int y = 0; y < height; ++y)
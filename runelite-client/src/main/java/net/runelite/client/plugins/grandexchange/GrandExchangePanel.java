@@ -27,13 +27,13 @@
 package net.runelite.client.plugins.grandexchange;
 
 import java.awt.BorderLayout;
-import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import javax.swing.JPanel;
 import javax.swing.border.EmptyBorder;
 import lombok.Getter;
 import net.runelite.client.callback.ClientThread;
+import net.runelite.client.game.IntTable;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.PluginPanel;
@@ -91,7 +91,7 @@ class GrandExchangePanel extends PluginPanel
 		revalidate();
 	}
 
-	void setGELimits(Map<Integer, Integer> itemGELimits)
+	void setGELimits(IntTable itemGELimits)
 	{
 		searchPanel.setItemGELimits(itemGELimits);
 	}
@@ -27,14 +27,10 @@
 
 package net.runelite.client.plugins.grandexchange;
 
-import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
@@ -68,6 +64,7 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.SessionClose;
 import net.runelite.client.events.SessionOpen;
+import net.runelite.client.game.IntTable;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseManager;
@@ -98,9 +95,6 @@ public class GrandExchangePlugin extends Plugin
 
 	private static final String BUY_LIMIT_GE_TEXT = "<br>Buy limit: ";
 	private static final Gson GSON = new Gson();
-	private static final TypeToken<Map<Integer, Integer>> BUY_LIMIT_TOKEN = new TypeToken<Map<Integer, Integer>>()
-	{
-	};
 
 	static final String SEARCH_GRAND_EXCHANGE = "Search Grand Exchange";
 
@@ -149,7 +143,7 @@ public class GrandExchangePlugin extends Plugin
 
 	private Widget grandExchangeText;
 	private Widget grandExchangeItem;
-	private Map<Integer, Integer> itemGELimits;
+	private IntTable itemGELimits;
 
 	private GrandExchangeClient grandExchangeClient;
 
@@ -448,10 +442,10 @@ public class GrandExchangePlugin extends Plugin
 
 		if (config.enableGELimits() && itemGELimits != null && !geTextString.contains(BUY_LIMIT_GE_TEXT))
 		{
-			final Integer itemLimit = itemGELimits.get(itemId);
+			final int itemLimit = itemGELimits.get(itemId, -1);
 
 			// If we have item buy limit, append it
-			if (itemLimit != null)
+			if (itemLimit != -1)
 			{
 				final String text = geText.getText() + BUY_LIMIT_GE_TEXT + StackFormatter.formatNumber(itemLimit);
 				geText.setText(text);
@@ -487,10 +481,9 @@ public class GrandExchangePlugin extends Plugin
 		});
 	}
 
-	private static Map<Integer, Integer> loadGELimits()
+	private static IntTable loadGELimits()
 	{
-		final InputStream geLimitData = GrandExchangePlugin.class.getResourceAsStream("ge_limits.json");
-		final Map<Integer, Integer> itemGELimits = GSON.fromJson(new InputStreamReader(geLimitData), BUY_LIMIT_TOKEN.getType());
+		final IntTable itemGELimits = IntTable.load(GrandExchangePlugin.class, "ge_limits.dat");
 		log.debug("Loaded {} limits", itemGELimits.size());
 		return itemGELimits;
 	}
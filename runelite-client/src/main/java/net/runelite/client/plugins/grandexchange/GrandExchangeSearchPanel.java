@@ -32,9 +32,7 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
@@ -45,6 +43,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ItemComposition;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.AsyncBufferedImage;
+import net.runelite.client.game.IntTable;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.components.IconTextField;
@@ -83,7 +82,7 @@ class GrandExchangeSearchPanel extends JPanel
 	private final List<GrandExchangeItems> itemsList = new ArrayList<>();
 
 	@Setter
-	private Map<Integer, Integer> itemGELimits = Collections.emptyMap();
+	private IntTable itemGELimits = IntTable.EMPTY;
 
 	GrandExchangeSearchPanel(ClientThread clientThread, ItemManager itemManager, ScheduledExecutorService executor)
 	{
@@ -207,7 +206,7 @@ class GrandExchangeSearchPanel extends JPanel
 			}
 
 			int itemPrice = item.getPrice();
-			int itemLimit = itemGELimits.getOrDefault(itemId, 0);
+			int itemLimit = itemGELimits.get(itemId, 0);
 			AsyncBufferedImage itemImage = itemManager.getImage(itemId);
 
 			itemsList.add(new GrandExchangeItems(itemImage, item.getName(), itemId, itemPrice, itemComp.getPrice() * 0.6, itemLimit));
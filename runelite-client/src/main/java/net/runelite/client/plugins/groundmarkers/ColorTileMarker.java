@@ -30,7 +30,7 @@ import net.runelite.api.coords.WorldPoint;
 
 /**
  * Used to denote marked tiles and their colors.
- * Note: This is not used for serialization of ground markers; see {@link GroundMarkerPoint}
+ * Note: This is not used for serialization of ground markers; see {@link GroundMarkerPlugin}
  */
 @Value
 class ColorTileMarker
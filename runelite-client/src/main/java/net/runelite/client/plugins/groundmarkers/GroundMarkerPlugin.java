@@ -29,12 +29,17 @@ import com.google.common.base.Strings;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.google.inject.Provides;
+import java.awt.Color;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -47,12 +52,16 @@ import net.runelite.api.MenuEntry;
 import net.runelite.api.Tile;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ConfigChanged;
 import net.runelite.api.events.FocusChanged;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.MarkerStore;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -73,6 +82,27 @@ public class GroundMarkerPlugin extends Plugin
 
 	private static final Gson GSON = new Gson();
 
+	/**
+	 * Color of tiles which were marked before tile colors were saved
+	 */
+	private static final Color NO_COLOR = new Color(0, true);
+
+	private static final MarkerStore.Codec<Color> CODEC = new MarkerStore.Codec<Color>()
+	{
+		@Override
+		public void write(DataOutput out, Color color) throws IOException
+		{
+			out.writeInt(color == NO_COLOR ? 0 : color.getRGB());
+		}
+
+		@Override
+		public Color read(DataInput in) throws IOException
+		{
+			final int rgb = in.readInt();
+			return rgb == 0 ? NO_COLOR : new Color(rgb, true);
+		}
+	};
+
 	@Getter(AccessLevel.PACKAGE)
 	@Setter(AccessLevel.PACKAGE)
 	private boolean hotKeyPressed;
@@ -104,17 +134,13 @@ public class GroundMarkerPlugin extends Plugin
 	@Inject
 	private KeyManager keyManager;
 
-	private void savePoints(int regionId, Collection<GroundMarkerPoint> points)
-	{
-		if (points == null || points.isEmpty())
-		{
-			configManager.unsetConfiguration(CONFIG_GROUP, REGION_PREFIX + regionId);
-			return;
-		}
+	@Inject
+	private ScheduledExecutorService executor;
 
-		String json = GSON.toJson(points);
-		configManager.setConfiguration(CONFIG_GROUP, REGION_PREFIX + regionId, json);
-	}
+	@Inject
+	private ClientThread clientThread;
+
+	private MarkerStore<Color> store;
 
 	private Collection<GroundMarkerPoint> getPoints(int regionId)
 	{
@@ -137,51 +163,91 @@ public class GroundMarkerPlugin extends Plugin
 		return configManager.getConfig(GroundMarkerConfig.class);
 	}
 
-	private void loadPoints()
+	/**
+	 * Move points saved in the config by older versions of the plugin into the marker store
+	 */
+	private void migratePoints()
 	{
-		points.clear();
+		final String prefix = CONFIG_GROUP + "." + REGION_PREFIX;
+		final List<Integer> regionIds = new ArrayList<>();
+		for (String key : configManager.getConfigurationKeys(prefix))
+		{
+			final int regionId;
+			try
+			{
+				regionId = Integer.parseInt(key.substring(prefix.length()));
+			}
+			catch (NumberFormatException e)
+			{
+				continue;
+			}
 
-		int[] regions = client.getMapRegions();
+			migrateRegion(regionId);
+			regionIds.add(regionId);
+		}
 
-		if (regions == null)
+		removeMigratedPoints(regionIds);
+	}
+
+	private void migrateRegion(int regionId)
+	{
+		log.debug("Migrating points for region {}", regionId);
+
+		for (GroundMarkerPoint point : getPoints(regionId))
+		{
+			final Color color = point.getColor() == null ? NO_COLOR : point.getColor();
+			store.put(point.getRegionId(), point.getRegionX(), point.getRegionY(), point.getZ(), color);
+		}
+	}
+
+	/**
+	 * Remove migrated points from the config, once the marker store has saved them
+	 */
+	private void removeMigratedPoints(List<Integer> regionIds)
+	{
+		if (regionIds.isEmpty())
+		{
+			return;
+		}
+
+		if (!store.save())
 		{
+			log.warn("Unable to save migrated points, keeping them in the config");
 			return;
 		}
 
-		for (int regionId : regions)
+		for (int regionId : regionIds)
 		{
-			// load points for region
-			log.debug("Loading points for region {}", regionId);
-			Collection<GroundMarkerPoint> regionPoints = getPoints(regionId);
-			Collection<ColorTileMarker> colorTileMarkers = translateToColorTileMarker(regionPoints);
-			points.addAll(colorTileMarkers);
+			configManager.unsetConfiguration(CONFIG_GROUP, REGION_PREFIX + regionId);
 		}
 	}
 
 	/**
-	 * Translate a collection of ground marker points to color tile markers, accounting for instances
-	 *
-	 * @param points {@link GroundMarkerPoint}s to be converted to {@link ColorTileMarker}s
-	 * @return A collection of color tile markers, converted from the passed ground marker points, accounting for local
-	 * instance points. See {@link WorldPoint#toLocalInstance(Client, WorldPoint)}
+	 * Load the points of the current map regions as color tile markers, accounting for instances.
+	 * See {@link WorldPoint#toLocalInstance(Client, WorldPoint)}
 	 */
-	private Collection<ColorTileMarker> translateToColorTileMarker(Collection<GroundMarkerPoint> points)
+	private void loadPoints()
 	{
-		if (points.isEmpty())
+		points.clear();
+
+		int[] regions = client.getMapRegions();
+
+		if (regions == null)
 		{
-			return Collections.emptyList();
+			return;
 		}
 
-		return points.stream()
-			.map(point -> new ColorTileMarker(
-				WorldPoint.fromRegion(point.getRegionId(), point.getRegionX(), point.getRegionY(), point.getZ()),
-				point.getColor()))
-			.flatMap(colorTile ->
+		store.retain(regions);
+		store.forEach(regions, (regionId, regionX, regionY, plane, color) ->
+		{
+			final WorldPoint worldPoint = WorldPoint.fromRegion(regionId, regionX, regionY, plane);
+			final Color tileColor = color == NO_COLOR ? null : color;
+
+			for (WorldPoint localWorldPoint : WorldPoint.toLocalInstance(client, worldPoint))
 			{
-				final Collection<WorldPoint> localWorldPoints = WorldPoint.toLocalInstance(client, colorTile.getWorldPoint());
-				return localWorldPoints.stream().map(wp -> new ColorTileMarker(wp, colorTile.getColor()));
-			})
-			.collect(Collectors.toList());
+				points.add(new ColorTileMarker(localWorldPoint, tileColor));
+			}
+		});
 	}
 
 	@Subscribe
@@ -196,6 +262,30 @@ public class GroundMarkerPlugin extends Plugin
 		loadPoints();
 	}
 
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		// Points can be set in the config after startup, such as when it is reloaded on login
+		if (!event.getGroup().equals(CONFIG_GROUP) || event.getNewValue() == null || !event.getKey().startsWith(REGION_PREFIX))
+		{
+			return;
+		}
+
+		final int regionId;
+		try
+		{
+			regionId = Integer.parseInt(event.getKey().substring(REGION_PREFIX.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			return;
+		}
+
+		migrateRegion(regionId);
+		removeMigratedPoints(Collections.singletonList(regionId));
+		clientThread.invokeLater(this::loadPoints);
+	}
+
 	@Subscribe
 	public void onFocusChanged(FocusChanged focusChanged)
 	{
@@ -245,6 +335,8 @@ public class GroundMarkerPlugin extends Plugin
 		overlayManager.add(overlay);
 		overlayManager.add(minimapOverlay);
 		keyManager.registerKeyListener(inputListener);
+		store = new MarkerStore<>(new File(RuneLite.MARKERS_DIR, CONFIG_GROUP), CODEC, executor);
+		migratePoints();
 		loadPoints();
 	}
 
@@ -255,6 +347,8 @@ public class GroundMarkerPlugin extends Plugin
 		overlayManager.remove(minimapOverlay);
 		keyManager.unregisterKeyListener(inputListener);
 		points.clear();
+		store.save();
+		store = null;
 	}
 
 	private void markTile(LocalPoint localPoint)
@@ -267,21 +361,20 @@ public class GroundMarkerPlugin extends Plugin
 		WorldPoint worldPoint = WorldPoint.fromLocalInstance(client, localPoint);
 
 		int regionId = worldPoint.getRegionID();
-		GroundMarkerPoint point = new GroundMarkerPoint(regionId, worldPoint.getRegionX(), worldPoint.getRegionY(), client.getPlane(), config.markerColor());
-		log.debug("Updating point: {} - {}", point, worldPoint);
+		int regionX = worldPoint.getRegionX();
+		int regionY = worldPoint.getRegionY();
+		int plane = client.getPlane();
+		log.debug("Updating point: {} - {}", worldPoint, plane);
 
-		List<GroundMarkerPoint> groundMarkerPoints = new ArrayList<>(getPoints(regionId));
-		if (groundMarkerPoints.contains(point))
+		if (store.get(regionId, regionX, regionY, plane) != null)
 		{
-			groundMarkerPoints.remove(point);
+			store.put(regionId, regionX, regionY, plane, null);
 		}
 		else
 		{
-			groundMarkerPoints.add(point);
+			store.put(regionId, regionX, regionY, plane, config.markerColor());
 		}
 
-		savePoints(regionId, groundMarkerPoints);
-
 		loadPoints();
 	}
 }
@@ -30,7 +30,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Value;
 
 /**
- * Used for serialization of ground marker points.
+ * Used for deserialization of ground marker points saved in the config.
  */
 @Value
 @EqualsAndHashCode(exclude = {"color"})
@@ -67,6 +67,7 @@ class InventoryViewerOverlay extends Overlay
 	private InventoryViewerOverlay(Client client, ItemManager itemManager, InventoryViewerConfig config)
 	{
 		setPosition(OverlayPosition.BOTTOM_RIGHT);
+		setAdaptiveRendering(true);
 
 		inventoryComponent.setWrapping(4);
 		inventoryComponent.setGap(new Point(6, 4));
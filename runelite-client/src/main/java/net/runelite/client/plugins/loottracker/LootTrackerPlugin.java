@@ -29,10 +29,19 @@ import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Multisets;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -64,6 +74,7 @@ import net.runelite.api.events.ConfigChanged;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.WidgetID;
+import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.account.SessionManager;
 import net.runelite.client.callback.ClientThread;
@@ -82,11 +93,13 @@ import net.runelite.client.game.ItemStack;
 import net.runelite.client.game.SpriteManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.task.Schedule;
 import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.util.ImageUtil;
 import net.runelite.client.util.StackFormatter;
 import net.runelite.client.util.Text;
+import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.loottracker.GameItem;
 import net.runelite.http.api.loottracker.LootRecord;
 import net.runelite.http.api.loottracker.LootRecordType;
@@ -116,6 +129,13 @@ public class LootTrackerPlugin extends Plugin
 		11573, "Crystal Chest"
 	);
 
+	// Loot submission batching
+	private static final int MAX_QUEUED_LOOTS = 32;
+	private static final int MAX_SPOOLED_LOOTS = 4096;
+	private static final Duration SUBMIT_BACKOFF_BASE = Duration.ofSeconds(30);
+	private static final Duration SUBMIT_BACKOFF_MAX = Duration.ofMinutes(30);
+	private static final File SPOOL_DIR = new File(RuneLite.RUNELITE_DIR, "loottracker");
+
 	@Inject
 	private ClientToolbar clientToolbar;
 
@@ -152,7 +172,13 @@ public class LootTrackerPlugin extends Plugin
 	private Multiset<Integer> inventorySnapshot;
 
 	@Getter(AccessLevel.PACKAGE)
-	private LootTrackerClient lootTrackerClient;
+	private volatile LootTrackerClient lootTrackerClient;
+
+	// set before and cleared after lootTrackerClient, so it is known for any client submitting
+	private volatile AccountSession lootSession;
+	private final List<LootRecord> queuedLoots = new ArrayList<>();
+	private final AtomicInteger submitFailures = new AtomicInteger();
+	private volatile Instant nextSubmit = Instant.EPOCH;
 
 	private static Collection<ItemStack> stack(Collection<ItemStack> items)
 	{
@@ -195,18 +221,21 @@ public class LootTrackerPlugin extends Plugin
 		AccountSession accountSession = sessionManager.getAccountSession();
 		if (accountSession.getUuid() != null)
 		{
+			lootSession = accountSession;
 			lootTrackerClient = new LootTrackerClient(accountSession.getUuid());
+			executor.submit(() -> loadSpool(accountSession));
 		}
 		else
 		{
 			lootTrackerClient = null;
+			lootSession = null;
 		}
 	}
 
 	@Subscribe
 	public void onSessionClose(SessionClose sessionClose)
 	{
-		lootTrackerClient = null;
+		closeSession();
 	}
 
 	@Subscribe
@@ -240,7 +269,9 @@ public class LootTrackerPlugin extends Plugin
 		AccountSession accountSession = sessionManager.getAccountSession();
 		if (accountSession != null)
 		{
+			lootSession = accountSession;
 			lootTrackerClient = new LootTrackerClient(accountSession.getUuid());
+			executor.submit(() -> loadSpool(accountSession));
 
 			clientThread.invokeLater(() ->
 			{
@@ -286,8 +317,27 @@ public class LootTrackerPlugin extends Plugin
 	@Override
 	protected void shutDown()
 	{
+		closeSession();
 		clientToolbar.removeNavigation(navButton);
+	}
+
+	private void closeSession()
+	{
+		final AccountSession accountSession = lootSession;
+		// submissions failing after this spool their batch themselves, see submitLoot
 		lootTrackerClient = null;
+		spoolQueuedLoot(accountSession);
+		lootSession = null;
+	}
+
+	@Schedule(
+		period = 1,
+		unit = ChronoUnit.MINUTES,
+		asynchronous = true
+	)
+	public void submitLootTask()
+	{
+		submitLoot();
 	}
 
 	@Subscribe
@@ -303,7 +353,7 @@ public class LootTrackerPlugin extends Plugin
 		if (lootTrackerClient != null && config.saveLoot())
 		{
 			LootRecord lootRecord = new LootRecord(name, LootRecordType.NPC, toGameItems(items), Instant.now());
-			lootTrackerClient.submit(lootRecord);
+			queueLoot(lootRecord);
 		}
 	}
 
@@ -320,7 +370,7 @@ public class LootTrackerPlugin extends Plugin
 		if (lootTrackerClient != null && config.saveLoot())
 		{
 			LootRecord lootRecord = new LootRecord(name, LootRecordType.PLAYER, toGameItems(items), Instant.now());
-			lootTrackerClient.submit(lootRecord);
+			queueLoot(lootRecord);
 		}
 	}
 
@@ -402,7 +452,7 @@ public class LootTrackerPlugin extends Plugin
 		if (lootTrackerClient != null && config.saveLoot())
 		{
 			LootRecord lootRecord = new LootRecord(eventType, LootRecordType.EVENT, toGameItems(items), Instant.now());
-			lootTrackerClient.submit(lootRecord);
+			queueLoot(lootRecord);
 		}
 	}
 
@@ -513,13 +563,196 @@ public class LootTrackerPlugin extends Plugin
 			if (lootTrackerClient != null && config.saveLoot())
 			{
 				LootRecord lootRecord = new LootRecord(chestType, LootRecordType.EVENT, toGameItems(items), Instant.now());
-				lootTrackerClient.submit(lootRecord);
+				queueLoot(lootRecord);
 			}
 
 			inventorySnapshot = null;
 		}
 	}
 
+	private void queueLoot(LootRecord lootRecord)
+	{
+		final boolean flush;
+		synchronized (queuedLoots)
+		{
+			queuedLoots.add(lootRecord);
+			flush = queuedLoots.size() >= MAX_QUEUED_LOOTS;
+		}
+
+		if (flush)
+		{
+			executor.submit(this::submitLoot);
+		}
+	}
+
+	/**
+	 * Submit all queued loot, in batches of at most {@link LootTrackerClient#MAX_BATCH_SIZE}.
+	 * If a submission fails the batch is put back at the front of the queue and
+	 * further submissions are held off with an exponential backoff. If the queue
+	 * has been spooled since, the batch is added to the spool instead. Batches
+	 * rejected by the server are dropped.
+	 */
+	private void submitLoot()
+	{
+		final AccountSession accountSession = lootSession;
+		final LootTrackerClient lootTrackerClient = this.lootTrackerClient;
+		if (lootTrackerClient == null || Instant.now().isBefore(nextSubmit))
+		{
+			return;
+		}
+
+		for (;;)
+		{
+			final List<LootRecord> batch;
+			synchronized (queuedLoots)
+			{
+				if (queuedLoots.isEmpty())
+				{
+					return;
+				}
+
+				final List<LootRecord> head = queuedLoots.subList(0, Math.min(queuedLoots.size(), LootTrackerClient.MAX_BATCH_SIZE));
+				batch = new ArrayList<>(head);
+				head.clear();
+			}
+
+			try
+			{
+				if (!lootTrackerClient.submit(batch))
+				{
+					log.warn("loot batch of {} records was rejected, dropping it", batch.size());
+				}
+
+				submitFailures.set(0);
+				nextSubmit = Instant.EPOCH;
+			}
+			catch (IOException e)
+			{
+				log.warn("unable to submit loot", e);
+
+				final boolean requeued;
+				synchronized (queuedLoots)
+				{
+					// the client is cleared before the queue is spooled, so a requeued batch is spooled with it
+					requeued = this.lootTrackerClient == lootTrackerClient;
+					if (requeued)
+					{
+						queuedLoots.addAll(0, batch);
+					}
+				}
+
+				if (!requeued)
+				{
+					appendSpool(accountSession, batch);
+					return;
+				}
+
+				final long backoff = SUBMIT_BACKOFF_BASE.toMillis() << Math.min(submitFailures.getAndIncrement(), 16);
+				nextSubmit = Instant.now().plusMillis(Math.min(backoff, SUBMIT_BACKOFF_MAX.toMillis()));
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Write any loot which has not yet been submitted to disk, so that it
+	 * can be submitted the next time the session is opened.
+	 */
+	private void spoolQueuedLoot(AccountSession accountSession)
+	{
+		final List<LootRecord> pending;
+		synchronized (queuedLoots)
+		{
+			pending = new ArrayList<>(queuedLoots);
+			queuedLoots.clear();
+		}
+
+		appendSpool(accountSession, pending);
+	}
+
+	/**
+	 * Add loot to the end of the spool file of an account
+	 */
+	private synchronized void appendSpool(AccountSession accountSession, List<LootRecord> loot)
+	{
+		if (loot.isEmpty() || accountSession == null || accountSession.getUsername() == null)
+		{
+			return;
+		}
+
+		final File spoolFile = new File(SPOOL_DIR, accountSession.getUsername() + ".json");
+		final List<LootRecord> spooled = readSpool(spoolFile);
+		spooled.addAll(loot);
+
+		if (spooled.size() > MAX_SPOOLED_LOOTS)
+		{
+			spooled.subList(0, spooled.size() - MAX_SPOOLED_LOOTS).clear();
+		}
+
+		SPOOL_DIR.mkdirs();
+
+		try (Writer writer = new FileWriter(spoolFile))
+		{
+			RuneLiteAPI.GSON.toJson(spooled, writer);
+			log.debug("Spooled {} loot records to {}", spooled.size(), spoolFile);
+		}
+		catch (IOException e)
+		{
+			log.warn("unable to spool loot", e);
+		}
+	}
+
+	private void loadSpool(AccountSession accountSession)
+	{
+		if (accountSession.getUsername() == null)
+		{
+			return;
+		}
+
+		final File spoolFile = new File(SPOOL_DIR, accountSession.getUsername() + ".json");
+		final List<LootRecord> spooled;
+		synchronized (this)
+		{
+			spooled = readSpool(spoolFile);
+			spoolFile.delete();
+		}
+
+		if (spooled.isEmpty())
+		{
+			return;
+		}
+
+		log.debug("Loaded {} spooled loot records", spooled.size());
+
+		synchronized (queuedLoots)
+		{
+			queuedLoots.addAll(0, spooled);
+		}
+
+		submitLoot();
+	}
+
+	private static List<LootRecord> readSpool(File spoolFile)
+	{
+		if (!spoolFile.exists())
+		{
+			return new ArrayList<>();
+		}
+
+		try (Reader reader = new FileReader(spoolFile))
+		{
+			final List<LootRecord> records = RuneLiteAPI.GSON.fromJson(reader, new TypeToken<List<LootRecord>>()
+			{
+			}.getType());
+			return records != null ? records : new ArrayList<>();
+		}
+		catch (IOException | JsonParseException e)
+		{
+			log.warn("unable to read loot spool", e);
+			return new ArrayList<>();
+		}
+	}
+
 	void toggleItem(String name, boolean ignore)
 	{
 		final Set<String> ignoredItemSet = new HashSet<>(ignoredItems);
@@ -62,6 +62,7 @@ import net.runelite.api.events.NpcSpawned;
 import net.runelite.api.events.WallObjectSpawned;
 import net.runelite.api.widgets.WidgetID;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.NavigationManager;
 import net.runelite.client.plugins.mta.MTAConfig;
 import net.runelite.client.plugins.mta.MTARoom;
 
@@ -73,6 +74,7 @@ public class TelekineticRoom extends MTARoom
 	private static final int TELEKINETIC_FINISH = NullObjectID.NULL_23672;
 
 	private final Client client;
+	private final NavigationManager navigationManager;
 
 	private final List<WallObject> telekineticWalls = new ArrayList<>();
 
@@ -85,10 +87,11 @@ public class TelekineticRoom extends MTARoom
 	private Maze maze;
 
 	@Inject
-	private TelekineticRoom(MTAConfig config, Client client)
+	private TelekineticRoom(MTAConfig config, Client client, NavigationManager navigationManager)
 	{
 		super(config);
 		this.client = client;
+		this.navigationManager = navigationManager;
 	}
 
 	public void resetRoom()
@@ -461,7 +464,7 @@ public class TelekineticRoom extends MTARoom
 				throw new IllegalStateException();
 		}
 
-		while (area.canTravelInDirection(client, dx, dy))
+		while (navigationManager.canTravelInDirection(area, dx, dy))
 		{
 			worldPoint = area.toWorldPoint()
 				.dx(dx)
@@ -47,6 +47,7 @@ import net.runelite.api.geometry.Geometry;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.NavigationManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
@@ -79,6 +80,9 @@ public class MultiIndicatorsPlugin extends Plugin
 	@Inject
 	private OverlayManager overlayManager;
 
+	@Inject
+	private NavigationManager navigationManager;
+
 	@Getter
 	private GeneralPath[] multicombatPathToDisplay;
 
@@ -201,8 +205,8 @@ public class MultiIndicatorsPlugin extends Plugin
 			return true;
 		}
 
-		boolean b1 = wa1.canTravelInDirection(client, -dy, -dx);
-		boolean b2 = wa2.canTravelInDirection(client, dy, dx);
+		boolean b1 = navigationManager.canTravelInDirection(wa1, -dy, -dx);
+		boolean b2 = navigationManager.canTravelInDirection(wa2, dy, dx);
 		return b1 && b2;
 	}
 
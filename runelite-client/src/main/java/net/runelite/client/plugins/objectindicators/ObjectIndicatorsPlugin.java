@@ -30,19 +30,23 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.google.inject.Provides;
 import java.awt.event.KeyEvent;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
-import static net.runelite.api.Constants.REGION_SIZE;
+import net.runelite.api.Constants;
 import net.runelite.api.DecorativeObject;
 import net.runelite.api.GameObject;
 import net.runelite.api.GameState;
@@ -53,6 +57,7 @@ import net.runelite.api.Scene;
 import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ConfigChanged;
 import net.runelite.api.events.DecorativeObjectDespawned;
 import net.runelite.api.events.DecorativeObjectSpawned;
 import net.runelite.api.events.FocusChanged;
@@ -61,8 +66,10 @@ import net.runelite.api.events.GameObjectSpawned;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.client.RuneLite;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.MarkerStore;
 import net.runelite.client.input.KeyListener;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.plugins.Plugin;
@@ -80,11 +87,40 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 {
 	private static final String CONFIG_GROUP = "objectindicators";
 	private static final String MARK = "Mark object";
+	private static final String REGION_PREFIX = "region_";
+
+	/**
+	 * Names of the objects marked on a tile in the marker store
+	 */
+	private static final MarkerStore.Codec<Set<String>> CODEC = new MarkerStore.Codec<Set<String>>()
+	{
+		@Override
+		public void write(DataOutput out, Set<String> names) throws IOException
+		{
+			out.writeByte(names.size());
+			for (String name : names)
+			{
+				out.writeUTF(name);
+			}
+		}
+
+		@Override
+		public Set<String> read(DataInput in) throws IOException
+		{
+			final int count = in.readUnsignedByte();
+			final Set<String> names = new HashSet<>(count);
+			for (int i = 0; i < count; ++i)
+			{
+				names.add(in.readUTF());
+			}
+			return names;
+		}
+	};
 
 	private final Gson GSON = new Gson();
 	@Getter(AccessLevel.PACKAGE)
 	private final List<TileObject> objects = new ArrayList<>();
-	private final Map<Integer, Set<ObjectPoint>> points = new HashMap<>();
+	private MarkerStore<Set<String>> store;
 	private boolean hotKeyPressed;
 
 	@Inject
@@ -102,6 +138,9 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 	@Inject
 	private KeyManager keyManager;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
 	@Provides
 	ObjectIndicatorsConfig provideConfig(ConfigManager configManager)
 	{
@@ -113,6 +152,8 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 	{
 		overlayManager.add(overlay);
 		keyManager.registerKeyListener(this);
+		store = new MarkerStore<>(new File(RuneLite.MARKERS_DIR, CONFIG_GROUP), CODEC, executor);
+		migratePoints();
 	}
 
 	@Override
@@ -120,9 +161,10 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 	{
 		overlayManager.remove(overlay);
 		keyManager.unregisterKeyListener(this);
-		points.clear();
 		objects.clear();
 		hotKeyPressed = false;
+		store.save();
+		store = null;
 	}
 
 	@Override
@@ -149,6 +191,29 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 		}
 	}
 
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		// Points can be set in the config after startup, such as when it is reloaded on login
+		if (!event.getGroup().equals(CONFIG_GROUP) || event.getNewValue() == null || !event.getKey().startsWith(REGION_PREFIX))
+		{
+			return;
+		}
+
+		final int regionId;
+		try
+		{
+			regionId = Integer.parseInt(event.getKey().substring(REGION_PREFIX.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			return;
+		}
+
+		migrateRegion(regionId);
+		removeMigratedPoints(Collections.singletonList(regionId));
+	}
+
 	@Subscribe
 	public void onFocusChanged(final FocusChanged event)
 	{
@@ -190,18 +255,8 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 		GameState gameState = gameStateChanged.getGameState();
 		if (gameState == GameState.LOADING)
 		{
-			// Reload points with new map regions
-
-			points.clear();
-			for (int regionId : client.getMapRegions())
-			{
-				// load points for region
-				final Set<ObjectPoint> regionPoints = loadPoints(regionId);
-				if (regionPoints != null)
-				{
-					points.put(regionId, regionPoints);
-				}
-			}
+			// Points of the new map regions are loaded as objects spawn
+			store.retain(client.getMapRegions());
 		}
 
 		if (gameStateChanged.getGameState() != GameState.LOGGED_IN)
@@ -264,23 +319,17 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 	private void checkObjectPoints(TileObject object)
 	{
 		final WorldPoint worldPoint = WorldPoint.fromLocalInstance(client, object.getLocalLocation());
-		final Set<ObjectPoint> objectPoints = points.get(worldPoint.getRegionID());
 
-		if (objectPoints == null)
+		// Markers are saved with the player's plane, which on bridges and overhangs can differ from the
+		// object's, so as before markers on any plane of the tile match
+		for (int plane = 0; plane < Constants.MAX_Z; ++plane)
 		{
-			return;
-		}
+			final Set<String> names = store.get(worldPoint.getRegionID(), worldPoint.getRegionX(), worldPoint.getRegionY(), plane);
 
-		for (ObjectPoint objectPoint : objectPoints)
-		{
-			if ((worldPoint.getX() & (REGION_SIZE - 1)) == objectPoint.getRegionX()
-				&& (worldPoint.getY() & (REGION_SIZE - 1)) == objectPoint.getRegionY())
+			if (names != null && names.contains(client.getObjectDefinition(object.getId()).getName()))
 			{
-				if (objectPoint.getName().equals(client.getObjectDefinition(object.getId()).getName()))
-				{
-					objects.add(object);
-					break;
-				}
+				objects.add(object);
+				return;
 			}
 		}
 	}
@@ -339,45 +388,93 @@ public class ObjectIndicatorsPlugin extends Plugin implements KeyListener
 
 		final WorldPoint worldPoint = WorldPoint.fromLocalInstance(client, object.getLocalLocation());
 		final int regionId = worldPoint.getRegionID();
-		final ObjectPoint point = new ObjectPoint(
-			name,
-			regionId,
-			worldPoint.getX() & (REGION_SIZE - 1),
-			worldPoint.getY() & (REGION_SIZE - 1),
-			client.getPlane());
+		final int regionX = worldPoint.getRegionX();
+		final int regionY = worldPoint.getRegionY();
+		final int plane = client.getPlane();
 
-		Set<ObjectPoint> objectPoints = points.computeIfAbsent(regionId, k -> new HashSet<>());
+		// stored sets are shared with the marker store, so modify a copy
+		final Set<String> names = store.get(regionId, regionX, regionY, plane);
+		final Set<String> newNames = names == null ? new HashSet<>() : new HashSet<>(names);
 
-		if (objectPoints.contains(point))
+		if (newNames.remove(name))
 		{
-			objectPoints.remove(point);
 			objects.remove(object);
 		}
 		else
 		{
-			objectPoints.add(point);
+			newNames.add(name);
 			objects.add(object);
 		}
 
-		savePoints(regionId, objectPoints);
+		store.put(regionId, regionX, regionY, plane, newNames.isEmpty() ? null : newNames);
 	}
 
-	private void savePoints(final int id, final Set<ObjectPoint> points)
+	/**
+	 * Move points saved in the config by older versions of the plugin into the marker store
+	 */
+	private void migratePoints()
 	{
-		if (points.isEmpty())
+		final String prefix = CONFIG_GROUP + "." + REGION_PREFIX;
+		final List<Integer> regionIds = new ArrayList<>();
+		for (String key : configManager.getConfigurationKeys(prefix))
 		{
-			configManager.unsetConfiguration(CONFIG_GROUP, "region_" + id);
+			final int regionId;
+			try
+			{
+				regionId = Integer.parseInt(key.substring(prefix.length()));
+			}
+			catch (NumberFormatException e)
+			{
+				continue;
+			}
+
+			migrateRegion(regionId);
+			regionIds.add(regionId);
 		}
-		else
+
+		removeMigratedPoints(regionIds);
+	}
+
+	private void migrateRegion(int regionId)
+	{
+		final Set<ObjectPoint> regionPoints = loadPoints(regionId);
+		if (regionPoints != null)
+		{
+			for (ObjectPoint point : regionPoints)
+			{
+				final Set<String> names = store.get(point.getRegionId(), point.getRegionX(), point.getRegionY(), point.getZ());
+				final Set<String> newNames = names == null ? new HashSet<>() : new HashSet<>(names);
+				newNames.add(point.getName());
+				store.put(point.getRegionId(), point.getRegionX(), point.getRegionY(), point.getZ(), newNames);
+			}
+		}
+	}
+
+	/**
+	 * Remove migrated points from the config, once the marker store has saved them
+	 */
+	private void removeMigratedPoints(List<Integer> regionIds)
+	{
+		if (regionIds.isEmpty())
+		{
+			return;
+		}
+
+		if (!store.save())
+		{
+			log.warn("Unable to save migrated points, keeping them in the config");
+			return;
+		}
+
+		for (int regionId : regionIds)
 		{
-			final String json = GSON.toJson(points);
-			configManager.setConfiguration(CONFIG_GROUP, "region_" + id, json);
+			configManager.unsetConfiguration(CONFIG_GROUP, REGION_PREFIX + regionId);
 		}
 	}
 
 	private Set<ObjectPoint> loadPoints(final int id)
 	{
-		final String json = configManager.getConfiguration(CONFIG_GROUP, "region_" + id);
+		final String json = configManager.getConfiguration(CONFIG_GROUP, REGION_PREFIX + id);
 
 		if (Strings.isNullOrEmpty(json))
 		{
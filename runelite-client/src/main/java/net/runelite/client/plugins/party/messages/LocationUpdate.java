@@ -27,11 +27,18 @@ package net.runelite.client.plugins.party.messages;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.ws.CoalescedMessage;
 import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
 
 @Value
 @EqualsAndHashCode(callSuper = true)
-public class LocationUpdate extends PartyMemberMessage
+public class LocationUpdate extends PartyMemberMessage implements CoalescedMessage
 {
 	private final WorldPoint worldPoint;
+
+	@Override
+	public Object getCoalesceKey()
+	{
+		return getMemberId();
+	}
 }
@@ -27,13 +27,20 @@ package net.runelite.client.plugins.party.messages;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.runelite.api.Skill;
+import net.runelite.client.ws.CoalescedMessage;
 import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
 
 @AllArgsConstructor
 @Getter
-public class SkillUpdate extends PartyMemberMessage
+public class SkillUpdate extends PartyMemberMessage implements CoalescedMessage
 {
 	private final Skill skill;
 	private final int value;
 	private final int max;
+
+	@Override
+	public Object getCoalesceKey()
+	{
+		return skill;
+	}
 }
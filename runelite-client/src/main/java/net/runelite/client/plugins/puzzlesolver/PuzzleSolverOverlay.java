@@ -50,7 +50,7 @@ import net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver;
 import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
 import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
-import net.runelite.client.plugins.puzzlesolver.solver.heuristics.ManhattanDistance;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.LinearConflict;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStar;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStarMM;
 import net.runelite.client.ui.overlay.Overlay;
@@ -434,11 +434,11 @@ public class PuzzleSolverOverlay extends Overlay
 
 		if (useNormalSolver)
 		{
-			solver = new PuzzleSolver(new IDAStar(new ManhattanDistance()), puzzleState);
+			solver = new PuzzleSolver(new IDAStar(new LinearConflict()), puzzleState);
 		}
 		else
 		{
-			solver = new PuzzleSolver(new IDAStarMM(new ManhattanDistance()), puzzleState);
+			solver = new PuzzleSolver(new IDAStarMM(new LinearConflict()), puzzleState);
 		}
 
 		solverFuture = executorService.submit(solver);
@@ -30,4 +30,21 @@ import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 public interface Heuristic
 {
 	int computeValue(PuzzleState state);
+
+	/**
+	 * Computes the value of a board.
+	 *
+	 * @param pieces the pieces of the board, row by row
+	 */
+	int computeValue(int[] pieces);
+
+	/**
+	 * Computes the value of a board after a piece is moved into the empty space next to it.
+	 *
+	 * @param pieces the pieces of the board, before the move
+	 * @param value  the value of the board before the move
+	 * @param from   the position of the piece being moved
+	 * @param to     the position of the empty space
+	 */
+	int updateValue(int[] pieces, int value, int from, int to);
 }
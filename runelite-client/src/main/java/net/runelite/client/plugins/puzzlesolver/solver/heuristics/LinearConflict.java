@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.heuristics;
+
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+
+/**
+ * The manhattan distance plus linear conflicts. Pieces which are in their goal row or column,
+ * but in the wrong order, have to leave the line to pass each other, which costs at least two
+ * moves more than their manhattan distance for each piece that has to move out of the way.
+ */
+public class LinearConflict implements Heuristic
+{
+	/**
+	 * Number of codes a position in a line can have, no goal piece or the goal index of its piece
+	 */
+	private static final int CODES = DIMENSION + 1;
+
+	/**
+	 * Number of pieces which have to leave a line, indexed by the codes of its positions
+	 */
+	private static final byte[] CONFLICTS;
+
+	/**
+	 * Place value of the code of each position in a line
+	 */
+	private static final int[] PLACES = new int[DIMENSION];
+
+	static
+	{
+		int lines = 1;
+		for (int i = 0; i < DIMENSION; i++)
+		{
+			PLACES[i] = lines;
+			lines *= CODES;
+		}
+
+		CONFLICTS = new byte[lines];
+
+		int[] longest = new int[DIMENSION];
+		for (int line = 0; line < lines; line++)
+		{
+			// pieces which stay in the line are the longest increasing run of goal indexes
+			int pieces = 0;
+			int stay = 0;
+
+			for (int i = 0, l = line; i < DIMENSION; i++, l /= CODES)
+			{
+				int code = l % CODES;
+				longest[i] = 0;
+
+				if (code == 0)
+				{
+					continue;
+				}
+
+				pieces++;
+				longest[i] = 1;
+
+				for (int j = 0, k = line; j < i; j++, k /= CODES)
+				{
+					int other = k % CODES;
+					if (other != 0 && other < code)
+					{
+						longest[i] = Math.max(longest[i], longest[j] + 1);
+					}
+				}
+
+				stay = Math.max(stay, longest[i]);
+			}
+
+			CONFLICTS[line] = (byte) (pieces - stay);
+		}
+	}
+
+	private final ManhattanDistance manhattanDistance = new ManhattanDistance();
+
+	@Override
+	public int computeValue(PuzzleState state)
+	{
+		int[] pieces = new int[DIMENSION * DIMENSION];
+
+		for (int y = 0; y < DIMENSION; y++)
+		{
+			for (int x = 0; x < DIMENSION; x++)
+			{
+				pieces[y * DIMENSION + x] = state.getPiece(x, y);
+			}
+		}
+
+		return computeValue(pieces);
+	}
+
+	@Override
+	public int computeValue(int[] pieces)
+	{
+		int value = manhattanDistance.computeValue(pieces);
+
+		for (int i = 0; i < DIMENSION; i++)
+		{
+			value += 2 * (rowConflicts(pieces, i) + columnConflicts(pieces, i));
+		}
+
+		return value;
+	}
+
+	@Override
+	public int updateValue(int[] pieces, int value, int from, int to)
+	{
+		value = manhattanDistance.updateValue(pieces, value, from, to);
+
+		int piece = pieces[from];
+		int goalX = piece % DIMENSION;
+		int goalY = piece / DIMENSION;
+		int fromX = from % DIMENSION;
+		int fromY = from / DIMENSION;
+
+		int line;
+		int change;
+		boolean leaving;
+
+		if (fromY == to / DIMENSION)
+		{
+			// a piece moving sideways stays in its row, so only its goal column can change
+			if (goalX != fromX && goalX != to % DIMENSION)
+			{
+				return value;
+			}
+
+			line = columnLine(pieces, goalX);
+			change = (goalY + 1) * PLACES[fromY];
+			leaving = goalX == fromX;
+		}
+		else
+		{
+			// and a piece moving up or down stays in its column, so only its goal row can change
+			if (goalY != fromY && goalY != to / DIMENSION)
+			{
+				return value;
+			}
+
+			line = rowLine(pieces, goalY);
+			change = (goalX + 1) * PLACES[fromX];
+			leaving = goalY == fromY;
+		}
+
+		int moved = leaving ? line - change : line + change;
+		return value + 2 * (CONFLICTS[moved] - CONFLICTS[line]);
+	}
+
+	private static int rowConflicts(int[] pieces, int row)
+	{
+		return CONFLICTS[rowLine(pieces, row)];
+	}
+
+	private static int columnConflicts(int[] pieces, int column)
+	{
+		return CONFLICTS[columnLine(pieces, column)];
+	}
+
+	/**
+	 * Gets the index of a row in {@link #CONFLICTS}
+	 */
+	private static int rowLine(int[] pieces, int row)
+	{
+		int line = 0;
+
+		for (int x = DIMENSION - 1; x >= 0; x--)
+		{
+			int piece = pieces[row * DIMENSION + x];
+			int code = piece != BLANK_TILE_VALUE && piece / DIMENSION == row ? piece % DIMENSION + 1 : 0;
+			line = line * CODES + code;
+		}
+
+		return line;
+	}
+
+	/**
+	 * Gets the index of a column in {@link #CONFLICTS}
+	 */
+	private static int columnLine(int[] pieces, int column)
+	{
+		int line = 0;
+
+		for (int y = DIMENSION - 1; y >= 0; y--)
+		{
+			int piece = pieces[y * DIMENSION + column];
+			int code = piece != BLANK_TILE_VALUE && piece % DIMENSION == column ? piece / DIMENSION + 1 : 0;
+			line = line * CODES + code;
+		}
+
+		return line;
+	}
+}
@@ -37,6 +37,23 @@ import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
  */
 public class ManhattanDistance implements Heuristic
 {
+	/**
+	 * Distance of each piece from its goal, indexed by piece and then position
+	 */
+	private static final int[][] DISTANCE = new int[DIMENSION * DIMENSION][DIMENSION * DIMENSION];
+
+	static
+	{
+		for (int piece = 0; piece < DISTANCE.length; piece++)
+		{
+			for (int position = 0; position < DISTANCE[piece].length; position++)
+			{
+				DISTANCE[piece][position] = Math.abs(position % DIMENSION - piece % DIMENSION)
+					+ Math.abs(position / DIMENSION - piece / DIMENSION);
+			}
+		}
+	}
+
 	@Override
 	public int computeValue(PuzzleState state)
 	{
@@ -143,4 +160,29 @@ public class ManhattanDistance implements Heuristic
 
 		return value;
 	}
+
+	@Override
+	public int computeValue(int[] pieces)
+	{
+		int value = 0;
+
+		for (int position = 0; position < pieces.length; position++)
+		{
+			int piece = pieces[position];
+
+			if (piece != BLANK_TILE_VALUE)
+			{
+				value += DISTANCE[piece][position];
+			}
+		}
+
+		return value;
+	}
+
+	@Override
+	public int updateValue(int[] pieces, int value, int from, int to)
+	{
+		int[] distance = DISTANCE[pieces[from]];
+		return value - distance[from] + distance[to];
+	}
 }
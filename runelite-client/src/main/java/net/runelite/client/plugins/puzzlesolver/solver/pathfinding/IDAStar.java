@@ -26,17 +26,72 @@
 package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 import net.runelite.client.plugins.puzzlesolver.solver.heuristics.Heuristic;
 
 /**
  * An implementation of the IDA* algorithm.
  * <p>
+ * Pieces are moved on a single board per search and moved back when backtracking, with the
+ * heuristic value updated for each move rather than recomputed. Every iteration is split into
+ * the subtrees below the first few moves, which are searched in parallel.
+ * <p>
  * https://en.wikipedia.org/wiki/Iterative_deepening_A*
  */
 public class IDAStar extends Pathfinder
 {
+	/**
+	 * Number of moves expanded before splitting the search
+	 */
+	private static final int SPLIT_DEPTH = 4;
+
+	/**
+	 * Number of nodes searched between checks for a solution found by another search or an interrupt
+	 */
+	private static final int CHECK_INTERVAL_MASK = 0xFFFF;
+
+	private static final int FOUND = -1;
+	private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+	/**
+	 * Positions next to each position, which the empty piece can move to
+	 */
+	private static final int[][] NEIGHBOURS = new int[DIMENSION * DIMENSION][];
+
+	static
+	{
+		for (int position = 0; position < NEIGHBOURS.length; position++)
+		{
+			int x = position % DIMENSION;
+			int y = position / DIMENSION;
+			List<Integer> neighbours = new ArrayList<>(4);
+
+			if (x > 0)
+			{
+				neighbours.add(position - 1);
+			}
+			if (x < DIMENSION - 1)
+			{
+				neighbours.add(position + 1);
+			}
+			if (y > 0)
+			{
+				neighbours.add(position - DIMENSION);
+			}
+			if (y < DIMENSION - 1)
+			{
+				neighbours.add(position + DIMENSION);
+			}
+
+			NEIGHBOURS[position] = neighbours.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
 	public IDAStar(Heuristic heuristic)
 	{
 		super(heuristic);
@@ -45,62 +100,245 @@ public class IDAStar extends Pathfinder
 	@Override
 	public List<PuzzleState> computePath(PuzzleState root)
 	{
-		PuzzleState goalNode = path(root);
+		int[] pieces = new int[DIMENSION * DIMENSION];
+
+		for (int y = 0; y < DIMENSION; y++)
+		{
+			for (int x = 0; x < DIMENSION; x++)
+			{
+				pieces[y * DIMENSION + x] = root.getPiece(x, y);
+			}
+		}
 
-		List<PuzzleState> path = new ArrayList<>();
+		int[] moves = path(new Node(pieces, root.getEmptyPiece(), getHeuristic().computeValue(pieces)));
 
-		PuzzleState parent = goalNode;
-		while (parent != null)
+		if (moves == null)
 		{
-			path.add(0, parent);
-			parent = parent.getParent();
+			return null;
+		}
+
+		List<PuzzleState> path = new ArrayList<>(moves.length + 1);
+
+		PuzzleState state = root;
+		path.add(state);
+
+		for (int position : moves)
+		{
+			int emptyPiece = state.getEmptyPiece();
+			state = state.swap(emptyPiece % DIMENSION, emptyPiece / DIMENSION, position % DIMENSION, position / DIMENSION);
+			path.add(state);
 		}
 
 		return path;
 	}
 
-	private PuzzleState path(PuzzleState root)
+	/**
+	 * Finds the shortest path from the root
+	 *
+	 * @return the positions the empty piece moves to, or null if the search was interrupted
+	 */
+	private int[] path(Node root)
 	{
-		int bound = root.getHeuristicValue(getHeuristic());
+		// Solutions shorter than the split depth are found while expanding the first moves
+		List<Node> frontier = new ArrayList<>();
+		frontier.add(root);
+
+		for (int depth = 0; depth < SPLIT_DEPTH; depth++)
+		{
+			List<Node> next = new ArrayList<>();
+
+			for (Node node : frontier)
+			{
+				if (node.h == 0)
+				{
+					return node.moves;
+				}
+
+				node.expand(getHeuristic(), next);
+			}
+
+			frontier = next;
+		}
+
+		Thread caller = Thread.currentThread();
+		int bound = root.h;
 
 		while (true)
 		{
-			PuzzleState t = search(root, 0, bound);
+			int b = bound;
+			AtomicReference<int[]> solution = new AtomicReference<>();
+
+			int next = frontier.parallelStream()
+				.mapToInt(node -> new Search(node, b, solution, caller).search())
+				.min()
+				.orElse(NOT_FOUND);
+
+			if (solution.get() != null)
+			{
+				return solution.get();
+			}
 
-			if (t != null)
+			if (next == NOT_FOUND || caller.isInterrupted())
 			{
-				return t;
+				return null;
 			}
 
-			bound += 1;
+			bound = next;
 		}
 	}
 
-	private PuzzleState search(PuzzleState node, int g, int bound)
+	/**
+	 * A board reached by the first moves of the search
+	 */
+	private static class Node
 	{
-		int h = node.getHeuristicValue(getHeuristic());
-		int f = g + h;
+		private final int[] pieces;
+		private final int emptyPiece;
+		private final int previous;
+		private final int[] moves;
+		private final int h;
 
-		if (f > bound)
+		Node(int[] pieces, int emptyPiece, int h)
 		{
-			return null;
+			this(pieces, emptyPiece, -1, new int[0], h);
+		}
+
+		private Node(int[] pieces, int emptyPiece, int previous, int[] moves, int h)
+		{
+			this.pieces = pieces;
+			this.emptyPiece = emptyPiece;
+			this.previous = previous;
+			this.moves = moves;
+			this.h = h;
+		}
+
+		void expand(Heuristic heuristic, List<Node> successors)
+		{
+			for (int position : NEIGHBOURS[emptyPiece])
+			{
+				// Moving the empty piece back to where it was is never part of a shortest path
+				if (position == previous)
+				{
+					continue;
+				}
+
+				int h = heuristic.updateValue(pieces, this.h, position, emptyPiece);
+
+				int[] successor = Arrays.copyOf(pieces, pieces.length);
+				successor[emptyPiece] = pieces[position];
+				successor[position] = BLANK_TILE_VALUE;
+
+				int[] path = Arrays.copyOf(moves, moves.length + 1);
+				path[moves.length] = position;
+
+				successors.add(new Node(successor, position, emptyPiece, path, h));
+			}
 		}
+	}
+
+	/**
+	 * A depth first search of the subtree below a node, up to a bound
+	 */
+	private class Search
+	{
+		private final Heuristic heuristic = getHeuristic();
+		private final Node node;
+		private final int bound;
+		private final AtomicReference<int[]> solution;
+		private final Thread caller;
+
+		private final int[] pieces;
+		private final int[] moves;
+		private int emptyPiece;
+		private int length;
+		private int nodes;
+		private boolean stopped;
 
-		if (h == 0)
+		Search(Node node, int bound, AtomicReference<int[]> solution, Thread caller)
 		{
-			return node;
+			this.node = node;
+			this.bound = bound;
+			this.solution = solution;
+			this.caller = caller;
+
+			pieces = Arrays.copyOf(node.pieces, node.pieces.length);
+			moves = Arrays.copyOf(node.moves, Math.max(bound, node.moves.length));
+			emptyPiece = node.emptyPiece;
 		}
 
-		for (PuzzleState successor : node.computeMoves())
+		/**
+		 * @return the lowest cost exceeding the bound, {@link #FOUND} if a solution was found
+		 * or {@link #NOT_FOUND} if there is nothing left to search
+		 */
+		int search()
 		{
-			PuzzleState t = search(successor, g + 1, bound);
+			int t = search(node.moves.length, node.h, node.previous);
 
-			if (t != null)
+			if (t == FOUND)
 			{
-				return t;
+				solution.compareAndSet(null, Arrays.copyOf(moves, length));
 			}
+
+			return t;
 		}
 
-		return null;
+		private int search(int g, int h, int previous)
+		{
+			int f = g + h;
+
+			if (f > bound)
+			{
+				return f;
+			}
+
+			if (h == 0)
+			{
+				length = g;
+				return FOUND;
+			}
+
+			if ((++nodes & CHECK_INTERVAL_MASK) == 0)
+			{
+				stopped = solution.get() != null || caller.isInterrupted();
+			}
+
+			if (stopped)
+			{
+				return NOT_FOUND;
+			}
+
+			int min = NOT_FOUND;
+			int emptyPiece = this.emptyPiece;
+
+			for (int position : NEIGHBOURS[emptyPiece])
+			{
+				if (position == previous)
+				{
+					continue;
+				}
+
+				int successorH = heuristic.updateValue(pieces, h, position, emptyPiece);
+
+				pieces[emptyPiece] = pieces[position];
+				pieces[position] = BLANK_TILE_VALUE;
+				this.emptyPiece = position;
+				moves[g] = position;
+
+				int t = search(g + 1, successorH, emptyPiece);
+
+				pieces[position] = pieces[emptyPiece];
+				pieces[emptyPiece] = BLANK_TILE_VALUE;
+				this.emptyPiece = emptyPiece;
+
+				if (t == FOUND)
+				{
+					return FOUND;
+				}
+
+				min = Math.min(min, t);
+			}
+
+			return min;
+		}
 	}
 }
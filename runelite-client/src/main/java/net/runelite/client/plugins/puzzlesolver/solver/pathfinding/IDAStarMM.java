@@ -86,7 +86,13 @@ public class IDAStarMM extends IDAStar
 		stateList.remove(stateList.size() - 1);
 
 		//Pathfinder for 4x4
-		path.addAll(super.computePath(currentState));
+		List<PuzzleState> remaining = super.computePath(currentState);
+		if (remaining == null)
+		{
+			return null;
+		}
+
+		path.addAll(remaining);
 
 		path.addAll(0, stateList);
 
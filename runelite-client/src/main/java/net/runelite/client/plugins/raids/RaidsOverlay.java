@@ -95,6 +95,7 @@ public class RaidsOverlay extends Overlay
 		super(plugin);
 		setPosition(OverlayPosition.TOP_LEFT);
 		setPriority(OverlayPriority.LOW);
+		setAdaptiveRendering(true);
 		this.client = client;
 		this.plugin = plugin;
 		this.config = config;
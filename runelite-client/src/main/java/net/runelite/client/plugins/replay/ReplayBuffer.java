@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.replay;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * A ring buffer of the most recent frames of a recording, kept in a fixed block of off-heap
+ * memory.
+ * <p>
+ * Each frame is stored as the difference to the frame before it: the pixels are xored with the
+ * previous frame, and the resulting runs of unchanged (zero) pixels are skipped. Every so often a
+ * key frame is stored against a black frame instead, so the recording can be decoded again once
+ * the frames before it have been overwritten.
+ * <p>
+ * Appending doesn't allocate unless the frame size changes.
+ */
+class ReplayBuffer
+{
+	private final ByteBuffer data;
+	private final long maxAge;
+	private final int keyFrameInterval;
+
+	// The frames in the buffer, from the oldest at first. The frames are stored in the order they
+	// were added, wrapping back to the start of the buffer when they don't fit at its end.
+	private final int[] offsets;
+	private final int[] lengths;
+	private final int[] widths;
+	private final int[] heights;
+	private final long[] times;
+	private final boolean[] keyFrames;
+	private int first;
+	@Getter(AccessLevel.PACKAGE)
+	private int count;
+
+	private int writePosition;
+	private int framesSinceKeyFrame;
+
+	private int[] previous = new int[0];
+	private byte[] scratch = new byte[0];
+	private int width = -1;
+	private int height = -1;
+
+	/**
+	 * @param capacity         the number of bytes of memory for the frames
+	 * @param maxFrames        the maximum number of frames kept
+	 * @param maxAge           the maximum age of kept frames, in milliseconds
+	 * @param keyFrameInterval the number of frames between key frames
+	 */
+	ReplayBuffer(int capacity, int maxFrames, long maxAge, int keyFrameInterval)
+	{
+		this.data = ByteBuffer.allocateDirect(capacity);
+		this.maxAge = maxAge;
+		this.keyFrameInterval = keyFrameInterval;
+		this.offsets = new int[maxFrames];
+		this.lengths = new int[maxFrames];
+		this.widths = new int[maxFrames];
+		this.heights = new int[maxFrames];
+		this.times = new long[maxFrames];
+		this.keyFrames = new boolean[maxFrames];
+	}
+
+	/**
+	 * Adds a frame, dropping the frames which are too old or in the way of it
+	 *
+	 * @param pixels the rgb pixels of the frame, row by row
+	 * @param time   the time of the frame, in milliseconds
+	 */
+	synchronized void append(int[] pixels, int width, int height, long time)
+	{
+		final int size = width * height;
+
+		boolean keyFrame = framesSinceKeyFrame >= keyFrameInterval;
+		if (width != this.width || height != this.height)
+		{
+			this.width = width;
+			this.height = height;
+			previous = new int[size];
+			scratch = new byte[maxCompressedLength(size)];
+			keyFrame = true;
+		}
+
+		if (keyFrame)
+		{
+			Arrays.fill(previous, 0);
+			framesSinceKeyFrame = 0;
+		}
+		framesSinceKeyFrame++;
+
+		final int length = compress(pixels, previous, size, scratch);
+		System.arraycopy(pixels, 0, previous, 0, size);
+
+		while (count > 0 && (times[first] < time - maxAge || count == offsets.length))
+		{
+			removeOldest();
+		}
+
+		if (length > data.capacity())
+		{
+			// the memory budget is too small for even one frame
+			clear();
+			return;
+		}
+
+		if (writePosition + length > data.capacity())
+		{
+			// the frame doesn't fit at the end, so the frames there are dropped as they would be
+			// overwritten next
+			while (count > 0 && offsets[first] >= writePosition)
+			{
+				removeOldest();
+			}
+			writePosition = 0;
+		}
+
+		// the oldest frames are the ones from the write position on, and they are dropped while they
+		// start within the new frame. Empty frames are checked by their offset too, or one at the
+		// write position would keep the frames after it from being dropped.
+		while (count > 0 && offsets[first] >= writePosition && offsets[first] < writePosition + length)
+		{
+			removeOldest();
+		}
+
+		data.position(writePosition);
+		data.put(scratch, 0, length);
+
+		final int index = (first + count++) % offsets.length;
+		offsets[index] = writePosition;
+		lengths[index] = length;
+		widths[index] = width;
+		heights[index] = height;
+		times[index] = time;
+		keyFrames[index] = keyFrame;
+
+		writePosition += length;
+	}
+
+	synchronized void clear()
+	{
+		first = 0;
+		count = 0;
+		writePosition = 0;
+		// start over with a key frame
+		width = -1;
+		height = -1;
+	}
+
+	/**
+	 * Copies the frames which can be decoded out of the buffer, starting from the oldest key frame
+	 */
+	synchronized Recording copy()
+	{
+		int start = 0;
+		while (start < count && !keyFrames[(first + start) % offsets.length])
+		{
+			start++;
+		}
+
+		final int frames = count - start;
+		final Recording recording = new Recording(frames);
+		int totalLength = 0;
+		for (int i = 0; i < frames; i++)
+		{
+			totalLength += lengths[(first + start + i) % offsets.length];
+		}
+
+		recording.data = new byte[totalLength];
+		int position = 0;
+		for (int i = 0; i < frames; i++)
+		{
+			final int index = (first + start + i) % offsets.length;
+			recording.offsets[i] = position;
+			recording.lengths[i] = lengths[index];
+			recording.widths[i] = widths[index];
+			recording.heights[i] = heights[index];
+			recording.times[i] = times[index];
+			recording.keyFrames[i] = keyFrames[index];
+
+			data.position(offsets[index]);
+			data.get(recording.data, position, lengths[index]);
+			position += lengths[index];
+		}
+		return recording;
+	}
+
+	private void removeOldest()
+	{
+		first = (first + 1) % offsets.length;
+		count--;
+	}
+
+	static int maxCompressedLength(int size)
+	{
+		// at worst every other pixel changes, costing a byte for each run length and 3 for the
+		// pixel. Run lengths only take more bytes for runs of 128 pixels or more.
+		return size * 3 + (size / 2 + 1) * 2 + size / 64 + 10;
+	}
+
+	/**
+	 * Compresses a frame as the runs of pixels which changed from the previous frame. Each run is
+	 * written as the number of unchanged pixels before it and its length, as varints, followed by
+	 * the xored rgb of its pixels.
+	 *
+	 * @return the length of the compressed frame
+	 */
+	static int compress(int[] pixels, int[] previous, int size, byte[] out)
+	{
+		int position = 0;
+		int i = 0;
+		while (i < size)
+		{
+			final int runStart = i;
+			while (i < size && ((pixels[i] ^ previous[i]) & 0xffffff) == 0)
+			{
+				i++;
+			}
+			if (i == size)
+			{
+				break;
+			}
+
+			final int changedStart = i;
+			while (i < size && ((pixels[i] ^ previous[i]) & 0xffffff) != 0)
+			{
+				i++;
+			}
+
+			position = putVarInt(out, position, changedStart - runStart);
+			position = putVarInt(out, position, i - changedStart);
+			for (int j = changedStart; j < i; j++)
+			{
+				final int delta = pixels[j] ^ previous[j];
+				out[position++] = (byte) (delta >>> 16);
+				out[position++] = (byte) (delta >>> 8);
+				out[position++] = (byte) delta;
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Applies a compressed frame to the previous frame
+	 */
+	static void decompress(byte[] in, int offset, int length, int[] pixels)
+	{
+		final int end = offset + length;
+		int position = offset;
+		int i = 0;
+		while (position < end)
+		{
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do
+			{
+				b = in[position++];
+				value |= (b & 0x7f) << shift;
+				shift += 7;
+			}
+			while (b < 0);
+			i += value;
+
+			value = 0;
+			shift = 0;
+			do
+			{
+				b = in[position++];
+				value |= (b & 0x7f) << shift;
+				shift += 7;
+			}
+			while (b < 0);
+
+			for (int changedEnd = i + value; i < changedEnd; i++)
+			{
+				pixels[i] ^= (in[position] & 0xff) << 16 | (in[position + 1] & 0xff) << 8 | (in[position + 2] & 0xff);
+				position += 3;
+			}
+		}
+	}
+
+	private static int putVarInt(byte[] out, int position, int value)
+	{
+		while ((value & ~0x7f) != 0)
+		{
+			out[position++] = (byte) (value & 0x7f | 0x80);
+			value >>>= 7;
+		}
+		out[position++] = (byte) value;
+		return position;
+	}
+
+	/**
+	 * Frames copied out of a {@link ReplayBuffer}, starting with a key frame
+	 */
+	static class Recording
+	{
+		final int[] offsets;
+		final int[] lengths;
+		final int[] widths;
+		final int[] heights;
+		final long[] times;
+		final boolean[] keyFrames;
+		byte[] data;
+
+		private Recording(int frames)
+		{
+			offsets = new int[frames];
+			lengths = new int[frames];
+			widths = new int[frames];
+			heights = new int[frames];
+			times = new long[frames];
+			keyFrames = new boolean[frames];
+		}
+
+		int getFrames()
+		{
+			return offsets.length;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.replay;
+
+import net.runelite.client.config.Config;
+import net.runelite.client.config.ConfigGroup;
+import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.Keybind;
+import net.runelite.client.config.Range;
+
+@ConfigGroup("replay")
+public interface ReplayConfig extends Config
+{
+	@Range(
+		min = 1,
+		max = 60
+	)
+	@ConfigItem(
+		keyName = "seconds",
+		name = "Length",
+		description = "The number of seconds of the game kept for replays",
+		position = 0
+	)
+	default int seconds()
+	{
+		return 10;
+	}
+
+	@Range(
+		min = 1,
+		max = 30
+	)
+	@ConfigItem(
+		keyName = "framesPerSecond",
+		name = "Frames per second",
+		description = "The number of frames recorded per second",
+		position = 1
+	)
+	default int framesPerSecond()
+	{
+		return 10;
+	}
+
+	@Range(
+		min = 1,
+		max = 4
+	)
+	@ConfigItem(
+		keyName = "downscale",
+		name = "Downscale",
+		description = "Recorded frames are this many times smaller than the game in each direction",
+		position = 2
+	)
+	default int downscale()
+	{
+		return 2;
+	}
+
+	@Range(
+		min = 8,
+		max = 1024
+	)
+	@ConfigItem(
+		keyName = "memoryBudget",
+		name = "Memory budget (MB)",
+		description = "The memory used to keep recorded frames. Older frames are dropped when it is full",
+		position = 3
+	)
+	default int memoryBudget()
+	{
+		return 64;
+	}
+
+	@ConfigItem(
+		keyName = "hotkey",
+		name = "Save hotkey",
+		description = "When you press this key the replay is saved",
+		position = 4
+	)
+	default Keybind hotkey()
+	{
+		return Keybind.NOT_SET;
+	}
+
+	@ConfigItem(
+		keyName = "saveOnDeath",
+		name = "Save on death",
+		description = "Configures whether or not the replay is saved when you die",
+		position = 5
+	)
+	default boolean saveOnDeath()
+	{
+		return true;
+	}
+
+	@ConfigItem(
+		keyName = "saveOnValuableDrop",
+		name = "Save on valuable drop",
+		description = "Configures whether or not the replay is saved when you receive a valuable drop",
+		position = 6
+	)
+	default boolean saveOnValuableDrop()
+	{
+		return false;
+	}
+}
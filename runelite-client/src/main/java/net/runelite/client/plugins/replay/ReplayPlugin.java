@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.replay;
+
+import com.google.inject.Provides;
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.BufferProvider;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.ConfigChanged;
+import net.runelite.api.events.LocalPlayerDeath;
+import static net.runelite.client.RuneLite.RUNELITE_DIR;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.plugins.Plugin;
+import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.plugins.PluginType;
+import net.runelite.client.ui.DrawManager;
+import net.runelite.client.util.ExecutorServiceExceptionLogger;
+import net.runelite.client.util.HotkeyListener;
+
+@PluginDescriptor(
+	name = "Replay",
+	description = "Keeps the last seconds of the game, to save as an animated image on death, drops or a hotkey",
+	tags = {"clip", "gif", "record", "video"},
+	enabledByDefault = false,
+	type = PluginType.UTILITY
+)
+@Slf4j
+public class ReplayPlugin extends Plugin
+{
+	private static final String CONFIG_GROUP = "replay";
+	private static final File REPLAY_DIR = new File(RUNELITE_DIR, "replays");
+	private static final DateFormat TIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+	private static final Pattern VALUABLE_DROP_PATTERN = Pattern.compile(".*Valuable drop: ([^<>]+)(?:</col>)?");
+
+	/**
+	 * Seconds between key frames, which bounds how much of the recording is lost when the
+	 * oldest frames are dropped
+	 */
+	private static final int KEY_FRAME_SECONDS = 2;
+
+	@Inject
+	private Client client;
+
+	@Inject
+	private ReplayConfig config;
+
+	@Inject
+	private DrawManager drawManager;
+
+	@Inject
+	private KeyManager keyManager;
+
+	private final Runnable frameListener = this::captureFrame;
+
+	private final HotkeyListener hotkeyListener = new HotkeyListener(() -> config.hotkey())
+	{
+		@Override
+		public void hotkeyPressed()
+		{
+			saveReplay("Replay");
+		}
+	};
+
+	private volatile ReplayRecorder recorder;
+	private ScheduledExecutorService exporter;
+	private long frameInterval;
+	private long nextFrameTime;
+
+	@Provides
+	ReplayConfig getConfig(ConfigManager configManager)
+	{
+		return configManager.getConfig(ReplayConfig.class);
+	}
+
+	@Override
+	protected void startUp() throws Exception
+	{
+		exporter = new ExecutorServiceExceptionLogger(Executors.newSingleThreadScheduledExecutor());
+		startRecording();
+		drawManager.registerEveryFrameListener(frameListener);
+		keyManager.registerKeyListener(hotkeyListener);
+	}
+
+	@Override
+	protected void shutDown() throws Exception
+	{
+		keyManager.unregisterKeyListener(hotkeyListener);
+		drawManager.unregisterEveryFrameListener(frameListener);
+		stopRecording();
+		// replays being saved are still finished
+		exporter.shutdown();
+		exporter = null;
+	}
+
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		if (!event.getGroup().equals(CONFIG_GROUP))
+		{
+			return;
+		}
+
+		switch (event.getKey())
+		{
+			case "seconds":
+			case "framesPerSecond":
+			case "downscale":
+			case "memoryBudget":
+				// the buffer is sized from these, so the recording starts over
+				stopRecording();
+				startRecording();
+				break;
+		}
+	}
+
+	@Subscribe
+	public void onLocalPlayerDeath(LocalPlayerDeath event)
+	{
+		if (config.saveOnDeath())
+		{
+			saveReplay("Death");
+		}
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage event)
+	{
+		if (event.getType() != ChatMessageType.GAMEMESSAGE || !config.saveOnValuableDrop())
+		{
+			return;
+		}
+
+		final Matcher m = VALUABLE_DROP_PATTERN.matcher(event.getMessage());
+		if (m.matches())
+		{
+			saveReplay("Valuable drop " + m.group(1));
+		}
+	}
+
+	private void startRecording()
+	{
+		final int framesPerSecond = config.framesPerSecond();
+		final int seconds = config.seconds();
+		final ReplayBuffer buffer = new ReplayBuffer(config.memoryBudget() << 20, framesPerSecond * seconds + 1,
+			seconds * 1000L, framesPerSecond * KEY_FRAME_SECONDS);
+
+		frameInterval = 1000 / framesPerSecond;
+		nextFrameTime = 0;
+		recorder = new ReplayRecorder(buffer, config.downscale());
+		recorder.start();
+	}
+
+	private void stopRecording()
+	{
+		recorder.stop();
+		recorder = null;
+	}
+
+	/**
+	 * Called on the client thread after each frame is drawn
+	 */
+	private void captureFrame()
+	{
+		final ReplayRecorder recorder = this.recorder;
+		final long now = System.currentTimeMillis();
+		if (recorder == null || now < nextFrameTime)
+		{
+			return;
+		}
+
+		// With the gpu the scene is never drawn to the buffer, which would only show the interface
+		final BufferProvider bufferProvider = client.getBufferProvider();
+		if (client.isGpu() || bufferProvider == null)
+		{
+			return;
+		}
+
+		nextFrameTime = now + frameInterval;
+		recorder.capture(bufferProvider.getPixels(), bufferProvider.getWidth(), bufferProvider.getHeight(), now);
+	}
+
+	private void saveReplay(String name)
+	{
+		final ReplayRecorder recorder = this.recorder;
+		final ScheduledExecutorService exporter = this.exporter;
+		if (recorder == null || exporter == null)
+		{
+			return;
+		}
+
+		final String fileName;
+		synchronized (TIME_FORMAT)
+		{
+			fileName = name + " " + TIME_FORMAT.format(new Date()) + ".gif";
+		}
+
+		exporter.execute(() ->
+		{
+			final ReplayBuffer.Recording recording = recorder.getBuffer().copy();
+			if (recording.getFrames() == 0)
+			{
+				return;
+			}
+
+			REPLAY_DIR.mkdirs();
+			final File file = new File(REPLAY_DIR, fileName);
+			final long start = System.currentTimeMillis();
+
+			try
+			{
+				ReplayWriter.write(recording, file);
+				log.info("Saved replay of {} frames to {} in {}ms", recording.getFrames(), file, System.currentTimeMillis() - start);
+			}
+			catch (IOException ex)
+			{
+				log.warn("error writing replay", ex);
+			}
+		});
+	}
+}
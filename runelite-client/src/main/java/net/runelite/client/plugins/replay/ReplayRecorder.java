@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.replay;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records downscaled frames into a {@link ReplayBuffer} on its own thread.
+ * <p>
+ * Frames are handed over from the client thread through a fixed set of frame buffers, so
+ * capturing doesn't allocate, and frames are skipped while the recorder thread is behind.
+ */
+@Slf4j
+class ReplayRecorder implements Runnable
+{
+	/**
+	 * Frame buffers passed between the client thread and the recorder thread
+	 */
+	private static final int FRAMES_IN_FLIGHT = 2;
+
+	@Getter(AccessLevel.PACKAGE)
+	private final ReplayBuffer buffer;
+	private final int downscale;
+	private final BlockingQueue<Frame> freeFrames = new ArrayBlockingQueue<>(FRAMES_IN_FLIGHT);
+	private final BlockingQueue<Frame> capturedFrames = new ArrayBlockingQueue<>(FRAMES_IN_FLIGHT);
+	private final Thread thread = new Thread(this, "Replay recorder");
+
+	ReplayRecorder(ReplayBuffer buffer, int downscale)
+	{
+		this.buffer = buffer;
+		this.downscale = downscale;
+
+		for (int i = 0; i < FRAMES_IN_FLIGHT; i++)
+		{
+			freeFrames.add(new Frame());
+		}
+
+		thread.setDaemon(true);
+	}
+
+	void start()
+	{
+		thread.start();
+	}
+
+	void stop()
+	{
+		thread.interrupt();
+	}
+
+	/**
+	 * Captures a downscaled copy of a frame, if the recorder thread is ready for it
+	 *
+	 * @param pixels the rgb pixels of the frame, row by row
+	 * @param time   the time of the frame, in milliseconds
+	 */
+	void capture(int[] pixels, int width, int height, long time)
+	{
+		final Frame frame = freeFrames.poll();
+		if (frame == null)
+		{
+			return;
+		}
+
+		final int scaledWidth = width / downscale;
+		final int scaledHeight = height / downscale;
+		if (frame.pixels.length < scaledWidth * scaledHeight)
+		{
+			frame.pixels = new int[scaledWidth * scaledHeight];
+		}
+
+		int i = 0;
+		for (int y = 0; y < scaledHeight; y++)
+		{
+			final int row = y * downscale * width;
+			for (int x = 0; x < scaledWidth; x++)
+			{
+				frame.pixels[i++] = pixels[row + x * downscale];
+			}
+		}
+
+		frame.width = scaledWidth;
+		frame.height = scaledHeight;
+		frame.time = time;
+		capturedFrames.add(frame);
+	}
+
+	@Override
+	public void run()
+	{
+		try
+		{
+			while (!Thread.currentThread().isInterrupted())
+			{
+				final Frame frame = capturedFrames.take();
+				buffer.append(frame.pixels, frame.width, frame.height, frame.time);
+				freeFrames.add(frame);
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			log.debug("Replay recorder stopped");
+		}
+	}
+
+	private static class Frame
+	{
+		private int[] pixels = new int[0];
+		private int width;
+		private int height;
+		private long time;
+	}
+}
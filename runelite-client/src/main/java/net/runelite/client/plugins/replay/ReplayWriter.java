@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.replay;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Writes recordings as animated GIFs
+ */
+final class ReplayWriter
+{
+	private static final int DEFAULT_DELAY = 10;
+
+	private ReplayWriter()
+	{
+	}
+
+	/**
+	 * Writes the frames of a recording which have the size of its first frame
+	 */
+	static void write(ReplayBuffer.Recording recording, File file) throws IOException
+	{
+		if (recording.getFrames() == 0)
+		{
+			return;
+		}
+
+		final int width = recording.widths[0];
+		final int height = recording.heights[0];
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		// frames are decoded straight into the image
+		final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+		final ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(file))
+		{
+			writer.setOutput(out);
+			writer.prepareWriteSequence(null);
+
+			final ImageWriteParam param = writer.getDefaultWriteParam();
+			boolean first = true;
+			for (int i = 0; i < recording.getFrames(); i++)
+			{
+				if (recording.widths[i] != width || recording.heights[i] != height)
+				{
+					// the game was resized, stop at the first frame of the new size
+					break;
+				}
+
+				if (recording.keyFrames[i])
+				{
+					Arrays.fill(pixels, 0);
+				}
+				ReplayBuffer.decompress(recording.data, recording.offsets[i], recording.lengths[i], pixels);
+
+				final int delay = i + 1 < recording.getFrames()
+					? (int) (recording.times[i + 1] - recording.times[i]) / 10
+					: DEFAULT_DELAY;
+				final IIOMetadata metadata = frameMetadata(writer, image, param, delay, first);
+				writer.writeToSequence(new IIOImage(image, null, metadata), param);
+				first = false;
+			}
+
+			writer.endWriteSequence();
+		}
+		finally
+		{
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * @param delay the time the frame is shown for, in hundredths of a second
+	 * @param loop  whether to add the extension which makes the animation loop
+	 */
+	private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, ImageWriteParam param,
+		int delay, boolean loop) throws IOException
+	{
+		final IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+		final String format = metadata.getNativeMetadataFormatName();
+		final IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+		final IIOMetadataNode graphicControl = child(root, "GraphicControlExtension");
+		graphicControl.setAttribute("disposalMethod", "none");
+		graphicControl.setAttribute("userInputFlag", "FALSE");
+		graphicControl.setAttribute("transparentColorFlag", "FALSE");
+		graphicControl.setAttribute("delayTime", Integer.toString(Math.max(1, delay)));
+		graphicControl.setAttribute("transparentColorIndex", "0");
+
+		if (loop)
+		{
+			final IIOMetadataNode extension = new IIOMetadataNode("ApplicationExtension");
+			extension.setAttribute("applicationID", "NETSCAPE");
+			extension.setAttribute("authenticationCode", "2.0");
+			// loop forever
+			extension.setUserObject(new byte[]{1, 0, 0});
+			child(root, "ApplicationExtensions").appendChild(extension);
+		}
+
+		metadata.setFromTree(format, root);
+		return metadata;
+	}
+
+	private static IIOMetadataNode child(IIOMetadataNode root, String name)
+	{
+		for (int i = 0; i < root.getLength(); i++)
+		{
+			if (root.item(i).getNodeName().equalsIgnoreCase(name))
+			{
+				return (IIOMetadataNode) root.item(i);
+			}
+		}
+
+		final IIOMetadataNode node = new IIOMetadataNode(name);
+		root.appendChild(node);
+		return node;
+	}
+}
@@ -10,22 +10,20 @@ package net.runelite.client.plugins.safespot;
 
 import com.google.inject.Provides;
 import java.util.ArrayList;
-import java.util.List;
 import javax.inject.Inject;
 import lombok.Getter;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
-import net.runelite.api.CollisionDataFlag;
 import net.runelite.api.NPC;
 import net.runelite.api.Player;
 import net.runelite.api.Tile;
 import net.runelite.api.coords.LocalPoint;
-import net.runelite.api.coords.WorldArea;
-import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.InteractingChanged;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.NavigationManager;
+import net.runelite.client.game.SceneCollision;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
@@ -49,6 +47,9 @@ public class SafeSpotPlugin extends Plugin
 	@Inject
 	private SafeSpotConfig config;
 
+	@Inject
+	private NavigationManager navigationManager;
+
 	@Getter
 	private ArrayList<Tile> safeSpotList;
 
@@ -125,42 +126,44 @@ public class SafeSpotPlugin extends Plugin
 		if (client.getLocalPlayer().getInteracting() != null)
 		{
 			Actor enemy = client.getLocalPlayer().getInteracting();
-			WorldArea worldArea = new WorldArea(enemy.getWorldLocation().getX() - 12,
-				enemy.getWorldLocation().getY() - 12, 24, 24, client.getPlane());
-			List<WorldPoint> worldPoints = worldArea.toWorldPointList();
-			safeSpotList = getSafeSpotList(enemy, worldPoints);
+			safeSpotList = getSafeSpotList(enemy);
 		}
 	}
 
 	/**
 	 * The ArrayList of 1-way safe spots
 	 *
-	 * @param actor       - The Actor that the tiles are a safe spot against
-	 * @param worldPoints - Worldpoints in the current scene
+	 * @param actor - The Actor that the tiles are a safe spot against
 	 * @return an ArrayList of Tiles where current player can attack actor but actor cannot attack local player
 	 */
-	private ArrayList<Tile> getSafeSpotList(Actor actor, List<WorldPoint> worldPoints)
+	private ArrayList<Tile> getSafeSpotList(Actor actor)
 	{
 		ArrayList<Tile> safeSpotList = new ArrayList<>();
 		Tile[][][] tiles = client.getScene().getTiles();
-		for (WorldPoint w : worldPoints)
+		final int plane = client.getPlane();
+		final SceneCollision collision = navigationManager.getCollision(plane);
+		final LocalPoint actorPoint = actor.getLocalLocation();
+		if (collision == null || actorPoint == null)
 		{
-			LocalPoint toPoint = LocalPoint.fromWorld(client, w);
-			Tile fromTile = tiles[client.getPlane()][actor.getLocalLocation().getSceneX()]
-				[actor.getLocalLocation().getSceneY()];
-			Tile toTile = tiles[client.getPlane()][toPoint.getSceneX()]
-				[toPoint.getSceneY()];
-			final int plane = client.getLocalPlayer().getWorldArea().getPlane();
-			int bit = client.getCollisionMaps()[plane].getFlags()[toPoint.getSceneX()][toPoint.getSceneY()];
-			if (toTile.hasLineOfSightTo(fromTile) && !fromTile.hasLineOfSightTo(toTile))
+			return safeSpotList;
+		}
+
+		final int fromX = actorPoint.getSceneX();
+		final int fromY = actorPoint.getSceneY();
+
+		// The 24x24 area around the actor
+		for (int x = fromX - 12; x < fromX + 12; x++)
+		{
+			for (int y = fromY - 12; y < fromY + 12; y++)
 			{
-				if (!((bit & CollisionDataFlag.BLOCK_MOVEMENT_OBJECT) == CollisionDataFlag.BLOCK_MOVEMENT_OBJECT ||
-					(bit & CollisionDataFlag.BLOCK_MOVEMENT_FLOOR_DECORATION)
-						== CollisionDataFlag.BLOCK_MOVEMENT_FLOOR_DECORATION ||
-					(bit & CollisionDataFlag.BLOCK_MOVEMENT_FLOOR) == CollisionDataFlag.BLOCK_MOVEMENT_FLOOR ||
-					(bit & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == CollisionDataFlag.BLOCK_MOVEMENT_FULL))
+				if (!SceneCollision.isInScene(x, y) || collision.isBlocked(x, y))
+				{
+					continue;
+				}
+
+				if (collision.hasLineOfSight(x, y, fromX, fromY) && !collision.hasLineOfSight(fromX, fromY, x, y))
 				{
-					safeSpotList.add(toTile);
+					safeSpotList.add(tiles[plane][x][y]);
 				}
 			}
 		}
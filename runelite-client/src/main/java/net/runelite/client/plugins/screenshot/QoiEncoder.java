@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodes images in the Quite OK Image format, which is lossless like PNG but an order of
+ * magnitude faster to encode. See https://qoiformat.org/qoi-specification.pdf
+ */
+final class QoiEncoder
+{
+	private static final int QOI_OP_INDEX = 0x00;
+	private static final int QOI_OP_DIFF = 0x40;
+	private static final int QOI_OP_LUMA = 0x80;
+	private static final int QOI_OP_RUN = 0xc0;
+	private static final int QOI_OP_RGB = 0xfe;
+
+	private static final int MAX_RUN = 62;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final OutputStream out;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+
+	private QoiEncoder(OutputStream out)
+	{
+		this.out = out;
+	}
+
+	/**
+	 * Writes an image as an opaque RGB QOI image. The alpha channel of the image is ignored.
+	 */
+	static void encode(BufferedImage image, OutputStream out) throws IOException
+	{
+		new QoiEncoder(out).write(image);
+	}
+
+	private void write(BufferedImage image) throws IOException
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+
+		final int[] pixels;
+		if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)
+		{
+			pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}
+		else
+		{
+			pixels = image.getRGB(0, 0, width, height, null, 0, width);
+		}
+
+		// header
+		put('q');
+		put('o');
+		put('i');
+		put('f');
+		putInt(width);
+		putInt(height);
+		put(3); // channels
+		put(0); // sRGB with linear alpha
+
+		final int[] index = new int[64];
+		int previous = 0;
+		int run = 0;
+
+		for (int i = 0, length = width * height; i < length; i++)
+		{
+			final int pixel = pixels[i] & 0xffffff;
+
+			if (pixel == previous)
+			{
+				if (++run == MAX_RUN || i == length - 1)
+				{
+					put(QOI_OP_RUN | (run - 1));
+					run = 0;
+				}
+				continue;
+			}
+
+			if (run > 0)
+			{
+				put(QOI_OP_RUN | (run - 1));
+				run = 0;
+			}
+
+			final int r = pixel >>> 16;
+			final int g = (pixel >>> 8) & 0xff;
+			final int b = pixel & 0xff;
+			// the alpha is always 255, which contributes 255 * 11 to the hash
+			final int hash = (r * 3 + g * 5 + b * 7 + 255 * 11) & 63;
+
+			// the index starts out filled with transparent black, which never matches an opaque pixel
+			if (index[hash] == (pixel | 0xff000000))
+			{
+				put(QOI_OP_INDEX | hash);
+			}
+			else
+			{
+				index[hash] = pixel | 0xff000000;
+
+				final int dr = (byte) (r - (previous >>> 16));
+				final int dg = (byte) (g - ((previous >>> 8) & 0xff));
+				final int db = (byte) (b - (previous & 0xff));
+				final int drg = dr - dg;
+				final int dbg = db - dg;
+
+				if (dr >= -2 && dr <= 1 && dg >= -2 && dg <= 1 && db >= -2 && db <= 1)
+				{
+					put(QOI_OP_DIFF | (dr + 2) << 4 | (dg + 2) << 2 | (db + 2));
+				}
+				else if (drg >= -8 && drg <= 7 && dg >= -32 && dg <= 31 && dbg >= -8 && dbg <= 7)
+				{
+					put(QOI_OP_LUMA | (dg + 32));
+					put((drg + 8) << 4 | (dbg + 8));
+				}
+				else
+				{
+					put(QOI_OP_RGB);
+					put(r);
+					put(g);
+					put(b);
+				}
+			}
+
+			previous = pixel;
+		}
+
+		// end marker
+		for (int i = 0; i < 7; i++)
+		{
+			put(0);
+		}
+		put(1);
+
+		out.write(buffer, 0, position);
+	}
+
+	private void put(int value) throws IOException
+	{
+		if (position == BUFFER_SIZE)
+		{
+			out.write(buffer, 0, BUFFER_SIZE);
+			position = 0;
+		}
+		buffer[position++] = (byte) value;
+	}
+
+	private void putInt(int value) throws IOException
+	{
+		put(value >>> 24);
+		put(value >>> 16);
+		put(value >>> 8);
+		put(value);
+	}
+}
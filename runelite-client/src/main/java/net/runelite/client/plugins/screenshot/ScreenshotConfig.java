@@ -197,4 +197,15 @@ public interface ScreenshotConfig extends Config
 	{
 		return Keybind.NOT_SET;
 	}
+
+	@ConfigItem(
+		keyName = "format",
+		name = "Image format",
+		description = "PNG is lossless, JPEG is smaller but lossy, and QOI is lossless and the fastest to save but can't be uploaded",
+		position = 15
+	)
+	default ScreenshotFormat format()
+	{
+		return ScreenshotFormat.PNG;
+	}
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ package net.runelite.client.plugins.screenshot;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Provides;
 import java.awt.Desktop;
 import java.awt.Graphics;
@@ -36,21 +37,31 @@ import java.awt.TrayIcon;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.EnumSet;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import lombok.AccessLevel;
@@ -120,6 +131,18 @@ public class ScreenshotPlugin extends Plugin
 
 	private static final DateFormat TIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
 
+	private static final int ENCODER_THREADS = 2;
+	/**
+	 * Screenshots waiting for an encoder thread. Screenshots taken while the queue is full are
+	 * dropped, rather than holding on to more frames.
+	 */
+	private static final int ENCODER_QUEUE_SIZE = 4;
+	private static final float JPEG_QUALITY = 0.9f;
+	/**
+	 * Quality of PNG screenshots, which maps to a low deflate level as PNG is lossless either way
+	 */
+	private static final float PNG_QUALITY = 0.8f;
+
 	private static final Pattern NUMBER_PATTERN = Pattern.compile("([0-9]+)");
 	private static final Pattern LEVEL_UP_PATTERN = Pattern.compile(".*Your ([a-zA-Z]+) (?:level is|are)? now (\\d+)\\.");
 	private static final Pattern BOSSKILL_MESSAGE_PATTERN = Pattern.compile("Your (.+) kill count is: <col=ff0000>(\\d+)</col>.");
@@ -175,9 +198,6 @@ public class ScreenshotPlugin extends Plugin
 	@Inject
 	private DrawManager drawManager;
 
-	@Inject
-	private ScheduledExecutorService executor;
-
 	@Inject
 	private KeyManager keyManager;
 
@@ -189,6 +209,8 @@ public class ScreenshotPlugin extends Plugin
 
 	private NavigationButton titleBarButton;
 
+	private ThreadPoolExecutor encoder;
+
 	private final HotkeyListener hotkeyListener = new HotkeyListener(() -> config.hotkey())
 	{
 		@Override
@@ -207,6 +229,10 @@ public class ScreenshotPlugin extends Plugin
 	@Override
 	protected void startUp() throws Exception
 	{
+		encoder = new ThreadPoolExecutor(ENCODER_THREADS, ENCODER_THREADS, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(ENCODER_QUEUE_SIZE),
+			new ThreadFactoryBuilder().setNameFormat("screenshot-encoder-%d").setDaemon(true).build());
+
 		overlayManager.add(screenshotOverlay);
 		SCREENSHOT_DIR.mkdirs();
 		keyManager.registerKeyListener(hotkeyListener);
@@ -243,6 +269,10 @@ public class ScreenshotPlugin extends Plugin
 		overlayManager.remove(screenshotOverlay);
 		clientToolbar.removeNavigation(titleBarButton);
 		keyManager.unregisterKeyListener(hotkeyListener);
+
+		// screenshots already queued are still saved
+		encoder.shutdown();
+		encoder = null;
 	}
 
 	@Subscribe
@@ -575,8 +605,22 @@ public class ScreenshotPlugin extends Plugin
 
 		Consumer<Image> imageCallback = (img) ->
 		{
-			// This callback is on the game thread, move to executor thread
-			executor.submit(() -> takeScreenshot(fileName, img));
+			// This callback is on the game thread, move to an encoder thread
+			final ThreadPoolExecutor encoder = this.encoder;
+			try
+			{
+				if (encoder == null)
+				{
+					throw new RejectedExecutionException("plugin is shut down");
+				}
+
+				encoder.execute(() -> takeScreenshot(fileName, img));
+			}
+			catch (RejectedExecutionException ex)
+			{
+				log.warn("Dropping screenshot {}, too many screenshots are being saved", fileName);
+				drawManager.releaseFrame(img);
+			}
 		};
 
 		if (config.displayDate())
@@ -591,36 +635,48 @@ public class ScreenshotPlugin extends Plugin
 
 	private void takeScreenshot(String fileName, Image image)
 	{
-		BufferedImage screenshot = config.includeFrame()
-			? new BufferedImage(clientUi.getWidth(), clientUi.getHeight(), BufferedImage.TYPE_INT_ARGB)
-			: new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+		final BufferedImage screenshot;
+
+		if (!config.includeFrame() && image instanceof BufferedImage)
+		{
+			// The frame is encoded as is, and released after it has been written
+			screenshot = (BufferedImage) image;
+		}
+		else
+		{
+			screenshot = config.includeFrame()
+				? new BufferedImage(clientUi.getWidth(), clientUi.getHeight(), BufferedImage.TYPE_INT_RGB)
+				: new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_RGB);
 
-		Graphics graphics = screenshot.getGraphics();
+			Graphics graphics = screenshot.getGraphics();
 
-		int gameOffsetX = 0;
-		int gameOffsetY = 0;
+			int gameOffsetX = 0;
+			int gameOffsetY = 0;
 
-		if (config.includeFrame())
-		{
-			// Draw the client frame onto the screenshot
-			try
+			if (config.includeFrame())
 			{
-				SwingUtilities.invokeAndWait(() -> clientUi.paint(graphics));
-			}
-			catch (InterruptedException | InvocationTargetException e)
-			{
-				log.warn("unable to paint client UI on screenshot", e);
+				// Draw the client frame onto the screenshot
+				try
+				{
+					SwingUtilities.invokeAndWait(() -> clientUi.paint(graphics));
+				}
+				catch (InterruptedException | InvocationTargetException e)
+				{
+					log.warn("unable to paint client UI on screenshot", e);
+				}
+
+				// Evaluate the position of the game inside the frame
+				final Point canvasOffset = clientUi.getCanvasOffset();
+				gameOffsetX = canvasOffset.getX();
+				gameOffsetY = canvasOffset.getY();
 			}
 
-			// Evaluate the position of the game inside the frame
-			final Point canvasOffset = clientUi.getCanvasOffset();
-			gameOffsetX = canvasOffset.getX();
-			gameOffsetY = canvasOffset.getY();
+			// Draw the game onto the screenshot
+			graphics.drawImage(image, gameOffsetX, gameOffsetY, null);
+			graphics.dispose();
+			drawManager.releaseFrame(image);
 		}
 
-		// Draw the game onto the screenshot
-		graphics.drawImage(image, gameOffsetX, gameOffsetY, null);
-
 		File playerFolder;
 		if (client.getLocalPlayer() != null && client.getLocalPlayer().getName() != null)
 		{
@@ -644,13 +700,18 @@ public class ScreenshotPlugin extends Plugin
 
 		playerFolder.mkdirs();
 
+		final ScreenshotFormat format = config.format();
+
 		try
 		{
-			File screenshotFile = new File(playerFolder, fileName + ".png");
+			File screenshotFile = new File(playerFolder, fileName + "." + format.getExtension());
 
-			ImageIO.write(screenshot, "PNG", screenshotFile);
+			final long start = System.nanoTime();
+			writeScreenshot(screenshot, format, screenshotFile);
+			log.debug("Saved screenshot {} as {} in {}ms, {} waiting", fileName, format,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), encoder == null ? 0 : encoder.getQueue().size());
 
-			if (config.uploadScreenshot())
+			if (config.uploadScreenshot() && format.isUploadable())
 			{
 				uploadScreenshot(screenshotFile);
 			}
@@ -663,6 +724,53 @@ public class ScreenshotPlugin extends Plugin
 		{
 			log.warn("error writing screenshot", ex);
 		}
+		finally
+		{
+			if (screenshot == image)
+			{
+				drawManager.releaseFrame(image);
+			}
+		}
+	}
+
+	private static void writeScreenshot(BufferedImage screenshot, ScreenshotFormat format, File file) throws IOException
+	{
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file)))
+		{
+			switch (format)
+			{
+				case QOI:
+					QoiEncoder.encode(screenshot, out);
+					break;
+				case JPEG:
+					writeImage(screenshot, "jpg", JPEG_QUALITY, out);
+					break;
+				default:
+					writeImage(screenshot, "png", PNG_QUALITY, out);
+					break;
+			}
+		}
+	}
+
+	private static void writeImage(BufferedImage image, String formatName, float quality, OutputStream out) throws IOException
+	{
+		final ImageWriter writer = ImageIO.getImageWritersByFormatName(formatName).next();
+		try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out))
+		{
+			final ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed())
+			{
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(quality);
+			}
+
+			writer.setOutput(imageOut);
+			writer.write(null, new IIOImage(image, null, null), param);
+		}
+		finally
+		{
+			writer.dispose();
+		}
 	}
 
 	/**
@@ -24,28 +24,18 @@
  */
 package net.runelite.client.plugins.slayer;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.List;
-import java.util.Map;
+import net.runelite.client.game.NameTable;
 
 public class SlayerXpDropLookup
 {
-	private Map<String, List<Double>> xpMap;
+	private NameTable xpTable;
 
 	// floating point math equality
 	private static final double EPSILON = 1e-6;
 
-	void loadXpJson()
+	void loadXpTable()
 	{
-		final InputStream xpFile = getClass().getResourceAsStream("/slayer_xp.json");
-		Gson gson = new Gson();
-		xpMap = gson.fromJson(new InputStreamReader(xpFile), new TypeToken<Map<String, List<Double>>>()
-		{
-
-		}.getType());
+		xpTable = NameTable.load(getClass(), "/slayer_xp.dat");
 	}
 
 	/**
@@ -78,15 +68,16 @@ public class SlayerXpDropLookup
 	 */
 	public double findXpForNpc(NPCPresence npc)
 	{
-		List<Double> xpCombatLevel = xpMap.get(npc.getName());
-		if (xpCombatLevel == null)
+		final int xpCombatLevel = xpTable.indexOf(npc.getName());
+		if (xpCombatLevel == -1)
 		{
 			return -1;
 		}
+		final int size = xpTable.length(xpCombatLevel);
 		boolean givesSlayerXp = false;
-		for (int i = 0; i < xpCombatLevel.size() - 1; i += 2)
+		for (int i = 0; i < size - 1; i += 2)
 		{
-			if (xpCombatLevel.get(i) > 0)
+			if (xpTable.get(xpCombatLevel, i) > 0)
 			{
 				givesSlayerXp = true;
 			}
@@ -96,31 +87,31 @@ public class SlayerXpDropLookup
 			return -1;
 		}
 		boolean foundCombatLevel = false;
-		for (int i = 0; i < xpCombatLevel.size() - 1; i += 2)
+		for (int i = 0; i < size - 1; i += 2)
 		{
-			if (Math.abs(xpCombatLevel.get(i + 1) - npc.getCombatLevel()) < EPSILON
-				&& xpCombatLevel.get(i) > 0)
+			if (Math.abs(xpTable.get(xpCombatLevel, i + 1) - npc.getCombatLevel()) < EPSILON
+				&& xpTable.get(xpCombatLevel, i) > 0)
 			{
 				foundCombatLevel = true;
 			}
 		}
 		if (foundCombatLevel)
 		{
-			for (int i = 0; i < xpCombatLevel.size() - 1; i += 2)
+			for (int i = 0; i < size - 1; i += 2)
 			{
-				if (Math.abs(xpCombatLevel.get(i + 1) - npc.getCombatLevel()) < EPSILON)
+				if (Math.abs(xpTable.get(xpCombatLevel, i + 1) - npc.getCombatLevel()) < EPSILON)
 				{
-					return xpCombatLevel.get(i);
+					return xpTable.get(xpCombatLevel, i);
 				}
 			}
 		}
 		else
 		{
-			for (int i = 0; i < xpCombatLevel.size() - 1; i += 2)
+			for (int i = 0; i < size - 1; i += 2)
 			{
-				if (xpCombatLevel.get(i) > 0)
+				if (xpTable.get(xpCombatLevel, i) > 0)
 				{
-					return xpCombatLevel.get(i);
+					return xpTable.get(xpCombatLevel, i);
 				}
 			}
 		}
@@ -129,6 +120,6 @@ public class SlayerXpDropLookup
 
 	public SlayerXpDropLookup()
 	{
-		loadXpJson();
+		loadXpTable();
 	}
 }
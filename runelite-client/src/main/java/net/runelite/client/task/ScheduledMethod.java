@@ -24,9 +24,19 @@
  */
 package net.runelite.client.task;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.util.ReflectUtil;
 
+@Slf4j
 public class ScheduledMethod
 {
 	private final Schedule schedule;
@@ -34,11 +44,18 @@ public class ScheduledMethod
 	private final Object object;
 	private Instant last = Instant.now();
 
+	final long period;
+	final Runnable invoker;
+	long deadline;
+
 	public ScheduledMethod(Schedule schedule, Method method, Object object)
 	{
 		this.schedule = schedule;
 		this.method = method;
 		this.object = object;
+		this.period = Math.max(1, Duration.of(schedule.period(), schedule.unit()).toNanos());
+		this.invoker = createInvoker(method, object);
+		this.deadline = System.nanoTime() + period;
 	}
 
 	@Override
@@ -71,4 +88,42 @@ public class ScheduledMethod
 	{
 		this.last = last;
 	}
+
+	private static Runnable createInvoker(Method method, Object object)
+	{
+		method.setAccessible(true);
+
+		try
+		{
+			final Class<?> clazz = method.getDeclaringClass();
+			final MethodHandles.Lookup caller = ReflectUtil.privateLookupIn(clazz);
+			final MethodType task = MethodType.methodType(void.class);
+			final MethodHandle target = caller.findVirtual(clazz, method.getName(), task);
+			final CallSite site = LambdaMetafactory.metafactory(
+				caller,
+				"run",
+				MethodType.methodType(Runnable.class, clazz),
+				task,
+				target,
+				task);
+
+			return (Runnable) site.getTarget().invoke(object);
+		}
+		catch (Throwable e)
+		{
+			log.debug("Unable to create lambda for method {}, falling back to reflection", method, e);
+		}
+
+		return () ->
+		{
+			try
+			{
+				method.invoke(object);
+			}
+			catch (IllegalAccessException | InvocationTargetException ex)
+			{
+				throw new RuntimeException(ex);
+			}
+		};
+	}
 }
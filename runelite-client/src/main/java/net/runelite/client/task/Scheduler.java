@@ -24,35 +24,63 @@
  */
 package net.runelite.client.task;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.metrics.Counter;
+import net.runelite.client.metrics.MetricsRegistry;
+import net.runelite.client.metrics.Timer;
 
 @Singleton
 @Slf4j
 public class Scheduler
 {
 	private final List<ScheduledMethod> scheduledMethods = new CopyOnWriteArrayList<>();
+	// scheduled methods ordered by their next deadline, guarded by itself
+	private final PriorityQueue<ScheduledMethod> queue = new PriorityQueue<>((a, b) -> Long.signum(a.deadline - b.deadline));
 
 	@Inject
 	ScheduledExecutorService executor;
 
+	private final Timer tickTimer;
+	private final Timer runTimer;
+	private final Timer jitterTimer;
+	private final Counter overruns;
+
+	@Inject
+	private Scheduler(MetricsRegistry metricsRegistry)
+	{
+		tickTimer = metricsRegistry.timer("scheduler.tick");
+		runTimer = metricsRegistry.timer("scheduler.run");
+		jitterTimer = metricsRegistry.timer("scheduler.jitter");
+		overruns = metricsRegistry.counter("scheduler.overruns");
+	}
+
 	public void addScheduledMethod(ScheduledMethod method)
 	{
 		scheduledMethods.add(method);
+
+		synchronized (queue)
+		{
+			queue.add(method);
+		}
 	}
 
 	public void removeScheduledMethod(ScheduledMethod method)
 	{
 		scheduledMethods.remove(method);
+
+		synchronized (queue)
+		{
+			queue.remove(method);
+		}
 	}
 
 	public List<ScheduledMethod> getScheduledMethods()
@@ -82,57 +110,81 @@ public class Scheduler
 			if (sm.getObject() == obj)
 			{
 				removeScheduledMethod(sm);
-				break;
 			}
 		}
 	}
 
 	public void tick()
 	{
-		Instant now = Instant.now();
+		final long start = tickTimer.start();
+		final long now = System.nanoTime();
 
-		for (ScheduledMethod scheduledMethod : scheduledMethods)
+		for (;;)
 		{
-			Instant last = scheduledMethod.getLast();
-
-			Duration difference = Duration.between(last, now);
+			final ScheduledMethod scheduledMethod;
+			final long lateness;
 
-			Schedule schedule = scheduledMethod.getSchedule();
-			Duration timeSinceRun = Duration.of(schedule.period(), schedule.unit());
-
-			if (difference.compareTo(timeSinceRun) > 0)
+			synchronized (queue)
 			{
-				log.trace("Scheduled task triggered: {}", scheduledMethod);
-
-				scheduledMethod.setLast(now);
-
-				if (schedule.asynchronous())
+				scheduledMethod = queue.peek();
+				if (scheduledMethod == null || scheduledMethod.deadline - now > 0)
 				{
-					executor.submit(() -> run(scheduledMethod));
+					break;
 				}
-				else
+
+				queue.poll();
+				lateness = now - scheduledMethod.deadline;
+
+				// skip runs which were missed entirely instead of running them back to back
+				scheduledMethod.deadline += scheduledMethod.period;
+				if (scheduledMethod.deadline - now <= 0)
 				{
-					run(scheduledMethod);
+					scheduledMethod.deadline = now + scheduledMethod.period;
 				}
+
+				queue.add(scheduledMethod);
+			}
+
+			log.trace("Scheduled task triggered: {}", scheduledMethod);
+
+			jitterTimer.record(lateness);
+			scheduledMethod.setLast(Instant.now());
+
+			if (scheduledMethod.getSchedule().asynchronous())
+			{
+				executor.submit(() -> run(scheduledMethod));
+			}
+			else
+			{
+				run(scheduledMethod);
 			}
 		}
+
+		tickTimer.stop(start);
 	}
 
 	private void run(ScheduledMethod scheduledMethod)
 	{
-		Method method = scheduledMethod.getMethod();
+		final long start = runTimer.start();
 
 		try
 		{
-			method.invoke(scheduledMethod.getObject());
+			scheduledMethod.invoker.run();
 		}
-		catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex)
+		catch (ThreadDeath death)
 		{
-			//log.warn("error invoking scheduled task", ex);
+			throw death;
 		}
-		catch (Exception ex)
+		catch (Throwable ex)
 		{
+			// an error in one task must not stop the other tasks from being scheduled
 			log.warn("error during scheduled task", ex);
 		}
+
+		if (runTimer.stop(start) > scheduledMethod.period)
+		{
+			overruns.increment();
+			log.debug("Scheduled task {} overran its period", scheduledMethod);
+		}
 	}
 }
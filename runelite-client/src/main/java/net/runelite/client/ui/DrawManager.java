@@ -25,8 +25,14 @@
 package net.runelite.client.ui;
 
 import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
@@ -38,9 +44,22 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DrawManager
 {
+	private static final int MAX_POOLED_FRAMES = 2;
+
 	private final List<Runnable> everyFrame = new CopyOnWriteArrayList<>();
 	private final Queue<Consumer<Image>> nextFrame = new ConcurrentLinkedQueue<>();
 
+	/**
+	 * Images of released frames, kept to copy later frames into
+	 */
+	private final Deque<BufferedImage> framePool = new ArrayDeque<>();
+
+	/**
+	 * Number of next frame listeners which haven't released each frame yet. Frames which are
+	 * never released are left to the garbage collector.
+	 */
+	private final Map<Image, Integer> frameUsers = new WeakHashMap<>();
+
 	public void registerEveryFrameListener(Runnable everyFrameListener)
 	{
 		if (!everyFrame.contains(everyFrameListener))
@@ -59,6 +78,49 @@ public class DrawManager
 		nextFrame.add(nextFrameListener);
 	}
 
+	/**
+	 * Gets an image to copy a frame into for the next frame listeners, reusing the image of a
+	 * released frame if one of the same size is available
+	 */
+	public synchronized BufferedImage acquireFrame(int width, int height)
+	{
+		BufferedImage image;
+		while ((image = framePool.poll()) != null)
+		{
+			if (image.getWidth() == width && image.getHeight() == height)
+			{
+				return image;
+			}
+		}
+
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+	}
+
+	/**
+	 * Releases a frame given to a next frame listener once the listener is done with it, so the
+	 * frame's image can be reused after every listener of the frame has released it.
+	 */
+	public synchronized void releaseFrame(Image image)
+	{
+		final Integer users = frameUsers.get(image);
+		if (users == null)
+		{
+			return;
+		}
+
+		if (users > 1)
+		{
+			frameUsers.put(image, users - 1);
+			return;
+		}
+
+		frameUsers.remove(image);
+		if (image instanceof BufferedImage && framePool.size() < MAX_POOLED_FRAMES)
+		{
+			framePool.push((BufferedImage) image);
+		}
+	}
+
 	public void processDrawComplete(Supplier<Image> imageSupplier)
 	{
 		for (Runnable everyFrameListener : everyFrame)
@@ -74,36 +136,50 @@ public class DrawManager
 		}
 
 		Consumer<Image> nextFrameListener = nextFrame.poll();
-		Image image = null;
+		if (nextFrameListener == null)
+		{
+			return;
+		}
+
+		final List<Consumer<Image>> listeners = new ArrayList<>();
 		while (nextFrameListener != null)
 		{
-			if (image == null)
-			{
-				try
-				{
-					image = imageSupplier.get();
-				}
-				catch (Exception ex)
-				{
-					log.warn("error getting screenshot", ex);
-				}
-			}
+			listeners.add(nextFrameListener);
+			nextFrameListener = nextFrame.poll();
+		}
 
-			if (image == null)
-			{
-				nextFrame.clear();
-				break;
-			}
+		Image image;
+		try
+		{
+			image = imageSupplier.get();
+		}
+		catch (Exception ex)
+		{
+			log.warn("error getting screenshot", ex);
+			return;
+		}
+
+		if (image == null)
+		{
+			return;
+		}
 
+		synchronized (this)
+		{
+			frameUsers.put(image, listeners.size());
+		}
+
+		for (Consumer<Image> listener : listeners)
+		{
 			try
 			{
-				nextFrameListener.accept(image);
+				listener.accept(image);
 			}
 			catch (Exception e)
 			{
 				log.error("Error in draw consumer", e);
+				releaseFrame(image);
 			}
-			nextFrameListener = nextFrame.poll();
 		}
 	}
 }
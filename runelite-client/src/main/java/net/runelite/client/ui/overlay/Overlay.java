@@ -30,6 +30,7 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.client.plugins.Plugin;
@@ -50,6 +51,22 @@ public abstract class Overlay implements LayoutableRenderableEntity
 	private OverlayLayer layer = OverlayLayer.UNDER_WIDGETS;
 	private final List<OverlayMenuEntry> menuEntries = new ArrayList<>();
 
+	/**
+	 * Number of frames between renders of this overlay, its last output is drawn again in between.
+	 * Dynamic and tooltip overlays are always rendered every frame.
+	 */
+	private int renderInterval = 1;
+
+	/**
+	 * Whether this overlay is rendered less often while rendering it exceeds the overlay render budget
+	 */
+	private boolean adaptiveRendering;
+
+	private final OverlayRenderStats renderStats = new OverlayRenderStats();
+
+	@Getter(AccessLevel.PACKAGE)
+	private final OverlayRenderCache renderCache = new OverlayRenderCache();
+
 	protected Overlay()
 	{
 		plugin = null;
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -253,6 +254,23 @@ public class OverlayManager
 		saveOverlay(overlay);
 	}
 
+	/**
+	 * Get the render timings of all overlays
+	 *
+	 * @return map of overlays to their render timings
+	 */
+	public synchronized Map<Overlay, OverlayRenderStats> getRenderStats()
+	{
+		final Map<Overlay, OverlayRenderStats> renderStats = new HashMap<>(overlays.size());
+
+		for (Overlay overlay : overlays)
+		{
+			renderStats.put(overlay, overlay.getRenderStats());
+		}
+
+		return renderStats;
+	}
+
 	private synchronized void rebuildOverlayLayers()
 	{
 		for (OverlayLayer l : OverlayLayer.values())
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import java.awt.AlphaComposite;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The last rendered output of an overlay, which is drawn again in place of rendering
+ * the overlay for a number of frames. The output is kept in an image the size of the
+ * overlay's bounds.
+ */
+class OverlayRenderCache
+{
+	private BufferedImage image;
+	private final Point location = new Point();
+	private int remainingFrames;
+
+	/**
+	 * Check if the cached output can be drawn for this frame, consuming one of its remaining frames if so
+	 *
+	 * @param location location the overlay is being rendered at
+	 * @return true if the cached output can be drawn instead of rendering the overlay
+	 */
+	boolean reuse(Point location)
+	{
+		if (remainingFrames <= 0
+			|| image == null
+			|| !this.location.equals(location))
+		{
+			return false;
+		}
+
+		remainingFrames--;
+		return true;
+	}
+
+	/**
+	 * Start rendering a new frame into the cache
+	 *
+	 * @param graphics graphics of the canvas, which the cache graphics copies its settings from
+	 * @param area area of the canvas the overlay is expected to render to
+	 * @param frames number of following frames the output may be reused for
+	 * @return cleared graphics to render the overlay with, in canvas coordinates
+	 */
+	Graphics2D begin(Graphics2D graphics, Rectangle area, int frames)
+	{
+		if (image == null || image.getWidth() != area.width || image.getHeight() != area.height)
+		{
+			image = graphics.getDeviceConfiguration().createCompatibleImage(area.width, area.height, Transparency.TRANSLUCENT);
+		}
+
+		location.setLocation(area.x, area.y);
+		remainingFrames = frames;
+
+		final Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setComposite(AlphaComposite.Clear);
+		imageGraphics.fillRect(0, 0, area.width, area.height);
+		imageGraphics.setComposite(AlphaComposite.SrcOver);
+		imageGraphics.setRenderingHints(graphics.getRenderingHints());
+		imageGraphics.setColor(graphics.getColor());
+		imageGraphics.setStroke(graphics.getStroke());
+		imageGraphics.translate(-area.x, -area.y);
+		return imageGraphics;
+	}
+
+	/**
+	 * Check whether an overlay rendered into the cache stayed within it, if not the cache only holds
+	 * the part of the output within its bounds
+	 *
+	 * @param dimension size the overlay rendered at
+	 * @return true if the whole output is in the cache
+	 */
+	boolean fits(Dimension dimension)
+	{
+		return image != null && dimension.width <= image.getWidth() && dimension.height <= image.getHeight();
+	}
+
+	/**
+	 * Draw the cached output at the location it was rendered at
+	 *
+	 * @param graphics graphics of the canvas
+	 */
+	void draw(Graphics2D graphics)
+	{
+		if (image != null)
+		{
+			graphics.drawImage(image, location.x, location.y, null);
+		}
+	}
+
+	void invalidate()
+	{
+		remainingFrames = 0;
+	}
+
+	/**
+	 * Release the cached image
+	 */
+	void clear()
+	{
+		remainingFrames = 0;
+		image = null;
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import lombok.Getter;
+
+/**
+ * Rolling render timings of an overlay, recorded by the {@link OverlayRenderer}
+ */
+public class OverlayRenderStats
+{
+	/**
+	 * Number of rendered frames the average and maximum are taken over
+	 */
+	private static final int WINDOW = 128;
+
+	private final long[] samples = new long[WINDOW];
+	private int sampleIndex;
+	private int sampleCount;
+	private long sampleTotal;
+
+	/**
+	 * Time the most recent render took, in nanoseconds
+	 */
+	@Getter
+	private volatile long lastNanos;
+
+	/**
+	 * Average render time over the last {@link #WINDOW} renders, in nanoseconds
+	 */
+	@Getter
+	private volatile long averageNanos;
+
+	/**
+	 * Longest render time over the last {@link #WINDOW} renders, in nanoseconds
+	 */
+	@Getter
+	private volatile long maxNanos;
+
+	/**
+	 * Number of frames the overlay was rendered
+	 */
+	@Getter
+	private volatile long renderedFrames;
+
+	/**
+	 * Number of frames the overlay's cached output was drawn instead of rendering it
+	 */
+	@Getter
+	private volatile long reusedFrames;
+
+	void record(long nanos)
+	{
+		sampleTotal += nanos - samples[sampleIndex];
+		samples[sampleIndex] = nanos;
+		sampleIndex = (sampleIndex + 1) % WINDOW;
+		sampleCount = Math.min(sampleCount + 1, WINDOW);
+
+		long max = 0;
+		for (int i = 0; i < sampleCount; i++)
+		{
+			max = Math.max(max, samples[i]);
+		}
+
+		lastNanos = nanos;
+		averageNanos = sampleTotal / sampleCount;
+		maxNanos = max;
+		renderedFrames++;
+	}
+
+	void reused()
+	{
+		reusedFrames++;
+	}
+}
@@ -34,6 +34,7 @@ import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
@@ -52,6 +53,8 @@ import net.runelite.client.input.KeyListener;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseAdapter;
 import net.runelite.client.input.MouseManager;
+import net.runelite.client.metrics.MetricsRegistry;
+import net.runelite.client.metrics.Timer;
 import net.runelite.client.ui.JagexColors;
 import net.runelite.client.util.ColorUtil;
 
@@ -66,9 +69,11 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private static final Color SNAP_CORNER_ACTIVE_COLOR = new Color(0, 255, 0, 100);
 	private static final Color MOVING_OVERLAY_COLOR = new Color(255, 255, 0, 100);
 	private static final Color MOVING_OVERLAY_ACTIVE_COLOR = new Color(255, 255, 0, 200);
+	private static final int MAX_ADAPTIVE_REUSED_FRAMES = 4;
 	private final Client client;
 	private final OverlayManager overlayManager;
 	private final RuneLiteConfig runeLiteConfig;
+	private final Timer renderTimer;
 
 	// Overlay movement variables
 	private final Point overlayOffset = new Point();
@@ -92,11 +97,13 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		final OverlayManager overlayManager,
 		final RuneLiteConfig runeLiteConfig,
 		final MouseManager mouseManager,
-		final KeyManager keyManager)
+		final KeyManager keyManager,
+		final MetricsRegistry metricsRegistry)
 	{
 		this.client = client;
 		this.overlayManager = overlayManager;
 		this.runeLiteConfig = runeLiteConfig;
+		this.renderTimer = metricsRegistry.timer("overlayRenderer.render");
 		keyManager.registerKeyListener(this);
 		mouseManager.registerMouseListener(this);
 	}
@@ -146,6 +153,20 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	}
 
 	public void render(Graphics2D graphics, final OverlayLayer layer)
+	{
+		final long start = renderTimer.start();
+
+		try
+		{
+			renderLayer(graphics, layer);
+		}
+		finally
+		{
+			renderTimer.stop(start);
+		}
+	}
+
+	private void renderLayer(Graphics2D graphics, final OverlayLayer layer)
 	{
 		if (layer != OverlayLayer.ABOVE_MAP
 			&& client.getWidget(WidgetInfo.FULLSCREEN_MAP_ROOT) != null
@@ -196,6 +217,8 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		final net.runelite.api.Point mouseCanvasPosition = client.getMouseCanvasPosition();
 		final Point mouse = new Point(mouseCanvasPosition.getX(), mouseCanvasPosition.getY());
 
+		final long renderBudget = TimeUnit.MILLISECONDS.toNanos(runeLiteConfig.overlayRenderBudget());
+
 		for (Overlay overlay : overlays)
 		{
 			OverlayPosition overlayPosition = overlay.getPosition();
@@ -224,7 +247,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 
 			if (overlayPosition == OverlayPosition.DYNAMIC || overlayPosition == OverlayPosition.TOOLTIP)
 			{
-				safeRender(client, overlay, layer, graphics, new Point());
+				safeRender(client, overlay, layer, graphics, new Point(), renderBudget);
 			}
 			else
 			{
@@ -259,7 +282,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 					overlay.getBounds().setSize(overlay.getPreferredSize());
 				}
 
-				safeRender(client, overlay, layer, graphics, location);
+				safeRender(client, overlay, layer, graphics, location, renderBudget);
 				final Rectangle bounds = overlay.getBounds();
 
 				if (bounds.isEmpty())
@@ -429,10 +452,84 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		}
 	}
 
-	private void safeRender(Client client, Overlay overlay, OverlayLayer layer, Graphics2D graphics, Point point)
+	private void safeRender(Client client, Overlay overlay, OverlayLayer layer, Graphics2D graphics, Point point, long renderBudget)
 	{
-		final Graphics2D subGraphics = (Graphics2D) graphics.create();
+		final OverlayRenderCache cache = overlay.getRenderCache();
+
+		// Dynamic overlays draw anywhere on the canvas, so their output is never cached
+		final OverlayPosition position = overlay.getPosition();
+		final boolean dynamic = position == OverlayPosition.DYNAMIC || position == OverlayPosition.TOOLTIP;
+
+		if (dynamic || (overlay.getRenderInterval() <= 1 && !overlay.isAdaptiveRendering()))
+		{
+			cache.clear();
+		}
+
+		final int reusedFrames = dynamic ? 0 : getReusedFrames(overlay, renderBudget);
+
+		// The cache is sized to the bounds of the last render, so the first render is always direct
+		final Dimension lastSize = overlay.getBounds().getSize();
+
+		// Render directly when the output can't be reused, or the overlay is being moved
+		if (reusedFrames <= 0 || movedOverlay == overlay || lastSize.width <= 0 || lastSize.height <= 0)
+		{
+			cache.invalidate();
+			renderDirect(client, overlay, layer, graphics, point);
+			return;
+		}
+
+		if (cache.reuse(point))
+		{
+			overlay.getRenderStats().reused();
+			cache.draw(graphics);
+			return;
+		}
 
+		final long start = System.nanoTime();
+		final Dimension dimension = render(client, overlay, layer, cache.begin(graphics, new Rectangle(point, lastSize), reusedFrames), point);
+		overlay.getRenderStats().record(System.nanoTime() - start);
+		overlay.setBounds(new Rectangle(point, dimension));
+
+		// An overlay which outgrew its cache is cut off for this frame rather than rendered again, as
+		// only overlays over their budget are cached. The next render sizes the cache to the new bounds.
+		if (!cache.fits(dimension))
+		{
+			cache.invalidate();
+		}
+
+		cache.draw(graphics);
+	}
+
+	private void renderDirect(Client client, Overlay overlay, OverlayLayer layer, Graphics2D graphics, Point point)
+	{
+		final long start = System.nanoTime();
+		final Dimension dimension = render(client, overlay, layer, (Graphics2D) graphics.create(), point);
+		overlay.getRenderStats().record(System.nanoTime() - start);
+		overlay.setBounds(new Rectangle(point, dimension));
+	}
+
+	/**
+	 * Get the number of frames an overlay's output is drawn again for after it is rendered
+	 */
+	private static int getReusedFrames(Overlay overlay, long renderBudget)
+	{
+		if (overlay.getRenderInterval() > 1)
+		{
+			return overlay.getRenderInterval() - 1;
+		}
+
+		final long averageNanos = overlay.getRenderStats().getAverageNanos();
+
+		if (overlay.isAdaptiveRendering() && renderBudget > 0 && averageNanos > renderBudget)
+		{
+			return (int) Math.min(MAX_ADAPTIVE_REUSED_FRAMES, averageNanos / renderBudget);
+		}
+
+		return 0;
+	}
+
+	private Dimension render(Client client, Overlay overlay, OverlayLayer layer, Graphics2D subGraphics, Point point)
+	{
 		if (!isResizeable && (layer == OverlayLayer.ABOVE_SCENE || layer == OverlayLayer.UNDER_WIDGETS))
 		{
 			subGraphics.setClip(client.getViewportXOffset(),
@@ -460,7 +557,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		subGraphics.translate(point.x, point.y);
 		final Dimension dimension = MoreObjects.firstNonNull(overlay.render(subGraphics), new Dimension());
 		subGraphics.dispose();
-		overlay.setBounds(new Rectangle(point, dimension));
+		return dimension;
 	}
 
 	private boolean shouldInvalidateBounds()
@@ -54,22 +54,15 @@ public class BackgroundComponent implements RenderableEntity
 	private Rectangle rectangle = new Rectangle();
 	private boolean fill = true;
 
+	private final Rectangle outsideStroke = new Rectangle();
+	private final Rectangle insideStroke = new Rectangle();
+
+	private final StrokeColors strokeColors = new StrokeColors();
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		Color outsideStrokeColor = new Color(
-			Math.max(0, backgroundColor.getRed() - OUTSIDE_STROKE_RED_OFFSET),
-			Math.max(0, backgroundColor.getGreen() - OUTSIDE_STROKE_GREEN_OFFSET),
-			Math.max(0, backgroundColor.getBlue() - OUTSIDE_STROKE_BLUE_OFFSET),
-			OUTSIDE_STROKE_ALPHA
-		);
-
-		Color insideStrokeColor = new Color(
-			Math.min(255, backgroundColor.getRed() + INSIDE_STROKE_RED_OFFSET),
-			Math.min(255, backgroundColor.getGreen() + INSIDE_STROKE_GREEN_OFFSET),
-			Math.min(255, backgroundColor.getBlue() + INSIDE_STROKE_BLUE_OFFSET),
-			INSIDE_STROKE_ALPHA
-		);
+		strokeColors.update(backgroundColor);
 
 		// Render background
 		if (fill)
@@ -79,20 +72,52 @@ public class BackgroundComponent implements RenderableEntity
 		}
 
 		// Render outside stroke
-		final Rectangle outsideStroke = new Rectangle();
 		outsideStroke.setLocation(rectangle.x, rectangle.y);
 		outsideStroke.setSize(rectangle.width - BORDER_OFFSET / 2, rectangle.height - BORDER_OFFSET / 2);
-		graphics.setColor(outsideStrokeColor);
+		graphics.setColor(strokeColors.outside);
 		graphics.draw(outsideStroke);
 
 		// Render inside stroke
-		final Rectangle insideStroke = new Rectangle();
 		insideStroke.setLocation(rectangle.x + BORDER_OFFSET / 2, rectangle.y + BORDER_OFFSET / 2);
 		insideStroke.setSize(rectangle.width - BORDER_OFFSET - BORDER_OFFSET / 2,
 			rectangle.height - BORDER_OFFSET - BORDER_OFFSET / 2);
-		graphics.setColor(insideStrokeColor);
+		graphics.setColor(strokeColors.inside);
 		graphics.draw(insideStroke);
 
 		return new Dimension(rectangle.getSize());
 	}
+
+	/**
+	 * Stroke colors derived from the background color, only recomputed when it changes
+	 */
+	private static class StrokeColors
+	{
+		private Color background;
+		private Color outside;
+		private Color inside;
+
+		private void update(Color backgroundColor)
+		{
+			if (backgroundColor.equals(background))
+			{
+				return;
+			}
+
+			background = backgroundColor;
+
+			outside = new Color(
+				Math.max(0, backgroundColor.getRed() - OUTSIDE_STROKE_RED_OFFSET),
+				Math.max(0, backgroundColor.getGreen() - OUTSIDE_STROKE_GREEN_OFFSET),
+				Math.max(0, backgroundColor.getBlue() - OUTSIDE_STROKE_BLUE_OFFSET),
+				OUTSIDE_STROKE_ALPHA
+			);
+
+			inside = new Color(
+				Math.min(255, backgroundColor.getRed() + INSIDE_STROKE_RED_OFFSET),
+				Math.min(255, backgroundColor.getGreen() + INSIDE_STROKE_GREEN_OFFSET),
+				Math.min(255, backgroundColor.getBlue() + INSIDE_STROKE_BLUE_OFFSET),
+				INSIDE_STROKE_ALPHA
+			);
+		}
+	}
 }
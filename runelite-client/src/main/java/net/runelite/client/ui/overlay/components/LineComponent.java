@@ -59,6 +59,17 @@ public class LineComponent implements LayoutableRenderableEntity
 	@Getter
 	private final Rectangle bounds = new Rectangle();
 
+	/**
+	 * Layout of the last render, only recomputed when the text, width or font changes
+	 */
+	private final Layout layout = new Layout();
+
+	/**
+	 * Size returned by the last render. Replaced rather than mutated when the size changes, as callers
+	 * may hold on to it
+	 */
+	private Dimension dimension = new Dimension();
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
@@ -67,78 +78,34 @@ public class LineComponent implements LayoutableRenderableEntity
 		final String right = MoreObjects.firstNonNull(this.right, "");
 
 		final FontMetrics metrics = graphics.getFontMetrics();
+		layout.update(left, right, preferredSize.width, metrics);
+
 		final int baseX = preferredLocation.x;
 		final int baseY = preferredLocation.y + metrics.getHeight();
-		int x = baseX;
 		int y = baseY;
-		final int leftFullWidth = getLineWidth(left, metrics);
-		final int rightFullWidth = getLineWidth(right, metrics);
 
-		if (preferredSize.width < leftFullWidth + rightFullWidth)
+		for (int i = 0; i < layout.lineCount; i++)
 		{
-			int leftSmallWidth = preferredSize.width;
-			int rightSmallWidth = 0;
-
-			if (!Strings.isNullOrEmpty(right))
-			{
-				rightSmallWidth = (preferredSize.width / 3);
-				leftSmallWidth -= rightSmallWidth;
-			}
-
-			final String[] leftSplitLines = lineBreakText(left, leftSmallWidth, metrics);
-			final String[] rightSplitLines = lineBreakText(right, rightSmallWidth, metrics);
-
-			int lineCount = Math.max(leftSplitLines.length, rightSplitLines.length);
-
-			for (int i = 0; i < lineCount; i++)
-			{
-				String leftText = "";
-				String rightText = "";
-
-				if (i < leftSplitLines.length)
-				{
-					leftText = leftSplitLines[i];
-				}
-
-				if (i < rightSplitLines.length)
-				{
-					rightText = rightSplitLines[i];
-				}
-
-				final TextComponent leftLineComponent = new TextComponent();
-				leftLineComponent.setPosition(new Point(x, y));
-				leftLineComponent.setText(leftText);
-				leftLineComponent.setColor(leftColor);
-				leftLineComponent.render(graphics);
-
-				final TextComponent rightLineComponent = new TextComponent();
-				rightLineComponent.setPosition(new Point(x + leftSmallWidth + rightSmallWidth - getLineWidth(rightText, metrics), y));
-				rightLineComponent.setText(rightText);
-				rightLineComponent.setColor(rightColor);
-				rightLineComponent.render(graphics);
-				y += metrics.getHeight();
-			}
-
-			final Dimension dimension = new Dimension(preferredSize.width, y - baseY);
-			bounds.setLocation(preferredLocation);
-			bounds.setSize(dimension);
-			return dimension;
+			layout.leftPosition.setLocation(baseX, y);
+			layout.leftText.setPosition(layout.leftPosition);
+			layout.leftText.setText(layout.leftLines[i]);
+			layout.leftText.setColor(leftColor);
+			layout.leftText.render(graphics);
+
+			layout.rightPosition.setLocation(baseX + layout.rightOffsets[i], y);
+			layout.rightText.setPosition(layout.rightPosition);
+			layout.rightText.setText(layout.rightLines[i]);
+			layout.rightText.setColor(rightColor);
+			layout.rightText.render(graphics);
+			y += metrics.getHeight();
 		}
 
-		final TextComponent leftLineComponent = new TextComponent();
-		leftLineComponent.setPosition(new Point(x, y));
-		leftLineComponent.setText(left);
-		leftLineComponent.setColor(leftColor);
-		leftLineComponent.render(graphics);
-
-		final TextComponent rightLineComponent = new TextComponent();
-		rightLineComponent.setPosition(new Point(x + preferredSize.width - getLineWidth(right, metrics), y));
-		rightLineComponent.setText(right);
-		rightLineComponent.setColor(rightColor);
-		rightLineComponent.render(graphics);
-		y += metrics.getHeight();
+		final int height = y - baseY;
+		if (dimension.width != preferredSize.width || dimension.height != height)
+		{
+			dimension = new Dimension(preferredSize.width, height);
+		}
 
-		final Dimension dimension = new Dimension(preferredSize.width, y - baseY);
 		bounds.setLocation(preferredLocation);
 		bounds.setSize(dimension);
 		return dimension;
@@ -160,12 +127,12 @@ public class LineComponent implements LayoutableRenderableEntity
 
 		final StringBuilder wrapped = new StringBuilder(words[0]);
 		int spaceLeft = maxWidth - metrics.stringWidth(wrapped.toString());
+		final int spaceWidth = metrics.stringWidth(" ");
 
 		for (int i = 1; i < words.length; i++)
 		{
 			final String word = words[i];
 			final int wordLen = metrics.stringWidth(word);
-			final int spaceWidth = metrics.stringWidth(" ");
 
 			if (wordLen + spaceWidth > spaceLeft)
 			{
@@ -181,5 +148,71 @@ public class LineComponent implements LayoutableRenderableEntity
 
 		return wrapped.toString().split("\n");
 	}
-}
 
+	private static class Layout
+	{
+		private final TextComponent leftText = new TextComponent();
+		private final TextComponent rightText = new TextComponent();
+		private final Point leftPosition = new Point();
+		private final Point rightPosition = new Point();
+
+		private String left;
+		private String right;
+		private int width;
+		private FontMetrics metrics;
+
+		private int lineCount;
+		private String[] leftLines;
+		private String[] rightLines;
+		private int[] rightOffsets;
+
+		private void update(String left, String right, int width, FontMetrics metrics)
+		{
+			if (left.equals(this.left) && right.equals(this.right) && width == this.width && metrics.equals(this.metrics))
+			{
+				return;
+			}
+
+			this.left = left;
+			this.right = right;
+			this.width = width;
+			this.metrics = metrics;
+
+			final int leftFullWidth = getLineWidth(left, metrics);
+			final int rightFullWidth = getLineWidth(right, metrics);
+
+			if (width >= leftFullWidth + rightFullWidth)
+			{
+				lineCount = 1;
+				leftLines = new String[]{left};
+				rightLines = new String[]{right};
+				rightOffsets = new int[]{width - rightFullWidth};
+				return;
+			}
+
+			int leftSmallWidth = width;
+			int rightSmallWidth = 0;
+
+			if (!Strings.isNullOrEmpty(right))
+			{
+				rightSmallWidth = (width / 3);
+				leftSmallWidth -= rightSmallWidth;
+			}
+
+			final String[] leftSplitLines = lineBreakText(left, leftSmallWidth, metrics);
+			final String[] rightSplitLines = lineBreakText(right, rightSmallWidth, metrics);
+
+			lineCount = Math.max(leftSplitLines.length, rightSplitLines.length);
+			leftLines = new String[lineCount];
+			rightLines = new String[lineCount];
+			rightOffsets = new int[lineCount];
+
+			for (int i = 0; i < lineCount; i++)
+			{
+				leftLines[i] = i < leftSplitLines.length ? leftSplitLines[i] : "";
+				rightLines[i] = i < rightSplitLines.length ? rightSplitLines[i] : "";
+				rightOffsets[i] = leftSmallWidth + rightSmallWidth - getLineWidth(rightLines[i], metrics);
+			}
+		}
+	}
+}
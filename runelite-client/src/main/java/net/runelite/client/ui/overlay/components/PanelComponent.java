@@ -71,6 +71,15 @@ public class PanelComponent implements LayoutableRenderableEntity
 
 	private final Dimension childDimensions = new Dimension();
 
+	// Size returned by the last render, replaced rather than mutated when it changes as callers may keep it
+	private Dimension dimension = new Dimension();
+
+	// Reused between renders to avoid allocating layout objects every frame
+	private final BackgroundComponent backgroundComponent = new BackgroundComponent();
+	private final Rectangle backgroundBounds = new Rectangle();
+	private final Dimension childPreferredSize = new Dimension();
+	private final List<Point> childLocations = new ArrayList<>();
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
@@ -80,15 +89,19 @@ public class PanelComponent implements LayoutableRenderableEntity
 		}
 
 		// Calculate panel dimension
-		final Dimension dimension = new Dimension(
-			border.x + childDimensions.width + border.width,
-			border.y + childDimensions.height + border.height);
+		final int panelWidth = border.x + childDimensions.width + border.width;
+		final int panelHeight = border.y + childDimensions.height + border.height;
+		if (dimension.width != panelWidth || dimension.height != panelHeight)
+		{
+			dimension = new Dimension(panelWidth, panelHeight);
+		}
 
 		// Render background
 		if (backgroundColor != null)
 		{
-			final BackgroundComponent backgroundComponent = new BackgroundComponent();
-			backgroundComponent.setRectangle(new Rectangle(preferredLocation, dimension));
+			backgroundBounds.setLocation(preferredLocation);
+			backgroundBounds.setSize(dimension);
+			backgroundComponent.setRectangle(backgroundBounds);
 			backgroundComponent.setBackgroundColor(backgroundColor);
 			backgroundComponent.render(graphics);
 		}
@@ -101,8 +114,8 @@ public class PanelComponent implements LayoutableRenderableEntity
 		int x = baseX;
 		int y = baseY;
 
-		// Create child preferred size
-		final Dimension childPreferredSize = new Dimension(
+		// Update child preferred size
+		childPreferredSize.setSize(
 			preferredSize.width - border.x - border.width,
 			preferredSize.height - border.y - border.height);
 
@@ -114,7 +127,7 @@ public class PanelComponent implements LayoutableRenderableEntity
 		for (int i = 0; i < children.size(); i++)
 		{
 			final LayoutableRenderableEntity child = children.get(i);
-			child.setPreferredLocation(new Point(x, y));
+			child.setPreferredLocation(childLocation(i, x, y));
 			child.setPreferredSize(childPreferredSize);
 			final Dimension childDimension = child.render(graphics);
 
@@ -174,4 +187,16 @@ public class PanelComponent implements LayoutableRenderableEntity
 		bounds.setSize(dimension);
 		return dimension;
 	}
-}
\ No newline at end of file
+
+	private Point childLocation(int index, int x, int y)
+	{
+		while (childLocations.size() <= index)
+		{
+			childLocations.add(new Point());
+		}
+
+		final Point location = childLocations.get(index);
+		location.setLocation(x, y);
+		return location;
+	}
+}
@@ -24,6 +24,7 @@
  */
 package net.runelite.client.ui.overlay.components;
 
+import com.google.common.base.MoreObjects;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FontMetrics;
@@ -44,6 +45,17 @@ public class TextComponent implements RenderableEntity
 	private Point position = new Point();
 	private Color color = Color.WHITE;
 
+	/**
+	 * Col tag segments and widths of the last rendered text, only recomputed when the text or font changes
+	 */
+	private final Segments segments = new Segments();
+
+	/**
+	 * Size returned by the last render. Replaced rather than mutated when the size changes, as callers
+	 * may hold on to it
+	 */
+	private Dimension dimension = new Dimension();
+
 	public static String textWithoutColTags(String text)
 	{
 		return COL_TAG_PATTERN.matcher(text).replaceAll("");
@@ -53,26 +65,25 @@ public class TextComponent implements RenderableEntity
 	public Dimension render(Graphics2D graphics)
 	{
 		final FontMetrics fontMetrics = graphics.getFontMetrics();
+		segments.update(text, fontMetrics);
 
-		if (COL_TAG_PATTERN.matcher(text).find())
+		if (segments.texts != null)
 		{
-			final String[] parts = COL_TAG_PATTERN_W_LOOKAHEAD.split(text);
 			int x = position.x;
 
-			for (String textSplitOnCol : parts)
+			for (int i = 0; i < segments.texts.length; i++)
 			{
-				final String textWithoutCol = textWithoutColTags(textSplitOnCol);
-				final String colColor = textSplitOnCol.substring(textSplitOnCol.indexOf("=") + 1, textSplitOnCol.indexOf(">"));
+				final String textWithoutCol = segments.texts[i];
 
 				// shadow
 				graphics.setColor(Color.BLACK);
 				graphics.drawString(textWithoutCol, x + 1, position.y + 1);
 
 				// actual text
-				graphics.setColor(Color.decode("#" + colColor));
+				graphics.setColor(MoreObjects.firstNonNull(segments.colors[i], color));
 				graphics.drawString(textWithoutCol, x, position.y);
 
-				x += fontMetrics.stringWidth(textWithoutCol);
+				x += segments.widths[i];
 			}
 		}
 		else
@@ -86,6 +97,60 @@ public class TextComponent implements RenderableEntity
 			graphics.drawString(text, position.x, position.y);
 		}
 
-		return new Dimension(fontMetrics.stringWidth(text), fontMetrics.getHeight());
+		if (dimension.width != segments.width || dimension.height != fontMetrics.getHeight())
+		{
+			dimension = new Dimension(segments.width, fontMetrics.getHeight());
+		}
+
+		return dimension;
+	}
+
+	private static class Segments
+	{
+		private String text;
+		private FontMetrics metrics;
+		private String[] texts;
+		private Color[] colors;
+		private int[] widths;
+		private int width;
+
+		private void update(String text, FontMetrics metrics)
+		{
+			if (text.equals(this.text) && metrics.equals(this.metrics))
+			{
+				return;
+			}
+
+			this.text = text;
+			this.metrics = metrics;
+			width = metrics.stringWidth(text);
+
+			if (!text.contains("<col=") || !COL_TAG_PATTERN.matcher(text).find())
+			{
+				texts = null;
+				colors = null;
+				widths = null;
+				return;
+			}
+
+			final String[] parts = COL_TAG_PATTERN_W_LOOKAHEAD.split(text);
+			texts = new String[parts.length];
+			colors = new Color[parts.length];
+			widths = new int[parts.length];
+
+			for (int i = 0; i < parts.length; i++)
+			{
+				final String textSplitOnCol = parts[i];
+				texts[i] = textWithoutColTags(textSplitOnCol);
+				widths[i] = metrics.stringWidth(texts[i]);
+
+				// text before the first col tag keeps the component color
+				if (textSplitOnCol.startsWith("<col="))
+				{
+					final String colColor = textSplitOnCol.substring(textSplitOnCol.indexOf("=") + 1, textSplitOnCol.indexOf(">"));
+					colors[i] = Color.decode("#" + colColor);
+				}
+			}
+		}
 	}
 }
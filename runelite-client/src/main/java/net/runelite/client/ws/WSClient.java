@@ -24,22 +24,34 @@
  */
 package net.runelite.client.ws;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.util.ExecutorServiceExceptionLogger;
 import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.ws.WebsocketGsonFactory;
 import net.runelite.http.api.ws.WebsocketMessage;
 import net.runelite.http.api.ws.messages.Handshake;
 import net.runelite.http.api.ws.messages.party.PartyMessage;
+import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.WebSocket;
@@ -49,18 +61,37 @@ import okhttp3.WebSocketListener;
 @Singleton
 public class WSClient extends WebSocketListener implements AutoCloseable
 {
+	/**
+	 * how long coalesced messages are held before being sent, one game tick
+	 */
+	private static final long COALESCE_DELAY_MS = 600;
+
 	private final EventBus eventBus;
+	private final HttpUrl endpoint;
 	private final Collection<Class<? extends WebsocketMessage>> messages = new HashSet<>();
+	/**
+	 * executor all messages are serialized, sent and parsed on, in order. Its thread is a daemon
+	 * so that it doesn't keep the client running, as the executor outlives closing the socket.
+	 */
+	private final ScheduledExecutorService executor = new ExecutorServiceExceptionLogger(Executors.newSingleThreadScheduledExecutor(
+		new ThreadFactoryBuilder().setNameFormat("websocket-%d").setDaemon(true).build()));
+	private final Map<Object, WebsocketMessage> coalescedMessages = new LinkedHashMap<>();
 
 	private volatile Gson gson;
 	@Getter
-	private UUID sessionId;
-	private WebSocket webSocket;
+	private volatile UUID sessionId;
+	private volatile WebSocket webSocket;
 
 	@Inject
 	private WSClient(EventBus eventBus)
+	{
+		this(eventBus, RuneLiteAPI.getWsEndpoint());
+	}
+
+	WSClient(EventBus eventBus, HttpUrl endpoint)
 	{
 		this.eventBus = eventBus;
+		this.endpoint = endpoint;
 		this.gson = WebsocketGsonFactory.build(WebsocketGsonFactory.factory(messages));
 	}
 
@@ -76,18 +107,21 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 			return;
 		}
 
-		if (webSocket != null)
-		{
-			close();
-			webSocket = null;
-		}
-
 		this.sessionId = sessionId;
 
-		if (sessionId != null)
+		executor.execute(() ->
 		{
-			connect();
-		}
+			if (webSocket != null)
+			{
+				close();
+				webSocket = null;
+			}
+
+			if (sessionId != null)
+			{
+				connect();
+			}
+		});
 	}
 
 	private void connect()
@@ -98,14 +132,14 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 
 		Request request = new Request.Builder()
-			.url(RuneLiteAPI.getWsEndpoint())
+			.url(endpoint)
 			.build();
 
 		webSocket = RuneLiteAPI.CLIENT.newWebSocket(request, this);
 
 		Handshake handshake = new Handshake();
 		handshake.setSession(sessionId);
-		send(handshake);
+		sendNow(handshake);
 	}
 
 	public void registerMessage(final Class<? extends WebsocketMessage> message)
@@ -124,7 +158,65 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 		}
 	}
 
+	/**
+	 * Queue a message to be sent. Messages are serialized and sent in order on
+	 * the websocket executor, except for {@link CoalescedMessage}s, which are held
+	 * for up to a game tick so that only the latest message for each key is sent.
+	 *
+	 * @param message message to send
+	 */
 	public void send(WebsocketMessage message)
+	{
+		if (message instanceof CoalescedMessage)
+		{
+			final Object key = Arrays.asList(message.getClass(), ((CoalescedMessage) message).getCoalesceKey());
+			final boolean schedule;
+
+			synchronized (coalescedMessages)
+			{
+				schedule = coalescedMessages.isEmpty();
+				coalescedMessages.put(key, message);
+			}
+
+			if (schedule)
+			{
+				executor.schedule(this::flushCoalesced, COALESCE_DELAY_MS, TimeUnit.MILLISECONDS);
+			}
+			return;
+		}
+
+		// Take the coalesced messages sent before this one now, on the sending thread, so that
+		// ones sent after it can't be flushed ahead of it before the task runs
+		final List<WebsocketMessage> pending = takeCoalesced();
+
+		executor.execute(() ->
+		{
+			pending.forEach(this::sendNow);
+			sendNow(message);
+		});
+	}
+
+	private void flushCoalesced()
+	{
+		takeCoalesced().forEach(this::sendNow);
+	}
+
+	private List<WebsocketMessage> takeCoalesced()
+	{
+		synchronized (coalescedMessages)
+		{
+			if (coalescedMessages.isEmpty())
+			{
+				return Collections.emptyList();
+			}
+
+			final List<WebsocketMessage> pending = new ArrayList<>(coalescedMessages.values());
+			coalescedMessages.clear();
+			return pending;
+		}
+	}
+
+	private void sendNow(WebsocketMessage message)
 	{
 		if (webSocket == null)
 		{
@@ -154,6 +246,12 @@ public class WSClient extends WebSocketListener implements AutoCloseable
 
 	@Override
 	public void onMessage(WebSocket webSocket, String text)
+	{
+		// parse and dispatch off of the network thread
+		executor.execute(() -> handleMessage(text));
+	}
+
+	private void handleMessage(String text)
 	{
 		final WebsocketMessage message;
 
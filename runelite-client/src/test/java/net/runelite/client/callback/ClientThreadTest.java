@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientThreadTest
+{
+	@Mock
+	@Bind
+	Client client;
+
+	@Mock
+	@Bind
+	ScheduledExecutorService executor;
+
+	@Inject
+	ClientThread clientThread;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+		when(client.isClientThread()).thenReturn(true);
+	}
+
+	@Test
+	public void testPriority()
+	{
+		final List<String> ran = new ArrayList<>();
+		clientThread.invokeLater(() -> ran.add("low"), ClientThread.Priority.LOW);
+		clientThread.invokeLater(() -> ran.add("normal"));
+		clientThread.invokeLater(() -> ran.add("high"), ClientThread.Priority.HIGH);
+
+		clientThread.invoke();
+		assertEquals(3, ran.size());
+		assertEquals("high", ran.get(0));
+		assertEquals("normal", ran.get(1));
+		assertEquals("low", ran.get(2));
+	}
+
+	@Test
+	public void testRetry()
+	{
+		final int[] calls = new int[1];
+		clientThread.invoke(() -> ++calls[0] >= 3);
+		assertEquals(1, calls[0]);
+
+		for (int i = 0; i < 10; ++i)
+		{
+			clientThread.invoke();
+		}
+
+		assertEquals(3, calls[0]);
+	}
+
+	@Test
+	public void testBudget()
+	{
+		final int[] calls = new int[1];
+		for (int i = 0; i < 10; ++i)
+		{
+			clientThread.invokeLater(() ->
+			{
+				++calls[0];
+				sleep(2);
+			});
+		}
+
+		clientThread.invoke();
+		assertTrue(calls[0] >= 1 && calls[0] < 10);
+
+		for (int i = 0; i < 10; ++i)
+		{
+			clientThread.invoke();
+		}
+
+		assertEquals(10, calls[0]);
+	}
+
+	private static void sleep(long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	private static class TestEvent
+	{
+	}
+
+	private static class SubTestEvent extends TestEvent
+	{
+	}
+
+	private static class Counter
+	{
+		private int events;
+
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			++events;
+		}
+	}
+
+	private static class SubCounter
+	{
+		@Subscribe
+		public void onSubTestEvent(SubTestEvent event)
+		{
+		}
+	}
+
+	@Test
+	public void testRegister()
+	{
+		EventBus eventBus = new EventBus();
+		Counter first = new Counter();
+		Counter second = new Counter();
+
+		eventBus.register(first);
+		eventBus.register(second);
+		eventBus.post(new TestEvent());
+
+		assertEquals(1, first.events);
+		assertEquals(1, second.events);
+
+		eventBus.unregister(first);
+		eventBus.post(new TestEvent());
+
+		assertEquals(1, first.events);
+		assertEquals(2, second.events);
+	}
+
+	@Test
+	public void testRegisterMethod()
+	{
+		EventBus eventBus = new EventBus();
+		Object owner = new Object();
+		int[] events = new int[1];
+
+		eventBus.register(TestEvent.class, owner, e -> ++events[0]);
+		eventBus.post(new TestEvent());
+		eventBus.post(new SubTestEvent());
+		assertEquals(1, events[0]);
+
+		eventBus.unregister(TestEvent.class, owner);
+		eventBus.post(new TestEvent());
+		assertEquals(1, events[0]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRegisterInheritedEvent()
+	{
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Counter());
+		eventBus.register(new SubCounter());
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MarkerStoreTest
+{
+	private static final MarkerStore.Codec<Integer> CODEC = new MarkerStore.Codec<Integer>()
+	{
+		@Override
+		public void write(DataOutput out, Integer value) throws IOException
+		{
+			out.writeInt(value);
+		}
+
+		@Override
+		public Integer read(DataInput in) throws IOException
+		{
+			return in.readInt();
+		}
+	};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File directory;
+
+	@Before
+	public void before()
+	{
+		directory = new File(folder.getRoot(), "markers");
+	}
+
+	private MarkerStore<Integer> createStore()
+	{
+		return new MarkerStore<>(directory, CODEC, MoreExecutors.directExecutor());
+	}
+
+	@Test
+	public void testPutGet()
+	{
+		MarkerStore<Integer> store = createStore();
+		store.put(12850, 63, 0, 3, 1);
+		store.put(12850, 0, 63, 0, 2);
+		store.put(12851, 10, 10, 1, 3);
+
+		assertEquals(1, (int) store.get(12850, 63, 0, 3));
+		assertEquals(2, (int) store.get(12850, 0, 63, 0));
+		assertEquals(3, (int) store.get(12851, 10, 10, 1));
+		assertNull(store.get(12850, 63, 0, 2));
+
+		store.put(12850, 63, 0, 3, null);
+		assertNull(store.get(12850, 63, 0, 3));
+	}
+
+	@Test
+	public void testPersist()
+	{
+		MarkerStore<Integer> store = createStore();
+		for (int i = 0; i < 64; ++i)
+		{
+			store.put(12850, i, 63 - i, i & 3, i);
+		}
+		store.put(12851, 1, 1, 0, 1);
+		store.put(12851, 1, 1, 0, null);
+
+		assertTrue(new File(directory, "12850.dat").exists());
+		assertFalse(new File(directory, "12851.dat").exists());
+
+		store = createStore();
+		final Map<Integer, Integer> markers = new HashMap<>();
+		store.forEach(new int[]{12850, 12851}, (regionId, regionX, regionY, plane, value) ->
+		{
+			assertEquals(12850, regionId);
+			assertEquals(63 - regionX, regionY);
+			assertEquals(regionX & 3, plane);
+			markers.put(regionX, value);
+		});
+
+		assertEquals(64, markers.size());
+		for (Map.Entry<Integer, Integer> entry : markers.entrySet())
+		{
+			assertEquals(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Test
+	public void testSaveFailure() throws IOException
+	{
+		// a file in place of the directory makes writing the region fail
+		assertTrue(directory.createNewFile());
+
+		MarkerStore<Integer> store = createStore();
+		store.put(12850, 5, 6, 0, 1);
+		assertFalse(store.save());
+
+		// the region is still unsaved, so it is written once the directory can be created
+		assertTrue(directory.delete());
+		assertTrue(store.save());
+		assertTrue(new File(directory, "12850.dat").exists());
+	}
+
+	@Test
+	public void testForEach()
+	{
+		MarkerStore<Integer> store = createStore();
+		store.put(12850, 5, 6, 0, 1);
+		store.put(12338, 7, 8, 2, 2);
+
+		final Map<Integer, Integer> markers = new HashMap<>();
+		store.forEach(new int[]{12850, 12338, 12339}, (regionId, regionX, regionY, plane, value) ->
+			markers.put(MarkerStore.pack(regionX, regionY, plane), value));
+
+		assertEquals(ImmutableMap.of(MarkerStore.pack(5, 6, 0), 1, MarkerStore.pack(7, 8, 2), 2), markers);
+	}
+}
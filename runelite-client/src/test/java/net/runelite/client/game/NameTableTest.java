@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class NameTableTest
+{
+	@Test
+	public void testNpcHealth()
+	{
+		final NameTable table = NameTable.load(NameTableTest.class, "/npc_health.dat");
+		final int index = table.indexOf("Molanisk");
+		assertTrue(index != -1);
+		assertEquals(51, (int) table.get(index, 0));
+		assertEquals(52, (int) table.get(index, 1));
+		assertEquals(-1, table.indexOf("Not an npc"));
+		assertEquals(-1, table.indexOf(null));
+	}
+
+	@Test
+	public void testSlayerXp()
+	{
+		final NameTable table = NameTable.load(NameTableTest.class, "/slayer_xp.dat");
+		final int index = table.indexOf("Wyrm");
+		assertEquals(2, table.length(index));
+		assertEquals(133.2, table.get(index, 0), 1e-6);
+		assertEquals(99, table.get(index, 1), 1e-6);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.BitSet;
+import static net.runelite.api.Constants.SCENE_SIZE;
+import net.runelite.api.CollisionDataFlag;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SceneCollisionTest
+{
+	private SceneCollision collision;
+
+	@Before
+	public void before()
+	{
+		final int[][] flags = new int[SCENE_SIZE][SCENE_SIZE];
+
+		// a wall between (10, 10) and (11, 10)
+		flags[10][10] |= CollisionDataFlag.BLOCK_MOVEMENT_EAST | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_EAST;
+		flags[11][10] |= CollisionDataFlag.BLOCK_MOVEMENT_WEST | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_WEST;
+
+		// an object on (20, 20)
+		flags[20][20] |= CollisionDataFlag.BLOCK_MOVEMENT_OBJECT | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL;
+
+		collision = SceneCollision.of(flags);
+	}
+
+	@Test
+	public void testCanMove()
+	{
+		assertTrue(collision.canMove(10, 10, 0, 1));
+		assertFalse(collision.canMove(10, 10, 1, 0));
+		assertFalse(collision.canMove(11, 10, -1, 0));
+		assertFalse(collision.canMove(10, 10, 1, 1));
+
+		assertFalse(collision.canMove(19, 20, 1, 0));
+		assertFalse(collision.canMove(0, 0, -1, 0));
+		assertFalse(collision.canMove(SCENE_SIZE - 1, 0, 1, 0));
+	}
+
+	@Test
+	public void testLineOfSight()
+	{
+		assertTrue(collision.hasLineOfSight(5, 11, 15, 11));
+		assertFalse(collision.hasLineOfSight(5, 10, 15, 10));
+		assertFalse(collision.hasLineOfSight(15, 10, 5, 10));
+
+		assertTrue(collision.isBlocked(20, 20));
+		assertFalse(collision.hasLineOfSight(18, 20, 22, 20));
+		assertTrue(collision.hasLineOfSight(18, 21, 22, 21));
+	}
+
+	@Test
+	public void testReachable()
+	{
+		BitSet reachable = collision.getReachable(10, 10, 1);
+		assertTrue(reachable.get(SceneCollision.index(10, 11)));
+		assertTrue(reachable.get(SceneCollision.index(9, 9)));
+		assertFalse(reachable.get(SceneCollision.index(11, 10)));
+		assertFalse(reachable.get(SceneCollision.index(11, 11)));
+
+		reachable = collision.getReachable(10, 10, 2);
+		assertTrue(reachable.get(SceneCollision.index(11, 11)));
+		assertFalse(reachable.get(SceneCollision.index(11, 10)));
+
+		reachable = collision.getReachable(10, 10, 3);
+		assertTrue(reachable.get(SceneCollision.index(11, 10)));
+		assertFalse(reachable.get(SceneCollision.index(20, 20)));
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import static net.runelite.api.Constants.SCENE_SIZE;
+import net.runelite.api.CollisionDataFlag;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ScenePathfinderTest
+{
+	@Test
+	public void testOpenScene()
+	{
+		final ScenePathfinder pathfinder = new ScenePathfinder(new SceneCollision[]{
+			SceneCollision.of(new int[SCENE_SIZE][SCENE_SIZE])
+		});
+
+		final int[] path = pathfinder.findPath(ScenePathfinder.node(0, 10, 10), ScenePathfinder.node(0, 40, 20));
+		assertNotNull(path);
+		// diagonal steps cost the same as straight ones
+		assertEquals(31, path.length);
+		assertValid(path);
+	}
+
+	@Test
+	public void testWall()
+	{
+		// a wall along x = 50 with a single gap at y = 90
+		final int[][] flags = new int[SCENE_SIZE][SCENE_SIZE];
+		for (int y = 0; y < SCENE_SIZE; y++)
+		{
+			if (y != 90)
+			{
+				flags[50][y] = CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+			}
+		}
+
+		final ScenePathfinder pathfinder = new ScenePathfinder(new SceneCollision[]{SceneCollision.of(flags)});
+		final int[] path = pathfinder.findPath(ScenePathfinder.node(0, 40, 10), ScenePathfinder.node(0, 60, 10));
+		assertNotNull(path);
+		// 80 steps to either side of the gap, and 2 steps through it
+		assertEquals(1 + 80 + 2 + 80, path.length);
+		assertValid(path);
+		assertTrue(contains(path, ScenePathfinder.node(0, 50, 90)));
+
+		flags[50][90] = CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+		assertNull(new ScenePathfinder(new SceneCollision[]{SceneCollision.of(flags)})
+			.findPath(ScenePathfinder.node(0, 40, 10), ScenePathfinder.node(0, 60, 10)));
+	}
+
+	@Test
+	public void testTransport()
+	{
+		final int[][] flags = new int[SCENE_SIZE][SCENE_SIZE];
+		for (int y = 0; y < SCENE_SIZE; y++)
+		{
+			flags[50][y] = CollisionDataFlag.BLOCK_MOVEMENT_OBJECT;
+		}
+
+		final SceneCollision walled = SceneCollision.of(flags);
+		final SceneCollision open = SceneCollision.of(new int[SCENE_SIZE][SCENE_SIZE]);
+		final ScenePathfinder pathfinder = new ScenePathfinder(new SceneCollision[]{walled, open, null, null});
+
+		// stairs up on one side of the wall and back down on the other
+		final int up = ScenePathfinder.node(0, 45, 30);
+		final int down = ScenePathfinder.node(1, 55, 30);
+		pathfinder.addTransport(up, ScenePathfinder.node(1, 45, 30), 2);
+		pathfinder.addTransport(down, ScenePathfinder.node(0, 55, 30), 2);
+		// a transport to a plane without collision data is ignored
+		pathfinder.addTransport(up, ScenePathfinder.node(2, 45, 30), 0);
+
+		final int[] path = pathfinder.findPath(ScenePathfinder.node(0, 40, 30), ScenePathfinder.node(0, 60, 30));
+		assertNotNull(path);
+		assertTrue(contains(path, up));
+		assertTrue(contains(path, down));
+		assertEquals(ScenePathfinder.node(0, 60, 30), path[path.length - 1]);
+		assertEquals(1 + 5 + 1 + 10 + 1 + 5, path.length);
+	}
+
+	private static void assertValid(int[] path)
+	{
+		for (int i = 1; i < path.length; i++)
+		{
+			assertEquals(ScenePathfinder.getPlane(path[i - 1]), ScenePathfinder.getPlane(path[i]));
+			assertTrue(Math.abs(ScenePathfinder.getX(path[i]) - ScenePathfinder.getX(path[i - 1])) <= 1);
+			assertTrue(Math.abs(ScenePathfinder.getY(path[i]) - ScenePathfinder.getY(path[i - 1])) <= 1);
+		}
+	}
+
+	private static boolean contains(int[] path, int node)
+	{
+		for (int n : path)
+		{
+			if (n == node)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
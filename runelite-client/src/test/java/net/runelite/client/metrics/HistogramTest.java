@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class HistogramTest
+{
+	@Test
+	public void testIndex()
+	{
+		long last = -1;
+		for (long v = 0; v < 1_000_000; v += 7)
+		{
+			final int index = Histogram.index(v);
+			assertTrue(Histogram.highestEquivalentValue(index) >= v);
+			assertTrue(index >= last);
+			last = index;
+		}
+
+		assertEquals(Long.MAX_VALUE, Histogram.highestEquivalentValue(Histogram.index(Long.MAX_VALUE)));
+	}
+
+	@Test
+	public void testPercentiles()
+	{
+		final Histogram histogram = new Histogram();
+		for (int i = 1; i <= 1000; ++i)
+		{
+			histogram.record(i * 1000L);
+		}
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1_000_000, histogram.getMax());
+		assertEquals(500_500, histogram.getMean(), 0.1);
+
+		final long p50 = histogram.getValueAtPercentile(50);
+		assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.04);
+		final long p99 = histogram.getValueAtPercentile(99);
+		assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.04);
+		assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+}
@@ -44,12 +44,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteModule;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.rs.ClientUpdateCheckMode;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -130,6 +133,31 @@ public class PluginManagerTest
 		assertEquals(expected, plugins.size());
 	}
 
+	@Test
+	public void testManifest() throws IOException
+	{
+		PluginManifest manifest = PluginManifest.load(getClass().getClassLoader());
+		assertNotNull(manifest);
+
+		Set<String> manifestClasses = new HashSet<>();
+		for (PluginManifest.Entry entry : manifest.getEntries())
+		{
+			// dependencies must come first
+			for (String dependency : entry.getDependencies())
+			{
+				assertTrue(entry.getClassName() + " is before " + dependency, manifestClasses.contains(dependency));
+			}
+
+			manifestClasses.add(entry.getClassName());
+		}
+
+		Set<String> expected = pluginClasses.stream()
+			.filter(cl -> cl.getSuperclass() == Plugin.class)
+			.map(Class::getName)
+			.collect(Collectors.toSet());
+		assertEquals(expected, manifestClasses);
+	}
+
 	@Test
 	public void dumpGraph() throws Exception
 	{
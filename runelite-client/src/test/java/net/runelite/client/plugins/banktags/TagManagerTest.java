@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.banktags;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import static net.runelite.api.ItemID.LOBSTER;
+import static net.runelite.api.ItemID.SHARK;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.game.ItemManager;
+import static net.runelite.client.plugins.banktags.BankTagsPlugin.CONFIG_GROUP;
+import net.runelite.client.plugins.cluescrolls.ClueScrollService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TagManagerTest
+{
+	@Mock
+	@Bind
+	ConfigManager configManager;
+
+	@Mock
+	@Bind
+	ItemManager itemManager;
+
+	@Mock
+	@Bind
+	ClueScrollService clueScrollService;
+
+	@Mock
+	@Bind
+	ScheduledExecutorService executor;
+
+	@Inject
+	TagManager tagManager;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(itemManager.canonicalize(anyInt())).thenAnswer(invocation -> invocation.getArguments()[0]);
+		when(configManager.getConfigurationKeys(CONFIG_GROUP + ".item_"))
+			.thenReturn(Collections.singletonList(CONFIG_GROUP + ".item_" + SHARK));
+		when(configManager.getConfiguration(CONFIG_GROUP, "item_" + SHARK)).thenReturn("Food,fish");
+	}
+
+	@Test
+	public void testFindTag()
+	{
+		assertTrue(tagManager.findTag(SHARK, "foo"));
+		assertTrue(tagManager.findTag(SHARK, "fish"));
+		assertFalse(tagManager.findTag(SHARK, "potion"));
+		assertFalse(tagManager.findTag(LOBSTER, "foo"));
+		assertEquals(Collections.singletonList(SHARK), tagManager.getItemsForTag("food"));
+	}
+
+	@Test
+	public void testAddTag()
+	{
+		tagManager.addTag(LOBSTER, "Food", false);
+
+		assertTrue(tagManager.findTag(LOBSTER, "food"));
+		assertEquals(2, tagManager.getItemsForTag("food").size());
+		verify(configManager, never()).setConfiguration(anyString(), anyString(), anyString());
+
+		tagManager.flush();
+		verify(configManager).setConfiguration(CONFIG_GROUP, "item_" + LOBSTER, "food");
+	}
+
+	@Test
+	public void testRemoveTag()
+	{
+		tagManager.removeTag("fish");
+
+		assertFalse(tagManager.findTag(SHARK, "fish"));
+		assertTrue(tagManager.findTag(SHARK, "food"));
+
+		tagManager.flush();
+		verify(configManager).setConfiguration(eq(CONFIG_GROUP), eq("item_" + SHARK), eq("food"));
+	}
+
+	@Test
+	public void testFlushUnlocked()
+	{
+		doAnswer(invocation ->
+		{
+			if (Thread.holdsLock(tagManager))
+			{
+				fail("config written while holding the tag manager lock");
+			}
+			return null;
+		}).when(configManager).setConfiguration(anyString(), anyString(), anyString());
+
+		tagManager.addTag(LOBSTER, "food", false);
+		tagManager.flush();
+
+		verify(configManager).setConfiguration(CONFIG_GROUP, "item_" + LOBSTER, "food");
+	}
+}
@@ -27,10 +27,12 @@ package net.runelite.client.plugins.puzzlesolver;
 
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver;
 import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.LinearConflict;
 import net.runelite.client.plugins.puzzlesolver.solver.heuristics.ManhattanDistance;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStar;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStarMM;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -163,4 +165,23 @@ public class PuzzleSolverTest
 			assertTrue(solver.getStep(solver.getStepCount() - 1).hasPieces(FINISHED_STATE));
 		}
 	}
+
+	@Test
+	public void testSolverLinearConflict()
+	{
+		for (PuzzleState state : START_STATES)
+		{
+			PuzzleSolver solver = new PuzzleSolver(new IDAStar(new LinearConflict()), state);
+			solver.run();
+
+			assertTrue(solver.hasSolution());
+			assertTrue(solver.getStep(solver.getStepCount() - 1).hasPieces(FINISHED_STATE));
+
+			// both heuristics are admissible, so both find a shortest solution
+			PuzzleSolver manhattanSolver = new PuzzleSolver(new IDAStar(new ManhattanDistance()), state);
+			manhattanSolver.run();
+
+			assertEquals(manhattanSolver.getStepCount(), solver.getStepCount());
+		}
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.heuristics;
+
+import java.util.Random;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LinearConflictTest
+{
+	private static final int[] FINISHED_STATE = new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, -1};
+
+	@Test
+	public void testComputeValue()
+	{
+		LinearConflict heuristic = new LinearConflict();
+
+		assertEquals(0, heuristic.computeValue(FINISHED_STATE.clone()));
+
+		// 1 and 0 swapped in the top row: manhattan distance of 2, one of them has to leave the row
+		int[] pieces = FINISHED_STATE.clone();
+		pieces[0] = 1;
+		pieces[1] = 0;
+		assertEquals(4, heuristic.computeValue(pieces));
+		assertEquals(4, heuristic.computeValue(new PuzzleState(pieces)));
+
+		// 2, 1, 0 reversed: two of them have to leave the row
+		pieces = FINISHED_STATE.clone();
+		pieces[0] = 2;
+		pieces[2] = 0;
+		assertEquals(8, heuristic.computeValue(pieces));
+	}
+
+	@Test
+	public void testUpdateValue()
+	{
+		testUpdateValue(new ManhattanDistance());
+		testUpdateValue(new LinearConflict());
+	}
+
+	private static void testUpdateValue(Heuristic heuristic)
+	{
+		Random random = new Random(42);
+		ManhattanDistance manhattanDistance = new ManhattanDistance();
+
+		int[] pieces = FINISHED_STATE.clone();
+		int emptyPiece = pieces.length - 1;
+		int value = heuristic.computeValue(pieces);
+
+		for (int i = 0; i < 10_000; i++)
+		{
+			int position;
+			do
+			{
+				position = emptyPiece + new int[]{-1, 1, -DIMENSION, DIMENSION}[random.nextInt(4)];
+			}
+			while (position < 0 || position >= pieces.length
+				|| position / DIMENSION != emptyPiece / DIMENSION && position % DIMENSION != emptyPiece % DIMENSION);
+
+			value = heuristic.updateValue(pieces, value, position, emptyPiece);
+
+			pieces[emptyPiece] = pieces[position];
+			pieces[position] = BLANK_TILE_VALUE;
+			emptyPiece = position;
+
+			assertEquals(heuristic.computeValue(pieces), value);
+			assertTrue(value >= manhattanDistance.computeValue(pieces));
+		}
+	}
+}
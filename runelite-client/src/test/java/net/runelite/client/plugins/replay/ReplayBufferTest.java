@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.replay;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ReplayBufferTest
+{
+	private static final int WIDTH = 40;
+	private static final int HEIGHT = 30;
+
+	@Test
+	public void testCompress()
+	{
+		final Random random = new Random(7);
+		final int[] previous = new int[WIDTH * HEIGHT];
+		final int[] pixels = frame(random, 0);
+		final byte[] out = new byte[ReplayBuffer.maxCompressedLength(pixels.length)];
+
+		// a key frame, then frames changing a few pixels at a time
+		for (int i = 0; i < 10; i++)
+		{
+			final int length = ReplayBuffer.compress(pixels, previous, pixels.length, out);
+			ReplayBuffer.decompress(out, 0, length, previous);
+			assertArrayEquals(pixels, previous);
+
+			for (int j = 0; j < 20; j++)
+			{
+				pixels[random.nextInt(pixels.length)] = random.nextInt(0x1000000);
+			}
+		}
+
+		// unchanged frames compress to nothing
+		assertEquals(0, ReplayBuffer.compress(previous, previous, previous.length, out));
+	}
+
+	@Test
+	public void testWorstCase()
+	{
+		final int[] previous = new int[WIDTH * HEIGHT];
+		final int[] pixels = new int[WIDTH * HEIGHT];
+		for (int i = 0; i < pixels.length; i += 2)
+		{
+			pixels[i] = 0xffffff;
+		}
+
+		final byte[] out = new byte[ReplayBuffer.maxCompressedLength(pixels.length)];
+		final int length = ReplayBuffer.compress(pixels, previous, pixels.length, out);
+		assertTrue(length <= out.length);
+	}
+
+	@Test
+	public void testCopy()
+	{
+		final Random random = new Random(3);
+		final ReplayBuffer buffer = new ReplayBuffer(1 << 20, 100, 10_000, 5);
+		final int[][] frames = new int[12][];
+		for (int i = 0; i < frames.length; i++)
+		{
+			frames[i] = frame(random, i);
+			buffer.append(frames[i], WIDTH, HEIGHT, i * 100);
+		}
+
+		final ReplayBuffer.Recording recording = buffer.copy();
+		assertEquals(frames.length, recording.getFrames());
+		assertDecodes(recording, frames, 0);
+	}
+
+	@Test
+	public void testMemoryBudget()
+	{
+		final Random random = new Random(5);
+		// room for about 3 frames, which are mostly noise
+		final int capacity = WIDTH * HEIGHT * 3 * 3;
+		final ReplayBuffer buffer = new ReplayBuffer(capacity, 100, 10_000, 4);
+		final int[][] frames = new int[20][];
+		for (int i = 0; i < frames.length; i++)
+		{
+			frames[i] = frame(random, i);
+			buffer.append(frames[i], WIDTH, HEIGHT, i * 100);
+			assertTrue(buffer.getCount() > 0);
+		}
+
+		// the copy holds the latest frames, starting from the oldest key frame still in the buffer
+		final ReplayBuffer.Recording recording = buffer.copy();
+		assertTrue(recording.getFrames() > 0 && recording.getFrames() < frames.length);
+		assertTrue(recording.keyFrames[0]);
+		assertDecodes(recording, frames, frames.length - recording.getFrames());
+	}
+
+	@Test
+	public void testRepeatedFramesWrap()
+	{
+		// Each frame is repeated, and the repeats compress to nothing. Alternating between black and
+		// noise without black pixels makes every noise frame a key frame of the same length, so the
+		// frames of one pass over the buffer start exactly where the empty frames of the last pass are.
+		final Random random = new Random(11);
+		final int[] black = new int[WIDTH * HEIGHT];
+		final int length = ReplayBuffer.compress(frame(random, 0), black, black.length, new byte[ReplayBuffer.maxCompressedLength(black.length)]);
+		final ReplayBuffer buffer = new ReplayBuffer(length * 7 / 2, 100, 10_000, 2);
+		final int[][] frames = new int[40][];
+		for (int i = 0; i < frames.length; i++)
+		{
+			if (i % 2 == 1)
+			{
+				frames[i] = frames[i - 1];
+			}
+			else
+			{
+				frames[i] = i % 4 == 0 ? frame(random, i) : black;
+			}
+			buffer.append(frames[i], WIDTH, HEIGHT, i * 100);
+		}
+
+		final ReplayBuffer.Recording recording = buffer.copy();
+		assertTrue(recording.getFrames() > 0 && recording.getFrames() < frames.length);
+		assertDecodes(recording, frames, frames.length - recording.getFrames());
+	}
+
+	@Test
+	public void testMaxAge()
+	{
+		final Random random = new Random(9);
+		final ReplayBuffer buffer = new ReplayBuffer(1 << 20, 100, 1_000, 100);
+		for (int i = 0; i < 30; i++)
+		{
+			buffer.append(frame(random, i), WIDTH, HEIGHT, i * 100);
+		}
+
+		// frames from 1900ms to 2900ms
+		assertEquals(11, buffer.getCount());
+	}
+
+	private static void assertDecodes(ReplayBuffer.Recording recording, int[][] frames, int firstFrame)
+	{
+		final int[] pixels = new int[WIDTH * HEIGHT];
+		for (int i = 0; i < recording.getFrames(); i++)
+		{
+			if (recording.keyFrames[i])
+			{
+				Arrays.fill(pixels, 0);
+			}
+			ReplayBuffer.decompress(recording.data, recording.offsets[i], recording.lengths[i], pixels);
+			assertArrayEquals(frames[firstFrame + i], pixels);
+		}
+	}
+
+	/**
+	 * A frame of noise with a moving square
+	 */
+	private static int[] frame(Random random, int time)
+	{
+		final int[] pixels = new int[WIDTH * HEIGHT];
+		for (int i = 0; i < pixels.length; i++)
+		{
+			pixels[i] = random.nextInt(8) == 0 ? random.nextInt(0x1000000) : 0x202020;
+		}
+		for (int y = 0; y < 5; y++)
+		{
+			for (int x = 0; x < 5; x++)
+			{
+				pixels[(y + time % 20) * WIDTH + x + time] = 0xff0000;
+			}
+		}
+		return pixels;
+	}
+}
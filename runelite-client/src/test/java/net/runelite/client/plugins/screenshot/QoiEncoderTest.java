@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class QoiEncoderTest
+{
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		final int width = 97;
+		final int height = 61;
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		final Random random = new Random(42);
+
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				final int rgb;
+				if (y < 10)
+				{
+					// long runs
+					rgb = 0x102030;
+				}
+				else if (y < 30)
+				{
+					// small differences between neighbours
+					rgb = (x * 2) << 16 | (y * 3) << 8 | (x + y);
+				}
+				else if (y < 40)
+				{
+					// a few repeating colors, for the index
+					rgb = x % 3 == 0 ? 0xff0000 : x % 3 == 1 ? 0x00ff00 : 0x0000ff;
+				}
+				else
+				{
+					rgb = random.nextInt(0x1000000);
+				}
+				image.setRGB(x, y, rgb);
+			}
+		}
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		QoiEncoder.encode(image, out);
+
+		final int[] decoded = decode(out.toByteArray(), width, height);
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				assertEquals(image.getRGB(x, y) & 0xffffff, decoded[y * width + x]);
+			}
+		}
+	}
+
+	/**
+	 * Decodes an RGB QOI image, following the reference decoder
+	 */
+	private static int[] decode(byte[] data, int width, int height)
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		assertEquals(0x716f6966, buffer.getInt()); // qoif
+		assertEquals(width, buffer.getInt());
+		assertEquals(height, buffer.getInt());
+		assertEquals(3, buffer.get());
+		assertEquals(0, buffer.get());
+
+		final int[] pixels = new int[width * height];
+		final int[] index = new int[64];
+		int r = 0;
+		int g = 0;
+		int b = 0;
+		int run = 0;
+
+		for (int i = 0; i < pixels.length; i++)
+		{
+			if (run > 0)
+			{
+				run--;
+			}
+			else
+			{
+				final int op = buffer.get() & 0xff;
+				if (op == 0xfe)
+				{
+					r = buffer.get() & 0xff;
+					g = buffer.get() & 0xff;
+					b = buffer.get() & 0xff;
+				}
+				else if ((op & 0xc0) == 0x00)
+				{
+					final int pixel = index[op];
+					r = pixel >>> 16 & 0xff;
+					g = pixel >>> 8 & 0xff;
+					b = pixel & 0xff;
+				}
+				else if ((op & 0xc0) == 0x40)
+				{
+					r = (r + (op >> 4 & 3) - 2) & 0xff;
+					g = (g + (op >> 2 & 3) - 2) & 0xff;
+					b = (b + (op & 3) - 2) & 0xff;
+				}
+				else if ((op & 0xc0) == 0x80)
+				{
+					final int next = buffer.get() & 0xff;
+					final int dg = (op & 0x3f) - 32;
+					r = (r + dg - 8 + (next >> 4 & 0xf)) & 0xff;
+					g = (g + dg) & 0xff;
+					b = (b + dg - 8 + (next & 0xf)) & 0xff;
+				}
+				else
+				{
+					run = op & 0x3f;
+				}
+
+				index[(r * 3 + g * 5 + b * 7 + 255 * 11) & 63] = 0xff000000 | r << 16 | g << 8 | b;
+			}
+
+			pixels[i] = r << 16 | g << 8 | b;
+		}
+
+		// end marker
+		assertEquals(0, buffer.getInt());
+		assertEquals(1, buffer.getInt());
+		assertEquals(0, buffer.remaining());
+		return pixels;
+	}
+}
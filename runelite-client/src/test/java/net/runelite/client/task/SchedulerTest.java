@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchedulerTest
+{
+	public static class Task
+	{
+		int first;
+		int second;
+
+		@Schedule(period = 50, unit = ChronoUnit.MILLIS)
+		public void first()
+		{
+			++first;
+		}
+
+		@Schedule(period = 1, unit = ChronoUnit.DAYS)
+		public void second()
+		{
+			++second;
+		}
+	}
+
+	@Mock
+	@Bind
+	ScheduledExecutorService executor;
+
+	@Inject
+	Scheduler scheduler;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	@Test
+	public void testTick() throws InterruptedException
+	{
+		final Task task = new Task();
+		scheduler.registerObject(task);
+
+		scheduler.tick();
+		assertEquals(0, task.first);
+
+		Thread.sleep(60);
+		scheduler.tick();
+		scheduler.tick();
+		assertEquals(1, task.first);
+		assertEquals(0, task.second);
+	}
+
+	@Test
+	public void testUnregisterObject() throws InterruptedException
+	{
+		final Task task = new Task();
+		scheduler.registerObject(task);
+		assertEquals(2, scheduler.getScheduledMethods().size());
+
+		scheduler.unregisterObject(task);
+		assertEquals(0, scheduler.getScheduledMethods().size());
+
+		Thread.sleep(60);
+		scheduler.tick();
+		assertEquals(0, task.first);
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class OverlayRenderStatsTest
+{
+	@Test
+	public void testRecord()
+	{
+		OverlayRenderStats stats = new OverlayRenderStats();
+		stats.record(100);
+		stats.record(300);
+		stats.reused();
+
+		assertEquals(300, stats.getLastNanos());
+		assertEquals(200, stats.getAverageNanos());
+		assertEquals(300, stats.getMaxNanos());
+		assertEquals(2, stats.getRenderedFrames());
+		assertEquals(1, stats.getReusedFrames());
+	}
+
+	@Test
+	public void testWindow()
+	{
+		OverlayRenderStats stats = new OverlayRenderStats();
+		stats.record(1_000_000);
+
+		for (int i = 0; i < 128; ++i)
+		{
+			stats.record(10);
+		}
+
+		assertEquals(10, stats.getAverageNanos());
+		assertEquals(10, stats.getMaxNanos());
+	}
+}
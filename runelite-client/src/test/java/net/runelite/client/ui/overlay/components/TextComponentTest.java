@@ -84,4 +84,17 @@ public class TextComponentTest
 		verify(graphics, atLeastOnce()).setColor(Color.BLUE);
 		verify(graphics, atLeastOnce()).setColor(Color.GREEN);
 	}
+
+	@Test
+	public void testRenderTextChange()
+	{
+		TextComponent textComponent = new TextComponent();
+		textComponent.setText("<col=0000ff>test");
+		textComponent.render(graphics);
+		textComponent.setText("plain <col=00ff00>test");
+		textComponent.render(graphics);
+		verify(graphics, times(2)).drawString(eq("plain "), anyInt(), anyInt());
+		verify(graphics, atLeastOnce()).setColor(Color.WHITE);
+		verify(graphics, atLeastOnce()).setColor(Color.GREEN);
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ws;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
+import net.runelite.http.api.ws.messages.party.UserSync;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class WSClientTest
+{
+	@Value
+	@EqualsAndHashCode(callSuper = true)
+	static class TestUpdate extends PartyMemberMessage implements CoalescedMessage
+	{
+		private final int key;
+		private final int value;
+
+		@Override
+		public Object getCoalesceKey()
+		{
+			return key;
+		}
+	}
+
+	private final MockWebServer server = new MockWebServer();
+	private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+	private final EventBus eventBus = mock(EventBus.class);
+	private WebSocket serverSocket;
+	private WSClient client;
+
+	@Before
+	public void before() throws IOException
+	{
+		server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener()
+		{
+			@Override
+			public void onOpen(WebSocket webSocket, Response response)
+			{
+				serverSocket = webSocket;
+			}
+
+			@Override
+			public void onMessage(WebSocket webSocket, String text)
+			{
+				received.add(text);
+			}
+		}));
+		server.start();
+
+		client = new WSClient(eventBus, server.url("/ws"));
+		client.registerMessage(TestUpdate.class);
+		client.changeSession(UUID.randomUUID());
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	public void testCoalesce() throws Exception
+	{
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("Handshake"));
+
+		for (int i = 0; i < 10; ++i)
+		{
+			client.send(new TestUpdate(1, i));
+			client.send(new TestUpdate(2, i));
+		}
+
+		// a message which isn't coalesced flushes the pending updates ahead of it
+		client.send(new UserSync());
+
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("\"key\":1,\"value\":9"));
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("\"key\":2,\"value\":9"));
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("UserSync"));
+		assertNull(received.poll(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCoalesceOrder() throws Exception
+	{
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("Handshake"));
+
+		// an update sent after a message which isn't coalesced must not overtake it
+		client.send(new TestUpdate(1, 0));
+		client.send(new UserSync());
+		client.send(new TestUpdate(1, 1));
+
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("\"key\":1,\"value\":0"));
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("UserSync"));
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("\"key\":1,\"value\":1"));
+		assertNull(received.poll(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testReceive() throws Exception
+	{
+		assertTrue(received.poll(5, TimeUnit.SECONDS).contains("Handshake"));
+
+		serverSocket.send("{\"type\":\"TestUpdate\",\"key\":1,\"value\":2}");
+
+		verify(eventBus, timeout(5000)).post(any(TestUpdate.class));
+		assertEquals(0, received.size());
+	}
+}
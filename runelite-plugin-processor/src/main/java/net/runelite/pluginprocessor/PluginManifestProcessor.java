@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginprocessor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes a manifest of every plugin in the compilation so the client can
+ * load its plugins without scanning the classpath. Each line holds a
+ * plugin's binary class name, its flags, the plugins it depends on and
+ * the config interfaces it provides, separated by tabs. Lines are in
+ * dependency order, so a plugin always comes after its dependencies.
+ */
+@SupportedAnnotationTypes(PluginManifestProcessor.PLUGIN_DESCRIPTOR)
+public class PluginManifestProcessor extends AbstractProcessor
+{
+	static final String MANIFEST = "META-INF/runelite/plugins.manifest";
+
+	static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN = "net.runelite.client.plugins.Plugin";
+	private static final String PLUGIN_DEPENDENCY = "net.runelite.client.plugins.PluginDependency";
+	private static final String PLUGIN_DEPENDENCIES = "net.runelite.client.plugins.PluginDependencies";
+	private static final String CONFIG = "net.runelite.client.config.Config";
+	private static final String PROVIDES = "com.google.inject.Provides";
+
+	private static final String FLAG_DEVELOPER = "developer";
+	private static final String FLAG_OUTDATED = "outdated";
+
+	private final Map<String, PluginEntry> plugins = new TreeMap<>();
+	private boolean loadedPrevious;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		Elements elements = processingEnv.getElementUtils();
+
+		if (!loadedPrevious)
+		{
+			loadedPrevious = true;
+			loadPrevious(elements);
+		}
+
+		TypeElement descriptor = elements.getTypeElement(PLUGIN_DESCRIPTOR);
+		if (descriptor != null)
+		{
+			for (Element element : roundEnv.getElementsAnnotatedWith(descriptor))
+			{
+				if (element.getKind() != ElementKind.CLASS)
+				{
+					continue;
+				}
+
+				PluginEntry entry = read((TypeElement) element);
+				if (entry != null)
+				{
+					plugins.put(entry.className, entry);
+				}
+			}
+		}
+
+		if (roundEnv.processingOver() && !plugins.isEmpty())
+		{
+			write();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Incremental compiles only see the plugins which were recompiled, so
+	 * start from the previous manifest, keeping entries for plugins which
+	 * still exist.
+	 */
+	private void loadPrevious(Elements elements)
+	{
+		try
+		{
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", MANIFEST);
+			try (BufferedReader reader = new BufferedReader(file.openReader(true)))
+			{
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					if (line.isEmpty() || line.startsWith("#"))
+					{
+						continue;
+					}
+
+					PluginEntry entry = PluginEntry.parse(line);
+					TypeElement type = elements.getTypeElement(entry.className.replace('$', '.'));
+					if (type != null && findAnnotation(type, PLUGIN_DESCRIPTOR) != null)
+					{
+						plugins.put(entry.className, entry);
+					}
+				}
+			}
+		}
+		catch (IOException | IllegalArgumentException ex)
+		{
+			// no previous manifest
+		}
+	}
+
+	private PluginEntry read(TypeElement type)
+	{
+		Elements elements = processingEnv.getElementUtils();
+		Types types = processingEnv.getTypeUtils();
+
+		TypeElement plugin = elements.getTypeElement(PLUGIN);
+		if (plugin == null || !types.isSameType(type.getSuperclass(), plugin.asType()))
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+				"Class " + type.getQualifiedName() + " has plugin descriptor, but is not a plugin", type);
+			return null;
+		}
+
+		PluginEntry entry = new PluginEntry(elements.getBinaryName(type).toString());
+
+		AnnotationMirror descriptor = findAnnotation(type, PLUGIN_DESCRIPTOR);
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : elements.getElementValuesWithDefaults(descriptor).entrySet())
+		{
+			String name = value.getKey().getSimpleName().toString();
+			if (name.equals("developerPlugin"))
+			{
+				entry.developerPlugin = (Boolean) value.getValue().getValue();
+			}
+			else if (name.equals("loadWhenOutdated"))
+			{
+				entry.loadWhenOutdated = (Boolean) value.getValue().getValue();
+			}
+		}
+
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			String annotation = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			if (annotation.equals(PLUGIN_DEPENDENCY))
+			{
+				entry.dependencies.add(dependency(mirror));
+			}
+			else if (annotation.equals(PLUGIN_DEPENDENCIES))
+			{
+				List<?> values = (List<?>) annotationValue(mirror).getValue();
+				for (Object value : values)
+				{
+					entry.dependencies.add(dependency((AnnotationMirror) ((AnnotationValue) value).getValue()));
+				}
+			}
+		}
+
+		TypeElement config = elements.getTypeElement(CONFIG);
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements()))
+		{
+			TypeMirror returnType = method.getReturnType();
+			if (config != null && findAnnotation(method, PROVIDES) != null
+				&& types.isAssignable(types.erasure(returnType), config.asType()))
+			{
+				entry.configs.add(elements.getBinaryName((TypeElement) types.asElement(returnType)).toString());
+			}
+		}
+
+		return entry;
+	}
+
+	private String dependency(AnnotationMirror mirror)
+	{
+		TypeMirror type = (TypeMirror) annotationValue(mirror).getValue();
+		TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(type);
+		return processingEnv.getElementUtils().getBinaryName(element).toString();
+	}
+
+	private static AnnotationValue annotationValue(AnnotationMirror mirror)
+	{
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet())
+		{
+			if (value.getKey().getSimpleName().contentEquals("value"))
+			{
+				return value.getValue();
+			}
+		}
+		throw new IllegalArgumentException("No value for " + mirror);
+	}
+
+	private static AnnotationMirror findAnnotation(Element element, String name)
+	{
+		for (AnnotationMirror mirror : element.getAnnotationMirrors())
+		{
+			TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+			if (type.getQualifiedName().contentEquals(name))
+			{
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	private void write()
+	{
+		List<PluginEntry> sorted = sort();
+		if (sorted == null)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Plugin dependency graph contains a cycle!");
+			return;
+		}
+
+		try
+		{
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", MANIFEST);
+			try (Writer writer = file.openWriter())
+			{
+				writer.write("# Generated by " + getClass().getName() + ", do not edit\n");
+				for (PluginEntry entry : sorted)
+				{
+					writer.write(entry.toLine());
+					writer.write('\n');
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write plugin manifest: " + ex);
+		}
+	}
+
+	/**
+	 * Topologically sort the plugins so dependencies come first, using
+	 * Kahn's algorithm. Ties are broken by class name so the output is
+	 * stable between builds.
+	 *
+	 * @return the sorted plugins, or null if there is a cycle
+	 */
+	private List<PluginEntry> sort()
+	{
+		Map<String, Integer> inDegree = new HashMap<>();
+		Map<String, List<String>> dependents = new HashMap<>();
+
+		for (PluginEntry entry : plugins.values())
+		{
+			inDegree.putIfAbsent(entry.className, 0);
+			for (String dependency : entry.dependencies)
+			{
+				if (plugins.containsKey(dependency))
+				{
+					inDegree.merge(entry.className, 1, Integer::sum);
+					dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.className);
+				}
+			}
+		}
+
+		TreeSet<String> ready = new TreeSet<>();
+		for (Map.Entry<String, Integer> entry : inDegree.entrySet())
+		{
+			if (entry.getValue() == 0)
+			{
+				ready.add(entry.getKey());
+			}
+		}
+
+		List<PluginEntry> sorted = new ArrayList<>(plugins.size());
+		while (!ready.isEmpty())
+		{
+			String className = ready.pollFirst();
+			sorted.add(plugins.get(className));
+
+			for (String dependent : dependents.getOrDefault(className, Collections.emptyList()))
+			{
+				if (inDegree.merge(dependent, -1, Integer::sum) == 0)
+				{
+					ready.add(dependent);
+				}
+			}
+		}
+
+		return sorted.size() == plugins.size() ? sorted : null;
+	}
+
+	private static class PluginEntry
+	{
+		private final String className;
+		private boolean developerPlugin;
+		private boolean loadWhenOutdated;
+		private final List<String> dependencies = new ArrayList<>();
+		private final List<String> configs = new ArrayList<>();
+
+		PluginEntry(String className)
+		{
+			this.className = className;
+		}
+
+		static PluginEntry parse(String line)
+		{
+			String[] fields = line.split("\t", -1);
+			if (fields.length != 4)
+			{
+				throw new IllegalArgumentException("Malformed manifest line: " + line);
+			}
+
+			PluginEntry entry = new PluginEntry(fields[0]);
+			for (String flag : split(fields[1]))
+			{
+				entry.developerPlugin |= flag.equals(FLAG_DEVELOPER);
+				entry.loadWhenOutdated |= flag.equals(FLAG_OUTDATED);
+			}
+			entry.dependencies.addAll(split(fields[2]));
+			entry.configs.addAll(split(fields[3]));
+			return entry;
+		}
+
+		String toLine()
+		{
+			List<String> flags = new ArrayList<>();
+			if (developerPlugin)
+			{
+				flags.add(FLAG_DEVELOPER);
+			}
+			if (loadWhenOutdated)
+			{
+				flags.add(FLAG_OUTDATED);
+			}
+
+			return className + '\t' + String.join(",", flags) + '\t' + String.join(",", dependencies) + '\t' + String.join(",", configs);
+		}
+
+		private static List<String> split(String field)
+		{
+			List<String> values = new ArrayList<>();
+			if (!field.isEmpty())
+			{
+				Collections.addAll(values, field.split(","));
+			}
+			return values;
+		}
+	}
+}
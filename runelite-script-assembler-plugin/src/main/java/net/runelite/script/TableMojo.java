@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.script;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Compiles the client's json data resources into the binary tables read by
+ * net.runelite.client.game.IntTable and NameTable, so the client does not parse json at runtime
+ */
+@Mojo(
+	name = "build-tables",
+	defaultPhase = LifecyclePhase.GENERATE_RESOURCES
+)
+public class TableMojo extends AbstractMojo
+{
+	// must match IntTable and NameTable
+	private static final int INT_TABLE_MAGIC = 0x524C4954;
+	private static final int NAME_TABLE_MAGIC = 0x524C4E54;
+	private static final int EMPTY_KEY = -1;
+
+	@Parameter(required = true)
+	private File resourceDirectory;
+
+	@Parameter(required = true)
+	private File outputDirectory;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		try
+		{
+			writeNameTable("npc_health.dat", buildNpcHealth(read("npc_health.json")));
+			writeNameTable("slayer_xp.dat", buildNameValues(read("slayer_xp.json")));
+			writeIntTable("item_variations.dat", buildItemVariations(read("item_variations.json")));
+			writeIntTable("net/runelite/client/plugins/grandexchange/ge_limits.dat", buildIntValues(read("net/runelite/client/plugins/grandexchange/ge_limits.json")));
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			throw new MojoExecutionException("error building tables", ex);
+		}
+	}
+
+	private JsonObject read(String path) throws IOException
+	{
+		try (Reader reader = new InputStreamReader(new FileInputStream(new File(resourceDirectory, path)), StandardCharsets.UTF_8))
+		{
+			return new JsonParser().parse(reader).getAsJsonObject();
+		}
+	}
+
+	/**
+	 * npc_health.json maps "name_combatlevel" to health, which is regrouped by name into
+	 * combat level, health pairs so lookups do not need to build the key
+	 */
+	private static Map<String, double[]> buildNpcHealth(JsonObject json) throws MojoFailureException
+	{
+		final Map<String, TreeMap<Integer, Integer>> byName = new HashMap<>();
+
+		for (Map.Entry<String, JsonElement> entry : json.entrySet())
+		{
+			final String key = entry.getKey();
+			final int idx = key.lastIndexOf('_');
+			if (idx == -1)
+			{
+				throw new MojoFailureException("npc health key without combat level: " + key);
+			}
+
+			final String name = key.substring(0, idx);
+			final int combatLevel = Integer.parseInt(key.substring(idx + 1));
+			byName.computeIfAbsent(name, k -> new TreeMap<>()).put(combatLevel, entry.getValue().getAsInt());
+		}
+
+		final Map<String, double[]> table = new HashMap<>();
+
+		for (Map.Entry<String, TreeMap<Integer, Integer>> entry : byName.entrySet())
+		{
+			final double[] values = new double[entry.getValue().size() * 2];
+			int i = 0;
+
+			for (Map.Entry<Integer, Integer> levelHealth : entry.getValue().entrySet())
+			{
+				values[i++] = levelHealth.getKey();
+				values[i++] = levelHealth.getValue();
+			}
+
+			table.put(entry.getKey(), values);
+		}
+
+		return table;
+	}
+
+	private static Map<String, double[]> buildNameValues(JsonObject json)
+	{
+		final Map<String, double[]> table = new HashMap<>();
+
+		for (Map.Entry<String, JsonElement> entry : json.entrySet())
+		{
+			final List<JsonElement> elements = new ArrayList<>();
+			entry.getValue().getAsJsonArray().forEach(elements::add);
+
+			final double[] values = new double[elements.size()];
+			for (int i = 0; i < values.length; ++i)
+			{
+				values[i] = elements.get(i).getAsDouble();
+			}
+
+			table.put(entry.getKey(), values);
+		}
+
+		return table;
+	}
+
+	/**
+	 * item_variations.json maps a name to a list of item ids, the first being the base item
+	 */
+	private static Map<Integer, Integer> buildItemVariations(JsonObject json) throws MojoFailureException
+	{
+		final Map<Integer, Integer> table = new HashMap<>();
+
+		for (Map.Entry<String, JsonElement> entry : json.entrySet())
+		{
+			final List<JsonElement> ids = new ArrayList<>();
+			entry.getValue().getAsJsonArray().forEach(ids::add);
+
+			final int base = ids.get(0).getAsInt();
+			for (int i = 1; i < ids.size(); ++i)
+			{
+				final Integer previous = table.put(ids.get(i).getAsInt(), base);
+				if (previous != null)
+				{
+					throw new MojoFailureException("item " + ids.get(i) + " is a variation of more than one item");
+				}
+			}
+		}
+
+		return table;
+	}
+
+	private static Map<Integer, Integer> buildIntValues(JsonObject json)
+	{
+		final Map<Integer, Integer> table = new HashMap<>();
+
+		for (Map.Entry<String, JsonElement> entry : json.entrySet())
+		{
+			table.put(Integer.parseInt(entry.getKey()), entry.getValue().getAsInt());
+		}
+
+		return table;
+	}
+
+	private void writeIntTable(String path, Map<Integer, Integer> table) throws IOException, MojoFailureException
+	{
+		final int capacity = capacity(table.size());
+		final int[] keys = new int[capacity];
+		final int[] values = new int[capacity];
+		Arrays.fill(keys, EMPTY_KEY);
+
+		for (Map.Entry<Integer, Integer> entry : table.entrySet())
+		{
+			final int key = entry.getKey();
+			if (key == EMPTY_KEY)
+			{
+				throw new MojoFailureException("invalid table key " + key + " in " + path);
+			}
+
+			int slot = hash(key) & (capacity - 1);
+			while (keys[slot] != EMPTY_KEY)
+			{
+				slot = (slot + 1) & (capacity - 1);
+			}
+
+			keys[slot] = key;
+			values[slot] = entry.getValue();
+		}
+
+		try (DataOutputStream out = open(path))
+		{
+			out.writeInt(INT_TABLE_MAGIC);
+			out.writeInt(table.size());
+			out.writeInt(capacity);
+			for (int key : keys)
+			{
+				out.writeInt(key);
+			}
+			for (int value : values)
+			{
+				out.writeInt(value);
+			}
+		}
+
+		getLog().debug("Built " + path + " with " + table.size() + " entries");
+	}
+
+	private void writeNameTable(String path, Map<String, double[]> table) throws IOException
+	{
+		final int capacity = capacity(table.size());
+		final String[] names = new String[capacity];
+
+		// Sort names so the output is reproducible
+		final List<String> sortedNames = new ArrayList<>(table.keySet());
+		sortedNames.sort(Comparator.naturalOrder());
+
+		for (String name : sortedNames)
+		{
+			int slot = hash(name.hashCode()) & (capacity - 1);
+			while (names[slot] != null)
+			{
+				slot = (slot + 1) & (capacity - 1);
+			}
+
+			names[slot] = name;
+		}
+
+		try (DataOutputStream out = open(path))
+		{
+			int valueCount = 0;
+			for (double[] values : table.values())
+			{
+				valueCount += values.length;
+			}
+
+			out.writeInt(NAME_TABLE_MAGIC);
+			out.writeInt(table.size());
+			out.writeInt(capacity);
+			out.writeInt(valueCount);
+
+			for (String name : names)
+			{
+				if (name != null)
+				{
+					for (double value : table.get(name))
+					{
+						out.writeDouble(value);
+					}
+				}
+			}
+
+			int offset = 0;
+			for (String name : names)
+			{
+				if (name == null)
+				{
+					out.writeInt(-1);
+					continue;
+				}
+
+				final int length = table.get(name).length;
+				out.writeInt(offset);
+				out.writeInt(length);
+				out.writeUTF(name);
+				offset += length;
+			}
+		}
+
+		getLog().debug("Built " + path + " with " + table.size() + " entries");
+	}
+
+	private DataOutputStream open(String path) throws IOException
+	{
+		final File file = new File(outputDirectory, path);
+		file.getParentFile().mkdirs();
+		return new DataOutputStream(new FileOutputStream(file));
+	}
+
+	private static int capacity(int size)
+	{
+		// keep the load factor at or below one half so probe sequences stay short
+		return Math.max(2, Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1);
+	}
+
+	// must match IntTable.hash
+	private static int hash(int key)
+	{
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}